@@ -35,6 +35,7 @@ dependencies {
 	implementation ("org.springframework.boot:spring-boot-starter-mail") // email service
 	implementation ("org.springframework.boot:spring-boot-starter-data-redis") // redis
 	implementation ("org.springframework.data:spring-data-redis") //redis
+	implementation("com.github.ben-manes.caffeine:caffeine") // 로컬 캐시 (알람 수신 설정)
 	implementation ("io.jsonwebtoken:jjwt-api:0.12.6")
 	implementation ("io.jsonwebtoken:jjwt-impl:0.12.6")
 	implementation ("io.jsonwebtoken:jjwt-jackson:0.12.6")
@@ -52,9 +53,32 @@ dependencies {
 	runtimeOnly("com.mysql:mysql-connector-j")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("org.testcontainers:junit-jupiter") // 여러 노드 통합 테스트용 Redis
+	testImplementation("org.testcontainers:mysql") // FULLTEXT 검색 측정용
+	testImplementation("org.awaitility:awaitility")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// @Tag("benchmark") 성능 측정은 기본 test 에서 빼고 ./gradlew benchmark 로만 돌린다.
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+val benchmark by tasks.registering(Test::class) {
+	description = "성능 측정 테스트를 실행하고 결과를 build/reports/benchmark 에 남긴다."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	systemProperty("benchmark.reportDir", layout.buildDirectory.dir("reports/benchmark").get().asFile.absolutePath)
+	outputs.upToDateWhen { false }
+	shouldRunAfter(tasks.test)
+}
@@ -0,0 +1,107 @@
+package com.malnutrition.backend.domain.alarm.alarm.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Slf4j
+public class AlarmAsyncConfig {
+
+    public static final String ALARM_DISPATCH_EXECUTOR = "alarmDispatchExecutor";
+    public static final String ALARM_COALESCE_EXECUTOR = "alarmCoalesceExecutor";
+    public static final String ALARM_HEARTBEAT_EXECUTOR = "alarmHeartbeatExecutor";
+
+    @Bean(name = ALARM_DISPATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor alarmDispatchExecutor(AlarmProperties alarmProperties, MeterRegistry meterRegistry) {
+        AlarmProperties.Dispatch dispatch = alarmProperties.getDispatch();
+        Timer latency = Timer.builder("alarm.dispatch.latency")
+                .description("알람 이벤트가 큐에 들어간 시점부터 처리 완료까지 걸린 시간")
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("alarm.dispatch.rejected")
+                .tag("policy", dispatch.getOverflowPolicy().name())
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("alarm-dispatch-");
+        executor.setCorePoolSize(dispatch.getCorePoolSize());
+        executor.setMaxPoolSize(dispatch.getMaxPoolSize());
+        executor.setQueueCapacity(dispatch.getQueueCapacity());
+        if (dispatch.isVirtualThreads()) {
+            executor.setThreadFactory(Thread.ofVirtual().name("alarm-dispatch-vt-", 0).factory());
+        }
+        executor.setTaskDecorator(task -> {
+            long enqueuedAt = System.nanoTime();
+            return () -> {
+                try {
+                    task.run();
+                } finally {
+                    latency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            if (dispatch.getOverflowPolicy() == AlarmProperties.OverflowPolicy.CALLER_RUNS && !pool.isShutdown()) {
+                task.run();
+                return;
+            }
+            log.warn("알람 dispatch 큐가 가득 차 알람을 버립니다. queueSize={}", pool.getQueue().size());
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Gauge.builder("alarm.dispatch.queue.size", pool, p -> p.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("alarm.dispatch.active", pool, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // 묶음 알람 발송용. 키마다 구간당 한 건이라 양이 적고, 버리면 구간 동안 모인 알람이 통째로 사라지므로 큐 제한 없이 쌓는다.
+    @Bean(name = ALARM_COALESCE_EXECUTOR)
+    public ThreadPoolTaskExecutor alarmCoalesceExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("alarm-coalesce-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("alarm.coalesce.queue.size", executor.getThreadPoolExecutor(), p -> p.getQueue().size())
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // SSE heartbeat 전송용. emitter.send 는 느린 클라이언트에서 블로킹될 수 있어 공용 스케줄러 스레드 대신 여기서 보낸다.
+    // 한 바퀴가 끝나기 전에는 다음 바퀴를 시작하지 않으므로 큐에는 batch 수 만큼만 쌓인다. 가득 차면 호출한 스레드에서 보낸다.
+    @Bean(name = ALARM_HEARTBEAT_EXECUTOR)
+    public ThreadPoolTaskExecutor alarmHeartbeatExecutor(AlarmProperties alarmProperties, MeterRegistry meterRegistry) {
+        int threads = Math.max(1, alarmProperties.getSse().getHeartbeatThreads());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("alarm-heartbeat-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1_000);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Gauge.builder("alarm.sse.heartbeat.queue.size", pool, p -> p.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("alarm.sse.heartbeat.active", pool, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,115 @@
+package com.malnutrition.backend.domain.alarm.alarm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "custom.alarm")
+public class AlarmProperties {
+
+    private Replay replay = new Replay();
+    private Cluster cluster = new Cluster();
+    private Dispatch dispatch = new Dispatch();
+    private Broadcast broadcast = new Broadcast();
+    private Retention retention = new Retention();
+    private Preference preference = new Preference();
+    private Coalesce coalesce = new Coalesce();
+    private Sse sse = new Sse();
+
+    // Last-Event-ID 재전송용 버퍼 설정
+    @Getter
+    @Setter
+    public static class Replay {
+        private int capacityPerUser = 50;          // 사용자별 링버퍼 크기
+        private Duration ttl = Duration.ofMinutes(10); // 이 시간이 지난 이벤트는 재전송하지 않음
+        private int maxTotalEvents = 100_000;      // JVM 전체에서 보관하는 이벤트 수 상한
+        private long sweepIntervalMs = 60_000L;    // 만료 이벤트 정리 주기
+    }
+
+    // 여러 노드 간 알람 전달 (Redis pub/sub)
+    @Getter
+    @Setter
+    public static class Cluster {
+        private boolean enabled = true;             // false 면 단일 노드용 LocalAlarmDispatcher 사용
+        private String channel = "alarm:delivery";
+        private String eventIdKey = "alarm:event-id";
+        private int publishBatchSize = 500;         // PUBLISH 한 번에 담는 수신자 수
+    }
+
+    // AlarmEventHandler 전용 비동기 실행기
+    @Getter
+    @Setter
+    public static class Dispatch {
+        private boolean virtualThreads = false;     // true 면 워커를 가상 스레드로 생성 (풀 크기/큐 제한은 동일하게 적용)
+        private int corePoolSize = 4;
+        private int maxPoolSize = 8;
+        private int queueCapacity = 1_000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    }
+
+    // 강의 수강생 전체 대상 알람
+    @Getter
+    @Setter
+    public static class Broadcast {
+        private int chunkSize = 1_000;              // 한 번에 조회/INSERT/발행하는 수신자 수
+    }
+
+    // 오래된 읽은 알람을 alarms_archive 로 옮기는 작업
+    @Getter
+    @Setter
+    public static class Retention {
+        private boolean enabled = true;
+        private String cron = "0 30 3 * * ?";
+        private int retentionDays = 30;             // 이 기간보다 오래된 읽은 알람을 옮긴다
+        private int batchSize = 500;                // 한 트랜잭션에서 검사/이동하는 행 수 (락 유지 시간 제한)
+        private int maxBatchesPerRun = 2_000;       // 한 번 실행에서 처리하는 최대 배치 수
+        private long pauseMs = 50L;                 // 배치 사이 대기 (복제 지연/락 경합 완화)
+        private String lockKey = "alarm:retention:lock";
+        private Duration lockTtl = Duration.ofMinutes(30); // 한 번 실행의 최대 소요 시간보다 길게 (노드가 죽으면 이 시간 뒤 풀린다)
+    }
+
+    // 수신 설정(AlarmSetting) 로컬 캐시
+    @Getter
+    @Setter
+    public static class Preference {
+        private long cacheMaxSize = 100_000;
+        private Duration cacheTtl = Duration.ofMinutes(10);  // 무효화 메시지를 놓쳤을 때의 최대 지연
+        private String invalidationChannel = "alarm:preference:invalidate";
+    }
+
+    // 같은 강의/종류/URL 의 대량 알람을 묶어 한 번만 보내는 설정 (예: 커리큘럼 연속 업로드)
+    @Getter
+    @Setter
+    public static class Coalesce {
+        private boolean enabled = true;
+        private long windowMs = 30_000L;            // 키별 첫 알람 이후 이 시간 동안 들어온 알람은 하나로 묶는다
+        private long flushIntervalMs = 1_000L;      // 끝난 구간을 확인하는 주기
+    }
+
+    // SSE 연결 유지
+    @Getter
+    @Setter
+    public static class Sse {
+        private long timeoutMs = 60L * 60L * 1000L;      // emitter 최대 유지 시간
+        private long timeoutJitterMs = 5L * 60L * 1000L; // 동시에 연결한 클라이언트가 한꺼번에 재연결하지 않도록 더하는 임의 시간
+        private long heartbeatIntervalMs = 25_000L;      // 프록시 idle timeout 보다 짧게
+        private int heartbeatBatchSize = 500;            // 한 작업으로 heartbeat 를 보내는 emitter 수
+        private int heartbeatThreads = 4;                // heartbeat 전송 스레드 수 (느린 연결이 스케줄러 스레드를 막지 않도록)
+    }
+
+    /**
+     * 큐가 가득 찼을 때의 처리 방식
+     * DROP        : 알람을 버리고 경고 로그와 rejected 메트릭만 남긴다. 요청 스레드 지연이 없다.
+     * CALLER_RUNS : 이벤트를 발행한 스레드에서 직접 처리한다. 알람은 유실되지 않지만 과부하 시 요청이 느려진다.
+     */
+    public enum OverflowPolicy {
+        DROP,
+        CALLER_RUNS
+    }
+}
@@ -0,0 +1,27 @@
+package com.malnutrition.backend.domain.alarm.alarm.config;
+
+import com.malnutrition.backend.domain.alarm.alarm.service.AlarmRedisSubscriber;
+import com.malnutrition.backend.domain.alarm.alarmsetting.service.AlarmPreferenceInvalidationSubscriber;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "custom.alarm.cluster.enabled", havingValue = "true", matchIfMissing = true)
+public class AlarmRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer alarmMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       AlarmRedisSubscriber alarmRedisSubscriber,
+                                                                       AlarmPreferenceInvalidationSubscriber preferenceInvalidationSubscriber,
+                                                                       AlarmProperties alarmProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(alarmRedisSubscriber, new ChannelTopic(alarmProperties.getCluster().getChannel()));
+        container.addMessageListener(preferenceInvalidationSubscriber, new ChannelTopic(alarmProperties.getPreference().getInvalidationChannel()));
+        return container;
+    }
+}
@@ -1,15 +1,21 @@
 package com.malnutrition.backend.domain.alarm.alarm.controller;
 
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmInboxResponseDto;
 import com.malnutrition.backend.domain.alarm.alarm.service.AlarmService;
 import com.malnutrition.backend.domain.user.user.entity.User;
+import com.malnutrition.backend.global.rp.ApiResponse;
 import com.malnutrition.backend.global.rq.Rq;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequiredArgsConstructor
 @Slf4j
@@ -30,12 +36,31 @@ public class AlarmController {
     @GetMapping(value = "/read")
     public void readAll() {
         User actor = rq.getActor();
-        alarmService.readCheckAll( String.valueOf(actor.getId()));
+        alarmService.readCheckAll(actor.getId());
     }
     @GetMapping(value = "/read/{alarmId}")
     public void read(@PathVariable("alarmId") Long alarmId) {
         User actor = rq.getActor();
-        alarmService.readCheck( String.valueOf(actor.getId()), alarmId);
+        alarmService.readCheck(actor.getId(), alarmId);
+    }
+
+    // 헤더 뱃지용 안 읽은 알람 수 (Redis 카운터)
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount() {
+        User actor = rq.getActor();
+        long unreadCount = alarmService.getUnreadCount(actor.getId());
+        return ResponseEntity.ok(ApiResponse.success(unreadCount, "안 읽은 알람 수 조회 성공"));
+    }
+
+    // 알람함 목록 (keyset 페이지네이션, 보관 처리되지 않은 alarms 테이블만 조회)
+    @GetMapping("/inbox")
+    public ResponseEntity<ApiResponse<AlarmInboxResponseDto>> getInbox(
+            @RequestParam(value = "cursorCreatedAt", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(value = "cursorId", required = false) Long cursorId,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        User actor = rq.getActor();
+        AlarmInboxResponseDto inbox = alarmService.getInbox(actor.getId(), cursorCreatedAt, cursorId, size);
+        return ResponseEntity.ok(ApiResponse.success(inbox, "알람 목록 조회 성공"));
     }
 
     @DeleteMapping("/{alarmId}")
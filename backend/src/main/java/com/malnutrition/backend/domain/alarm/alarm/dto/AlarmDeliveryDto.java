@@ -0,0 +1,22 @@
+package com.malnutrition.backend.domain.alarm.alarm.dto;
+
+import lombok.*;
+
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AlarmDeliveryDto {
+
+    private Long listenerId;
+    private long eventId;
+    private AlarmResponseDto alarm;
+
+    public static AlarmDeliveryDto of(Long listenerId, AlarmResponseDto alarm) {
+        return AlarmDeliveryDto.builder()
+                .listenerId(listenerId)
+                .alarm(alarm)
+                .build();
+    }
+}
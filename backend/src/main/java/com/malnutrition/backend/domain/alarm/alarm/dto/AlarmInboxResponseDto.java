@@ -0,0 +1,23 @@
+package com.malnutrition.backend.domain.alarm.alarm.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 알람함 keyset 페이지.
+ * 다음 페이지는 nextCursorCreatedAt / nextCursorId 를 그대로 cursorCreatedAt / cursorId 로 넘겨 조회한다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlarmInboxResponseDto {
+
+    private List<AlarmResponseDto> alarms;
+    private boolean hasNext;
+    private LocalDateTime nextCursorCreatedAt;
+    private Long nextCursorId;
+
+}
@@ -11,14 +11,19 @@ import lombok.experimental.SuperBuilder;
 
 
 @Entity
-@Table(name = "alarms")
+@Table(name = "alarms", indexes = {
+        // 알람함 조회 (user_id = ? ORDER BY created_date DESC, id DESC) 용
+        @Index(name = "idx_alarms_user_created", columnList = "user_id, created_date"),
+        // 보관 이동 (is_read = true AND id > ? ORDER BY id) 용
+        @Index(name = "idx_alarms_read_id", columnList = "is_read, id")
+})
 @SuperBuilder
 @NoArgsConstructor
 @Setter
 @Getter
 public class Alarm extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User listener;
 
@@ -0,0 +1,42 @@
+package com.malnutrition.backend.domain.alarm.alarm.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 기간이 지난 읽은 알람.
+ * alarms 의 id 를 그대로 옮겨 오므로 id 생성 전략이 없고, 사용자 삭제와 무관하게 남도록 FK 대신 user_id 만 둔다.
+ * 행은 AlarmArchiveJdbcRepository 의 INSERT ... SELECT 로만 들어온다.
+ */
+@Entity
+@Table(name = "alarms_archive", indexes = {
+        @Index(name = "idx_alarms_archive_user_created", columnList = "user_id, created_date")
+})
+@NoArgsConstructor
+@Getter
+public class AlarmArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String title;
+
+    private String message;
+
+    private String url;
+
+    @Column(nullable = false)
+    private Boolean isRead;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime updatedDate;
+
+    private LocalDateTime archivedDate;
+}
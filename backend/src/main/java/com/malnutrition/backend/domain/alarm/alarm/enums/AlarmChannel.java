@@ -0,0 +1,8 @@
+package com.malnutrition.backend.domain.alarm.alarm.enums;
+
+// AlarmSetting 의 수신 동의 항목과 1:1 로 대응하는 알람 분류
+public enum AlarmChannel {
+    SYSTEM,
+    ORDER,
+    MARKETING
+}
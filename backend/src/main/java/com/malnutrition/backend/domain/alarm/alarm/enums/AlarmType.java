@@ -1,18 +1,40 @@
 package com.malnutrition.backend.domain.alarm.alarm.enums;
 
 public enum AlarmType {
-    SYSTEM_NOTICE("📢 시스템 공지", "시스템에서 다음 공지가 도착했습니다: \n => %s"),
-    ADMIN_NOTICE("📢 관리자 알림", "관리자가 다음 메시지를 공지합니다: \n => %s"),
-    COMMENT_REPLY("💬 댓글 알림", "%s님이 회원님의 댓글에 답글을 남겼습니다"),
-    TRAINER_REPLY("📢 트레이너 알림 ", "%s 트레이너가 회원님에게 %s 알림을 보냅니다");
+    SYSTEM_NOTICE("📢 시스템 공지", "시스템에서 다음 공지가 도착했습니다: \n => %s", AlarmChannel.SYSTEM, null),
+    ADMIN_NOTICE("📢 관리자 알림", "관리자가 다음 메시지를 공지합니다: \n => %s", AlarmChannel.SYSTEM, null),
+    ORDER_NOTICE("🛒 주문 알림", "%s", AlarmChannel.ORDER, null),
+    COMMENT_REPLY("💬 댓글 알림", "%s님이 회원님의 댓글에 답글을 남겼습니다", AlarmChannel.SYSTEM, null),
+    // 수강 중인 강의 소식이라 마케팅 수신 거부와 상관없이 받는다.
+    TRAINER_REPLY("📢 트레이너 알림 ", "%s 트레이너가 회원님에게 %s 알림을 보냅니다", AlarmChannel.SYSTEM,
+            "'%s' 강의에 새 소식이 %d건 도착했습니다"),
+    CHATBOT_REPLY("🤖 챗봇 답변", "%s", AlarmChannel.SYSTEM, null);
 
     private final String titleTemplate;
     private final String messageTemplate;
+    private final AlarmChannel channel;
+    // 짧은 시간에 여러 번 발생하면 하나로 묶을 때 쓰는 메시지. null 이면 묶지 않는다.
+    private final String digestTemplate;
 
     // 이 생성자가 enum 상수 선언에 사용됩니다
-    AlarmType(String titleTemplate, String messageTemplate) {
+    AlarmType(String titleTemplate, String messageTemplate, AlarmChannel channel, String digestTemplate) {
         this.titleTemplate = titleTemplate;
         this.messageTemplate = messageTemplate;
+        this.channel = channel;
+        this.digestTemplate = digestTemplate;
+    }
+
+    public boolean isCoalescible() {
+        return digestTemplate != null;
+    }
+
+    public String formatDigest(String subject, int count) {
+        return String.format(digestTemplate, subject, count);
+    }
+
+    // 사용자의 AlarmSetting 중 어떤 항목으로 수신 여부를 판단할지
+    public AlarmChannel getChannel() {
+        return channel;
     }
 
     public String formatTitle() {
@@ -0,0 +1,31 @@
+package com.malnutrition.backend.domain.alarm.alarm.event;
+
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+// 강의 수강생 전체에게 같은 알람을 보낼 때 사용. 수신자는 lectureId 로 처리 시점에 조회한다.
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class AlarmBroadcastEvent {
+    Long lectureId;
+    String title;
+    String message;
+    String url;
+    AlarmType alarmType;
+    // 여러 알람을 하나로 묶을 때 메시지에 들어가는 대상 이름 (예: 강의 제목)
+    String subject;
+
+    public static AlarmBroadcastEvent from(Long lectureId, String title, String message, String url, AlarmType alarmType, String subject) {
+        return AlarmBroadcastEvent.builder()
+                .lectureId(lectureId)
+                .title(title)
+                .message(message)
+                .url(url)
+                .alarmType(alarmType)
+                .subject(subject)
+                .build();
+    }
+}
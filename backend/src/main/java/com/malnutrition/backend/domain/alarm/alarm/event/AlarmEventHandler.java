@@ -1,24 +1,40 @@
 package com.malnutrition.backend.domain.alarm.alarm.event;
 
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmAsyncConfig;
+import com.malnutrition.backend.domain.alarm.alarm.service.AlarmBroadcastService;
+import com.malnutrition.backend.domain.alarm.alarm.service.AlarmCoalescer;
 import com.malnutrition.backend.domain.alarm.alarm.service.AlarmService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AlarmEventHandler {
     private final AlarmService alarmService;
+    private final AlarmBroadcastService alarmBroadcastService;
+    private final AlarmCoalescer alarmCoalescer;
 
-    @EventListener
-    @Async
+    // 발행한 트랜잭션이 커밋된 뒤에 알람 전용 실행기에서 처리한다. (트랜잭션 밖에서 발행된 이벤트는 바로 처리)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Async(AlarmAsyncConfig.ALARM_DISPATCH_EXECUTOR)
     public void handleAlarmMessageSend(AlarmSendEvent alarmMessageRequestDto) {
         log.info("event listener");
         log.info("alarmMessageRequestDto {}",  alarmMessageRequestDto);
         alarmService.send(alarmMessageRequestDto);
     }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Async(AlarmAsyncConfig.ALARM_DISPATCH_EXECUTOR)
+    public void handleAlarmBroadcast(AlarmBroadcastEvent alarmBroadcastEvent) {
+        log.info("alarmBroadcastEvent {}", alarmBroadcastEvent);
+        // 묶을 수 있는 알람은 구간이 끝날 때 AlarmCoalescer 가 보낸다.
+        if (alarmCoalescer.offer(alarmBroadcastEvent)) return;
+        alarmBroadcastService.broadcastToLecture(alarmBroadcastEvent);
+    }
+
 }
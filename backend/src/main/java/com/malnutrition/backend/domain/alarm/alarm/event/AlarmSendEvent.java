@@ -1,5 +1,6 @@
 package com.malnutrition.backend.domain.alarm.alarm.event;
 
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
 import com.malnutrition.backend.domain.user.user.entity.User;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,6 +17,8 @@ public class AlarmSendEvent {
     String title;
     String message;
     String url;
+    // 수신 설정 확인용. null 이면 설정과 관계없이 보낸다.
+    AlarmType alarmType;
     /**
      *
      * @param listener: listener
@@ -23,12 +26,13 @@ public class AlarmSendEvent {
      * @param: ordersStatus
      * @return
      */
-    public static AlarmSendEvent from(User listener, String title, String message, String url) {
+    public static AlarmSendEvent from(User listener, String title, String message, String url, AlarmType alarmType) {
         return AlarmSendEvent.builder()
                 .listener(listener)
                 .title(title)
                 .message(message)
                 .url(url)
+                .alarmType(alarmType)
                 .build();
     }
 
@@ -0,0 +1,62 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * alarms -> alarms_archive 이동용 쿼리.
+ * 한 번에 PK 구간 하나만 다뤄서 트랜잭션마다 잡히는 락을 batchSize 행으로 제한한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlarmArchiveJdbcRepository {
+
+    // 읽은 알람만 PK 순서로 다음 구간을 읽는다. (idx_alarms_read_id)
+    // 안 읽은 알람은 건너뛰므로 오래된 안 읽은 알람이 쌓여도 매 실행이 그 구간을 다시 훑지 않는다.
+    private static final String SELECT_READ_WINDOW_SQL =
+            "SELECT id, created_date FROM alarms WHERE is_read = true AND id > :lastId ORDER BY id LIMIT :limit";
+
+    // 여러 노드가 동시에 돌더라도 중복 키로 실패하지 않도록 IGNORE
+    private static final String COPY_SQL =
+            "INSERT IGNORE INTO alarms_archive (id, user_id, title, message, url, is_read, created_date, updated_date, archived_date) " +
+            "SELECT id, user_id, title, message, url, is_read, created_date, updated_date, :archivedDate " +
+            "FROM alarms WHERE id IN (:ids)";
+
+    private static final String DELETE_SQL = "DELETE FROM alarms WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record AlarmRow(long id, LocalDateTime createdDate) {
+    }
+
+    public List<AlarmRow> findReadWindow(long lastId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lastId", lastId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_READ_WINDOW_SQL, params, (rs, rowNum) -> {
+            Timestamp createdDate = rs.getTimestamp("created_date");
+            return new AlarmRow(
+                    rs.getLong("id"),
+                    createdDate == null ? null : createdDate.toLocalDateTime()
+            );
+        });
+    }
+
+    /**
+     * 같은 트랜잭션 안에서 호출해야 한다.
+     * @return alarms 에서 삭제된 행 수
+     */
+    public int moveToArchive(List<Long> ids, LocalDateTime archivedDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedDate", Timestamp.valueOf(archivedDate));
+        jdbcTemplate.update(COPY_SQL, params);
+        return jdbcTemplate.update(DELETE_SQL, params);
+    }
+}
@@ -0,0 +1,63 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대량 알람 저장용 JDBC 배치 INSERT.
+ * BaseEntity 가 IDENTITY 전략이라 JPA saveAll 은 행마다 INSERT 를 보내므로, 강의 전체 공지처럼
+ * 수신자가 많은 경우에는 여기서 한 번에 넣는다. (MySQL 은 rewriteBatchedStatements=true 필요)
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlarmJdbcRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO alarms (user_id, title, message, url, is_read, created_date, updated_date) " +
+            "VALUES (?, ?, ?, ?, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return listenerIds 와 같은 순서의 생성된 alarm id
+     */
+    public List<Long> batchInsert(List<Long> listenerIds, String title, String message, String url, LocalDateTime createdDate) {
+        Timestamp timestamp = Timestamp.valueOf(createdDate);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, listenerIds.get(i));
+                        ps.setString(2, title);
+                        ps.setString(3, message);
+                        ps.setString(4, url);
+                        ps.setTimestamp(5, timestamp);
+                        ps.setTimestamp(6, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return listenerIds.size();
+                    }
+                },
+                keyHolder
+        );
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
+    }
+}
@@ -4,12 +4,36 @@ import com.malnutrition.backend.domain.alarm.alarm.entity.Alarm;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AlarmRepository extends JpaRepository<Alarm, Long> {
     Slice<Alarm> findByListener_Id (Long id, Pageable pageable);
 
-    List<Alarm> findByListener_Id (Long id);
+    // 알람함 keyset 조회. idx_alarms_user_created (user_id, created_date [, id]) 를 그대로 타서 offset 스캔이 없다.
+    @Query("SELECT a FROM Alarm a WHERE a.listener.id = :listenerId ORDER BY a.createdDate DESC, a.id DESC")
+    List<Alarm> findInboxFirst(@Param("listenerId") Long listenerId, Pageable pageable);
+
+    @Query("SELECT a FROM Alarm a WHERE a.listener.id = :listenerId " +
+            "AND (a.createdDate < :cursorCreatedDate OR (a.createdDate = :cursorCreatedDate AND a.id < :cursorId)) " +
+            "ORDER BY a.createdDate DESC, a.id DESC")
+    List<Alarm> findInboxAfter(@Param("listenerId") Long listenerId,
+                               @Param("cursorCreatedDate") LocalDateTime cursorCreatedDate,
+                               @Param("cursorId") Long cursorId,
+                               Pageable pageable);
+
+    long countByListener_IdAndIsReadFalse(Long listenerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Alarm a SET a.isRead = true WHERE a.listener.id = :listenerId AND a.isRead = false")
+    int markAllAsRead(@Param("listenerId") Long listenerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Alarm a SET a.isRead = true WHERE a.id = :alarmId AND a.listener.id = :listenerId AND a.isRead = false")
+    int markAsRead(@Param("alarmId") Long alarmId, @Param("listenerId") Long listenerId);
 
 }
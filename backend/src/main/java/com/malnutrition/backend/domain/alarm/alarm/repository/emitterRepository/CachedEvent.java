@@ -0,0 +1,6 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository;
+
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmResponseDto;
+
+public record CachedEvent(long eventId, long createdAt, AlarmResponseDto data) {
+}
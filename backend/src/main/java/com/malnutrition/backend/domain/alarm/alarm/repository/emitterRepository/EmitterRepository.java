@@ -5,11 +5,10 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.Map;
 
 public interface EmitterRepository {
-    SseEmitter save(String emitterId, SseEmitter sseEmitter);
-    void saveEventCache(String eventCacheId, Object event);
-    Map<String, SseEmitter> findAllEmitterStartWithByUserId(String memberId);
-    Map<String, Object> findAllEventCacheStartWithByUserId(String memberId);
-    void deleteById(String id);
-    void deleteAllEmitterStartWithId(String memberId);
-    void deleteAllEventCacheStartWithId(String memberId);
+    SseEmitter save(Long userId, String emitterId, SseEmitter sseEmitter);
+    Map<String, SseEmitter> findAllEmitterByUserId(Long userId);
+    void deleteById(Long userId, String emitterId);
+    void deleteAllEmitterByUserId(Long userId);
+    Map<Long, Map<String, SseEmitter>> findAll();
+    int countEmitters();
 }
@@ -3,71 +3,57 @@ package com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository
 import org.springframework.stereotype.Repository;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
+/**
+ * userId -> (emitterId -> emitter) 2단계 인덱스.
+ * 알람 전송 시 전체 emitter 를 prefix 로 스캔하지 않고 userId 로 바로 찾는다. (O(1), 정확히 일치)
+ * 바깥 맵의 compute 계열 연산은 userId 단위로만 원자적으로 동작하므로 다른 사용자의 등록/해제와 경합하지 않는다.
+ */
 @Repository
-public class EmitterRepositoryImpl implements  EmitterRepository {
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-    private final Map<String, Object> eventCache = new ConcurrentHashMap<>();
+public class EmitterRepositoryImpl implements EmitterRepository {
+    private final Map<Long, Map<String, SseEmitter>> emitters = new ConcurrentHashMap<>();
 
     @Override
-    public SseEmitter save(String emitterId, SseEmitter sseEmitter) {
-
-        emitters.put(emitterId, sseEmitter);
+    public SseEmitter save(Long userId, String emitterId, SseEmitter sseEmitter) {
+        emitters.compute(userId, (key, userEmitters) -> {
+            Map<String, SseEmitter> target = userEmitters == null ? new ConcurrentHashMap<>() : userEmitters;
+            target.put(emitterId, sseEmitter);
+            return target;
+        });
         return sseEmitter;
     }
 
     @Override
-    public void saveEventCache(String eventCacheId, Object event) {
-
-        eventCache.put(eventCacheId, event);
-    }
-
-    @Override
-    public Map<String, SseEmitter> findAllEmitterStartWithByUserId(String userId) {
-
-        return emitters.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(userId))
-                .collect(  Collectors.toMap(  Map.Entry::getKey  , Map.Entry::getValue) );
-
+    public Map<String, SseEmitter> findAllEmitterByUserId(Long userId) {
+        Map<String, SseEmitter> userEmitters = emitters.get(userId);
+        return userEmitters == null ? Collections.emptyMap() : Collections.unmodifiableMap(userEmitters);
     }
 
     @Override
-    public Map<String, Object> findAllEventCacheStartWithByUserId(String userId) {
-        return eventCache.entrySet().stream()
-                .filter( entry -> entry.getKey().startsWith(userId))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    public void deleteById(Long userId, String emitterId) {
+        // 마지막 emitter 가 빠지면 userId 엔트리까지 같이 제거해서 빈 맵이 쌓이지 않도록 한다.
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            userEmitters.remove(emitterId);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
     }
 
     @Override
-    public void deleteById(String id) {
-        emitters.remove(id);
-
+    public void deleteAllEmitterByUserId(Long userId) {
+        emitters.remove(userId);
     }
 
+    // heartbeat 처럼 전체 연결을 훑는 용도. 읽기 전용 뷰이며 순회 중 등록/해제가 있어도 예외 없이 진행된다.
     @Override
-    public void deleteAllEmitterStartWithId(String userId) {
-        emitters.forEach( (key, emitter) -> {
-
-            if ( key.startsWith(userId) ) {
-                emitters.remove(key);
-            }
-
-        } );
+    public Map<Long, Map<String, SseEmitter>> findAll() {
+        return Collections.unmodifiableMap(emitters);
     }
 
     @Override
-    public void deleteAllEventCacheStartWithId(String userId) {
-
-        eventCache.forEach( (key, emitter) -> {
-
-            if (key.startsWith(userId)) {
-                eventCache.remove(key);
-            }
-        } );
-
-
+    public int countEmitters() {
+        return emitters.values().stream().mapToInt(Map::size).sum();
     }
 }
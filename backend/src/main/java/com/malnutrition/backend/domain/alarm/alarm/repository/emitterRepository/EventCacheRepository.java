@@ -0,0 +1,13 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository;
+
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmResponseDto;
+
+import java.util.List;
+
+public interface EventCacheRepository {
+    CachedEvent save(Long userId, long eventId, AlarmResponseDto event);
+    List<CachedEvent> findAllAfterEventId(Long userId, long lastEventId);
+    List<CachedEvent> findAllByUserId(Long userId);
+    long currentEventId();
+    void deleteAllByUserId(Long userId);
+}
@@ -0,0 +1,193 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository;
+
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmResponseDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last-Event-ID 재전송용 이벤트 버퍼.
+ * 사용자별로 고정 크기 링버퍼를 두고, 이벤트 id 는 AlarmDispatcher 가 발급한 단조 증가 숫자를 사용한다.
+ * 한 사용자의 버퍼 안에서는 id 를 오름차순으로 유지하므로 "id X 이후 이벤트" 는 이진 탐색으로 찾는다.
+ * (여러 노드가 발행하면 드물게 id 가 역순으로 도착할 수 있어 뒤에서부터 정렬 삽입한다.)
+ *
+ * 메모리 상한
+ * - 사용자별 capacityPerUser 를 넘으면 가장 오래된 이벤트를 밀어낸다.
+ * - 전역 maxTotalEvents 에 도달하면 해당 사용자의 가장 오래된 이벤트를 밀어내고,
+ *   밀어낼 이벤트가 없으면 새 이벤트를 버퍼에 넣지 않는다. (id 는 발급되므로 실시간 전송에는 영향 없음)
+ * - ttl 이 지난 이벤트는 조회/저장 시점과 주기적인 sweep 에서 제거한다.
+ */
+@Repository
+@Slf4j
+public class EventCacheRepositoryImpl implements EventCacheRepository {
+    private final AlarmProperties.Replay properties;
+    private final AtomicLong lastEventId = new AtomicLong();
+    private final Map<Long, UserEventBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger totalEvents = new AtomicInteger();
+    private final AtomicLong ttlEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private final AtomicLong globalCapEvictions = new AtomicLong();
+
+    public EventCacheRepositoryImpl(AlarmProperties alarmProperties, MeterRegistry meterRegistry) {
+        this.properties = alarmProperties.getReplay();
+
+        Gauge.builder("alarm.replay.events", totalEvents, AtomicInteger::get)
+                .description("재전송 버퍼에 보관 중인 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("alarm.replay.users", buffers, Map::size)
+                .description("재전송 버퍼를 가진 사용자 수")
+                .register(meterRegistry);
+        registerEvictionCounter(meterRegistry, "ttl", ttlEvictions);
+        registerEvictionCounter(meterRegistry, "capacity", capacityEvictions);
+        registerEvictionCounter(meterRegistry, "global_cap", globalCapEvictions);
+    }
+
+    private void registerEvictionCounter(MeterRegistry meterRegistry, String reason, AtomicLong counter) {
+        FunctionCounter.builder("alarm.replay.evictions", counter, AtomicLong::get)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CachedEvent save(Long userId, long eventId, AlarmResponseDto event) {
+        long now = System.currentTimeMillis();
+        CachedEvent cachedEvent = new CachedEvent(eventId, now, event);
+        lastEventId.accumulateAndGet(eventId, Math::max);
+        // sweep 이 빈 버퍼를 지우는 것과 겹치지 않도록 compute 안에서 append 한다.
+        buffers.compute(userId, (key, buffer) -> {
+            UserEventBuffer target = buffer == null ? new UserEventBuffer(properties.getCapacityPerUser()) : buffer;
+            target.append(cachedEvent, now);
+            return target;
+        });
+        return cachedEvent;
+    }
+
+    @Override
+    public List<CachedEvent> findAllAfterEventId(Long userId, long lastEventId) {
+        UserEventBuffer buffer = buffers.get(userId);
+        if (buffer == null) return Collections.emptyList();
+        return buffer.findAfter(lastEventId, System.currentTimeMillis());
+    }
+
+    @Override
+    public List<CachedEvent> findAllByUserId(Long userId) {
+        return findAllAfterEventId(userId, Long.MIN_VALUE);
+    }
+
+    @Override
+    public long currentEventId() {
+        return lastEventId.get();
+    }
+
+    @Override
+    public void deleteAllByUserId(Long userId) {
+        UserEventBuffer removed = buffers.remove(userId);
+        if (removed != null) removed.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${custom.alarm.replay.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        buffers.keySet().forEach(userId ->
+                buffers.computeIfPresent(userId, (key, buffer) -> {
+                    buffer.evictExpired(now);
+                    return buffer.isEmpty() ? null : buffer;
+                })
+        );
+        log.debug("alarm replay sweep: users={}, events={}", buffers.size(), totalEvents.get());
+    }
+
+    private final class UserEventBuffer {
+        private final CachedEvent[] ring;
+        private int head; // 가장 오래된 이벤트 위치
+        private int size;
+
+        private UserEventBuffer(int capacity) {
+            this.ring = new CachedEvent[Math.max(1, capacity)];
+        }
+
+        synchronized void append(CachedEvent event, long now) {
+            evictExpired(now);
+
+            if (size == ring.length) {
+                evictOldest();
+                capacityEvictions.incrementAndGet();
+            } else if (totalEvents.get() >= properties.getMaxTotalEvents()) {
+                globalCapEvictions.incrementAndGet();
+                if (size == 0) return;
+                evictOldest();
+            }
+
+            // 대부분 맨 뒤에 붙고, 늦게 도착한 id 만 몇 칸 앞으로 이동한다.
+            int position = size;
+            while (position > 0 && get(position - 1).eventId() > event.eventId()) {
+                ring[(head + position) % ring.length] = get(position - 1);
+                position--;
+            }
+            ring[(head + position) % ring.length] = event;
+            size++;
+            totalEvents.incrementAndGet();
+        }
+
+        synchronized List<CachedEvent> findAfter(long lastEventId, long now) {
+            evictExpired(now);
+            int from = firstIndexAfter(lastEventId);
+            List<CachedEvent> result = new ArrayList<>(size - from);
+            for (int i = from; i < size; i++) {
+                result.add(get(i));
+            }
+            return result;
+        }
+
+        synchronized void evictExpired(long now) {
+            long expireBefore = now - properties.getTtl().toMillis();
+            while (size > 0 && ring[head].createdAt() <= expireBefore) {
+                evictOldest();
+                ttlEvictions.incrementAndGet();
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        synchronized void clear() {
+            while (size > 0) evictOldest();
+        }
+
+        // 논리 인덱스 [0, size) 에서 eventId > lastEventId 인 첫 위치
+        private int firstIndexAfter(long lastEventId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (get(mid).eventId() <= lastEventId) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private CachedEvent get(int logicalIndex) {
+            return ring[(head + logicalIndex) % ring.length];
+        }
+
+        private void evictOldest() {
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            size--;
+            totalEvents.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmResponseDto;
+import com.malnutrition.backend.domain.alarm.alarm.event.AlarmBroadcastEvent;
+import com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository.AlarmJdbcRepository;
+import com.malnutrition.backend.domain.alarm.alarmsetting.service.AlarmPreferenceService;
+import com.malnutrition.backend.domain.lecture.lectureuser.repository.LectureUserRepository;
+import com.malnutrition.backend.global.ut.TransactionUt;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 강의 단위 대량 알람.
+ * 수강생 id 를 chunkSize 만큼 keyset 으로 읽고 → JDBC 배치로 저장 → 커밋 후 SSE 로 발행하는 과정을 반복한다.
+ * User 엔티티를 올리지 않고 한 번에 chunkSize 만큼만 메모리에 두므로 수강생 수와 관계없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlarmBroadcastService {
+    private final LectureUserRepository lectureUserRepository;
+    private final AlarmJdbcRepository alarmJdbcRepository;
+    private final AlarmDispatcher alarmDispatcher;
+    private final AlarmUnreadCountService alarmUnreadCountService;
+    private final AlarmPreferenceService alarmPreferenceService;
+    private final AlarmProperties alarmProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public int broadcastToLecture(AlarmBroadcastEvent event) {
+        int chunkSize = alarmProperties.getBroadcast().getChunkSize();
+        long startedAt = System.currentTimeMillis();
+        long lastUserId = 0L;
+        int total = 0;
+        int suppressed = 0;
+
+        while (true) {
+            List<Long> listenerIds = lectureUserRepository.findUserIdsByLectureIdAfter(
+                    event.getLectureId(), lastUserId, PageRequest.of(0, chunkSize));
+            if (listenerIds.isEmpty()) break;
+
+            // 수신을 끈 사용자는 INSERT 전에 제외한다. (chunk 당 설정 조회는 캐시 + IN 쿼리 한 번)
+            List<Long> recipientIds = alarmPreferenceService.filterAllowed(listenerIds, event.getAlarmType());
+            if (!recipientIds.isEmpty()) {
+                List<AlarmDeliveryDto> deliveries = saveChunk(recipientIds, event);
+                // 바깥 트랜잭션에 참여한 경우에도 커밋된 뒤에만 카운트/발행한다.
+                TransactionUt.afterCommit(() -> {
+                    alarmUnreadCountService.incrementAll(recipientIds);
+                    alarmDispatcher.dispatch(deliveries);
+                });
+            }
+
+            total += recipientIds.size();
+            suppressed += listenerIds.size() - recipientIds.size();
+            lastUserId = listenerIds.get(listenerIds.size() - 1);
+            if (listenerIds.size() < chunkSize) break;
+        }
+
+        log.info("강의 알람 broadcast 완료 lectureId={}, recipients={}, suppressed={}, elapsed={}ms",
+                event.getLectureId(), total, suppressed, System.currentTimeMillis() - startedAt);
+        return total;
+    }
+
+    // chunk 마다 트랜잭션을 나눠 커밋된 알람만 발행한다.
+    private List<AlarmDeliveryDto> saveChunk(List<Long> listenerIds, AlarmBroadcastEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> alarmIds = transactionTemplate.execute(status ->
+                alarmJdbcRepository.batchInsert(listenerIds, event.getTitle(), event.getMessage(), event.getUrl(), now));
+
+        List<AlarmDeliveryDto> deliveries = new ArrayList<>(listenerIds.size());
+        for (int i = 0; i < listenerIds.size(); i++) {
+            AlarmResponseDto alarm = AlarmResponseDto.builder()
+                    .id(alarmIds.get(i))
+                    .title(event.getTitle())
+                    .message(event.getMessage())
+                    .url(event.getUrl())
+                    .read(false)
+                    .createdAt(now)
+                    .build();
+            deliveries.add(AlarmDeliveryDto.of(listenerIds.get(i), alarm));
+        }
+        return deliveries;
+    }
+}
@@ -0,0 +1,162 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmAsyncConfig;
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
+import com.malnutrition.backend.domain.alarm.alarm.event.AlarmBroadcastEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 강의 단위 대량 알람 묶기.
+ * 같은 강의/종류/URL 의 첫 알람은 바로 보내고, 그 시점부터 windowMs 동안 들어온 알람은 모았다가 구간이 끝나면 하나의 묶음 알람으로 보낸다.
+ * (커리큘럼을 연속으로 올리면 영상마다 수강생 전체에게 알람 행/SSE 가 생기던 문제)
+ * 구간은 키마다 첫 알람 시각부터 시작한다. 묶음을 보낸 뒤에도 한 구간 더 열어 두어 연속 업로드 중에는 구간당 한 번만 보낸다.
+ * 묶음 발송은 버리지 않는 전용 실행기에서 한다. (alarmDispatchExecutor 는 큐가 차면 버릴 수 있다)
+ * 노드 메모리에만 쌓이므로 비정상 종료 시 아직 구간이 끝나지 않은 알람은 유실될 수 있다.
+ */
+@Slf4j
+@Service
+public class AlarmCoalescer {
+
+    private record CoalesceKey(Long lectureId, AlarmType alarmType, String url) {
+    }
+
+    private static class Window {
+        private long closesAt;
+        private AlarmBroadcastEvent latest;
+        private int count;     // 구간이 열린 뒤 모인 (아직 안 보낸) 알람 수
+
+        private Window(long closesAt) {
+            this.closesAt = closesAt;
+        }
+    }
+
+    private record Pending(AlarmBroadcastEvent latest, int count) {
+    }
+
+    private final AlarmBroadcastService alarmBroadcastService;
+    private final AlarmProperties alarmProperties;
+    private final TaskExecutor alarmCoalesceExecutor;
+    private final Counter coalescedCounter;
+    private final Counter digestCounter;
+
+    // 키별로 열린 구간. 양이 적어(업로드 단위) 단일 락으로 충분하다.
+    private final Map<CoalesceKey, Window> windows = new HashMap<>();
+    private int pendingCount = 0;
+
+    public AlarmCoalescer(AlarmBroadcastService alarmBroadcastService,
+                          AlarmProperties alarmProperties,
+                          @Qualifier(AlarmAsyncConfig.ALARM_COALESCE_EXECUTOR) TaskExecutor alarmCoalesceExecutor,
+                          MeterRegistry meterRegistry) {
+        this.alarmBroadcastService = alarmBroadcastService;
+        this.alarmProperties = alarmProperties;
+        this.alarmCoalesceExecutor = alarmCoalesceExecutor;
+        this.coalescedCounter = Counter.builder("alarm.coalesced")
+                .description("묶음 알람으로 합쳐져 따로 보내지 않은 알람 수")
+                .register(meterRegistry);
+        this.digestCounter = Counter.builder("alarm.coalesce.digests")
+                .description("두 건 이상을 합쳐 보낸 묶음 알람 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("alarm.coalesce.pending", this, AlarmCoalescer::getPendingCount);
+    }
+
+    /**
+     * @return 버퍼에 넣었으면 true. false 면 호출한 쪽에서 바로 보내야 한다. (구간의 첫 알람 포함)
+     */
+    public boolean offer(AlarmBroadcastEvent event) {
+        AlarmProperties.Coalesce coalesce = alarmProperties.getCoalesce();
+        if (!coalesce.isEnabled() || event.getAlarmType() == null || !event.getAlarmType().isCoalescible()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        CoalesceKey key = new CoalesceKey(event.getLectureId(), event.getAlarmType(), event.getUrl());
+        synchronized (windows) {
+            Window window = windows.get(key);
+            if (window == null) {
+                // 열린 구간이 없으면 바로 보내고 지금부터 구간을 연다.
+                windows.put(key, new Window(now + coalesce.getWindowMs()));
+                return false;
+            }
+            // 닫혔지만 아직 flush 가 꺼내지 않은 구간이면 다음 flush 에 같이 나간다.
+            window.latest = event;
+            window.count++;
+            pendingCount++;
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.alarm.coalesce.flush-interval-ms:1000}")
+    public void flushClosedWindows() {
+        List<Pending> closed = drain(System.currentTimeMillis(), false);
+        // 발송(조회/INSERT/PUBLISH) 은 스케줄러 스레드를 막지 않도록 묶음 전용 실행기에서 한다.
+        closed.forEach(pending -> alarmCoalesceExecutor.execute(() -> send(pending)));
+    }
+
+    // 종료 시 남은 구간은 기다리지 않고 바로 보낸다.
+    @PreDestroy
+    public void flushAll() {
+        List<Pending> remaining = drain(Long.MAX_VALUE, true);
+        remaining.forEach(this::send);
+    }
+
+    private List<Pending> drain(long now, boolean closeAll) {
+        List<Pending> drained = new ArrayList<>();
+        long windowMs = alarmProperties.getCoalesce().getWindowMs();
+        synchronized (windows) {
+            Iterator<Window> iterator = windows.values().iterator();
+            while (iterator.hasNext()) {
+                Window window = iterator.next();
+                if (window.closesAt > now) continue;
+                if (window.count == 0) {
+                    // 구간 동안 더 들어온 알람이 없으면 닫는다. 다음 알람은 다시 바로 나간다.
+                    iterator.remove();
+                    continue;
+                }
+                drained.add(new Pending(window.latest, window.count));
+                pendingCount -= window.count;
+                if (closeAll) {
+                    iterator.remove();
+                    continue;
+                }
+                // 아직 이어서 올라오는 중일 수 있으니 다음 구간을 비운 채로 연다.
+                window.latest = null;
+                window.count = 0;
+                window.closesAt = now + windowMs;
+            }
+        }
+        return drained;
+    }
+
+    private void send(Pending pending) {
+        AlarmBroadcastEvent event = pending.latest();
+        if (pending.count() > 1) {
+            String subject = event.getSubject() != null ? event.getSubject() : "수강 중인";
+            event = event.toBuilder()
+                    .message(event.getAlarmType().formatDigest(subject, pending.count()))
+                    .build();
+            coalescedCounter.increment(pending.count() - 1);
+            digestCounter.increment();
+            log.info("알람 묶음 발송 lectureId={}, type={}, coalesced={}", event.getLectureId(), event.getAlarmType(), pending.count());
+        }
+        try {
+            alarmBroadcastService.broadcastToLecture(event);
+        } catch (Exception e) {
+            log.error("묶음 알람 발송 실패 lectureId={}", event.getLectureId(), e);
+        }
+    }
+
+    private double getPendingCount() {
+        synchronized (windows) {
+            return pendingCount;
+        }
+    }
+}
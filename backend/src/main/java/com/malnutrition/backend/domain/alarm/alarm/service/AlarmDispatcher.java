@@ -0,0 +1,17 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+
+import java.util.List;
+
+/**
+ * 저장된 알람을 SSE 로 내보내는 경로.
+ * 이벤트 id 를 발급한 뒤 알람을 받을 사용자가 연결된 노드의 AlarmEmitterService 까지 전달한다.
+ */
+public interface AlarmDispatcher {
+    void dispatch(List<AlarmDeliveryDto> deliveries);
+
+    default void dispatch(AlarmDeliveryDto delivery) {
+        dispatch(List.of(delivery));
+    }
+}
@@ -0,0 +1,187 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmAsyncConfig;
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmEventType;
+import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.EmitterRepositoryImpl;
+import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.EventCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이 노드에 연결된 SseEmitter 로 알람을 쓰는 역할만 담당한다.
+ * 어느 노드에서 발생한 알람이든 AlarmDispatcher 를 거쳐 각 노드의 deliverLocal 로 들어온다.
+ * 이벤트는 한 번만 JSON 으로 만들고 SSE 형식의 바이트로 인코딩해서 같은 frame 을 사용자의 모든 emitter 에 쓴다.
+ * (문자열 frame 을 넘기면 emitter 마다 메시지 컨버터가 다시 인코딩한다)
+ */
+@Service
+@Slf4j
+public class AlarmEmitterService {
+    // 브라우저 EventSource 는 주석 줄(": hb")을 무시하므로 연결 유지 확인용으로만 쓰인다.
+    private static final Set<DataWithMediaType> HEARTBEAT_FRAME = encode(SseEmitter.event().comment("hb").build());
+
+    private record EmitterTarget(Long userId, String emitterId, SseEmitter emitter) {
+    }
+
+    private final EmitterRepositoryImpl emitterRepository;
+    private final EventCacheRepository eventCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final AlarmProperties alarmProperties;
+    private final TaskExecutor alarmHeartbeatExecutor;
+    private final AtomicBoolean heartbeatRunning = new AtomicBoolean();
+    private final Counter alarmWriteFailures;
+    private final Counter heartbeatWriteFailures;
+    private final Timer heartbeatTimer;
+    private final Timer heartbeatBatchTimer;
+
+    public AlarmEmitterService(EmitterRepositoryImpl emitterRepository,
+                               EventCacheRepository eventCacheRepository,
+                               ObjectMapper objectMapper,
+                               AlarmProperties alarmProperties,
+                               @Qualifier(AlarmAsyncConfig.ALARM_HEARTBEAT_EXECUTOR) TaskExecutor alarmHeartbeatExecutor,
+                               MeterRegistry meterRegistry) {
+        this.emitterRepository = emitterRepository;
+        this.eventCacheRepository = eventCacheRepository;
+        this.objectMapper = objectMapper;
+        this.alarmProperties = alarmProperties;
+        this.alarmHeartbeatExecutor = alarmHeartbeatExecutor;
+        this.alarmWriteFailures = Counter.builder("alarm.sse.write.failures")
+                .tag("kind", "alarm")
+                .register(meterRegistry);
+        this.heartbeatWriteFailures = Counter.builder("alarm.sse.write.failures")
+                .tag("kind", "heartbeat")
+                .register(meterRegistry);
+        this.heartbeatTimer = Timer.builder("alarm.sse.heartbeat")
+                .description("모든 SSE 연결에 heartbeat 를 한 바퀴 보내는 데 걸린 시간")
+                .register(meterRegistry);
+        this.heartbeatBatchTimer = Timer.builder("alarm.sse.heartbeat.batch")
+                .description("heartbeatBatchSize 개 연결에 heartbeat 를 보내는 데 걸린 시간 (전송 스레드 기준)")
+                .register(meterRegistry);
+        meterRegistry.gauge("alarm.sse.connections", emitterRepository, EmitterRepositoryImpl::countEmitters);
+    }
+
+    public void deliverLocal(AlarmDeliveryDto delivery) {
+        Long listenerId = delivery.getListenerId();
+        String eventId = String.valueOf(delivery.getEventId());
+        // 재연결은 로드밸런서를 거쳐 다른 노드로 갈 수 있으므로 모든 노드가 모든 수신자의 이벤트를 버퍼링한다.
+        // 메모리는 replay ttl 과 노드별 전역 상한(maxTotalEvents) 으로 묶인다.
+        eventCacheRepository.save(listenerId, delivery.getEventId(), delivery.getAlarm());
+        Map<String, SseEmitter> emitters = emitterRepository.findAllEmitterByUserId(listenerId);
+        if (emitters.isEmpty()) return;
+
+        Set<DataWithMediaType> frame = buildFrame(AlarmEventType.ALARM, eventId, delivery.getAlarm());
+        if (frame == null) return;
+        emitters.forEach((emitterId, emitter) -> write(listenerId, emitterId, emitter, frame, alarmWriteFailures));
+    }
+
+    public void sendAlarmMessage(Long userId, String emitterId, SseEmitter emitter, AlarmEventType alarmEventType, String eventId, Object data) {
+        Set<DataWithMediaType> frame = buildFrame(alarmEventType, eventId, data);
+        if (frame == null) return;
+        write(userId, emitterId, emitter, frame, alarmWriteFailures);
+    }
+
+    /**
+     * 이 노드의 모든 emitter 에 heartbeat 주석을 보내고, 쓰기에 실패한 연결은 바로 정리한다.
+     * 연결 목록은 스냅샷으로 떠서 batch 단위로 heartbeat 실행기에 넘기고, 스케줄러 스레드는 기다리지 않는다.
+     * 이전 바퀴가 아직 끝나지 않았으면 이번 바퀴는 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${custom.alarm.sse.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        List<EmitterTarget> targets = new ArrayList<>();
+        emitterRepository.findAll().forEach((userId, userEmitters) ->
+                userEmitters.forEach((emitterId, emitter) -> targets.add(new EmitterTarget(userId, emitterId, emitter))));
+        if (targets.isEmpty()) return;
+        if (!heartbeatRunning.compareAndSet(false, true)) {
+            log.warn("이전 SSE heartbeat 가 아직 진행 중이라 건너뜀 connections={}", targets.size());
+            return;
+        }
+
+        int batchSize = Math.max(1, alarmProperties.getSse().getHeartbeatBatchSize());
+        long startedAt = System.nanoTime();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        try {
+            for (int from = 0; from < targets.size(); from += batchSize) {
+                List<EmitterTarget> batch = targets.subList(from, Math.min(from + batchSize, targets.size()));
+                batches.add(CompletableFuture.runAsync(() -> sendHeartbeatBatch(batch, failed), alarmHeartbeatExecutor));
+            }
+        } catch (RuntimeException e) {
+            heartbeatRunning.set(false);
+            throw e;
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).whenComplete((ignored, throwable) -> {
+            heartbeatRunning.set(false);
+            heartbeatTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (throwable != null) log.error("SSE heartbeat 전송 중 오류", throwable);
+            if (failed.get() > 0) log.info("SSE heartbeat 완료 connections={}, evicted={}", targets.size(), failed.get());
+        });
+    }
+
+    private void sendHeartbeatBatch(List<EmitterTarget> batch, AtomicInteger failed) {
+        long batchStartedAt = System.nanoTime();
+        for (EmitterTarget target : batch) {
+            if (!write(target.userId(), target.emitterId(), target.emitter(), HEARTBEAT_FRAME, heartbeatWriteFailures)) failed.incrementAndGet();
+        }
+        heartbeatBatchTimer.record(System.nanoTime() - batchStartedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private Set<DataWithMediaType> buildFrame(AlarmEventType alarmEventType, String eventId, Object data) {
+        try {
+            String json = objectMapper.writeValueAsString(data);
+            return encode(SseEmitter.event()
+                    .id(eventId)
+                    .name(alarmEventType.name())
+                    .data(json, MediaType.APPLICATION_JSON)
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("SSE 이벤트 직렬화 실패: type={}, eventId={}", alarmEventType, eventId, e);
+            return null;
+        }
+    }
+
+    // SseEventBuilder 가 만든 문자열 조각들을 UTF-8 바이트 하나로 합친다. byte[] 는 ByteArrayHttpMessageConverter 가 그대로 쓴다.
+    private static Set<DataWithMediaType> encode(Set<DataWithMediaType> items) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (DataWithMediaType item : items) {
+            out.writeBytes(item.getData().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return Set.of(new DataWithMediaType(out.toByteArray(), MediaType.TEXT_EVENT_STREAM));
+    }
+
+    private boolean write(Long userId, String emitterId, SseEmitter emitter, Set<DataWithMediaType> frame, Counter failures) {
+        try {
+            emitter.send(frame);
+            return true;
+        } catch (IOException | IllegalStateException exception) {
+            // IllegalStateException: 이미 complete 된 emitter
+            log.debug("SSE 전송 실패, 연결 정리: emitterId={}", emitterId, exception);
+            failures.increment();
+            emitterRepository.deleteById(userId, emitterId);
+            return false;
+        }
+    }
+}
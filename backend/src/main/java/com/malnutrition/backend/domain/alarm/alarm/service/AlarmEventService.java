@@ -23,14 +23,15 @@ public class AlarmEventService {
     private final Rq rq;
 
     public void sendOrderCompleteAlarm() {
-        String title = AlarmType.SYSTEM_NOTICE.formatTitle();
-        String message = AlarmType.SYSTEM_NOTICE.formatMessage("결제가 완료되었습니다.");
+        String title = AlarmType.ORDER_NOTICE.formatTitle();
+        String message = AlarmType.ORDER_NOTICE.formatMessage("결제가 완료되었습니다.");
         String url = "/user/dashboard/my-order-list";
         AlarmSendEvent alarmSendEvent = AlarmSendEvent.builder()
                 .title(title)
                 .message(message)
                 .url(url)
                 .listener(rq.getActor())
+                .alarmType(AlarmType.ORDER_NOTICE)
                 .build();
         applicationEventPublisher.publishEvent(alarmSendEvent);
     }
@@ -0,0 +1,38 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+// RedisAlarmDispatcher 가 발행한 배치를 받아 이 노드의 emitter 로 전달한다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "custom.alarm.cluster.enabled", havingValue = "true", matchIfMissing = true)
+public class AlarmRedisSubscriber implements MessageListener {
+    private static final TypeReference<List<AlarmDeliveryDto>> BATCH_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final AlarmEmitterService alarmEmitterService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<AlarmDeliveryDto> batch;
+        try {
+            batch = objectMapper.readValue(message.getBody(), BATCH_TYPE);
+        } catch (IOException e) {
+            log.error("알람 배치 역직렬화 실패", e);
+            return;
+        }
+        batch.forEach(alarmEmitterService::deliverLocal);
+    }
+}
@@ -0,0 +1,131 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository.AlarmArchiveJdbcRepository;
+import com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository.AlarmArchiveJdbcRepository.AlarmRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 보관 기간이 지난 읽은 알람을 alarms_archive 로 옮긴다.
+ * PK 구간 단위로 짧은 트랜잭션을 반복하므로 긴 락을 잡지 않고, 실행마다 옮긴 행 수를 로그/메트릭으로 남긴다.
+ * 안 읽은 알람은 기간과 상관없이 남겨 둔다. (안 읽은 알람 수 카운터와 어긋나지 않게)
+ * 읽은 알람만 keyset 으로 훑으므로 오래된 안 읽은 알람이 앞을 막지 않고, 옮긴 행은 사라지니 매 실행 처음부터 시작해도 된다.
+ * 여러 노드에서 같은 cron 이 돌기 때문에 Redis 락을 잡은 노드 하나만 실행한다.
+ */
+@Slf4j
+@Service
+public class AlarmRetentionService {
+
+    // 내가 잡은 락일 때만 지운다. (TTL 이 지나 다른 노드가 잡은 락을 지우지 않도록)
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final AlarmArchiveJdbcRepository alarmArchiveJdbcRepository;
+    private final AlarmProperties alarmProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter archivedCounter;
+    private final AtomicLong lastRunArchived = new AtomicLong();
+
+    public AlarmRetentionService(AlarmArchiveJdbcRepository alarmArchiveJdbcRepository,
+                                 AlarmProperties alarmProperties,
+                                 TransactionTemplate transactionTemplate,
+                                 StringRedisTemplate redisTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.alarmArchiveJdbcRepository = alarmArchiveJdbcRepository;
+        this.alarmProperties = alarmProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.archivedCounter = Counter.builder("alarm.retention.archived")
+                .description("alarms_archive 로 옮긴 알람 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("alarm.retention.last_run.archived", lastRunArchived);
+    }
+
+    @Scheduled(cron = "${custom.alarm.retention.cron:0 30 3 * * ?}")
+    public void archiveScheduled() {
+        AlarmProperties.Retention retention = alarmProperties.getRetention();
+        if (!retention.isEnabled()) return;
+
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(retention.getLockKey(), token, retention.getLockTtl());
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("[AlarmRetention] 다른 노드가 실행 중이라 건너뜀");
+            return;
+        }
+        try {
+            archiveReadAlarms();
+        } finally {
+            redisTemplate.execute(UNLOCK, List.of(retention.getLockKey()), token);
+        }
+    }
+
+    /**
+     * @return 이번 실행에서 옮긴 행 수
+     */
+    public long archiveReadAlarms() {
+        AlarmProperties.Retention retention = alarmProperties.getRetention();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(retention.getRetentionDays());
+        long startedAt = System.currentTimeMillis();
+
+        long lastId = 0L;
+        long scanned = 0L;
+        long moved = 0L;
+        int batches = 0;
+        while (batches < retention.getMaxBatchesPerRun()) {
+            List<AlarmRow> window = alarmArchiveJdbcRepository.findReadWindow(lastId, retention.getBatchSize());
+            if (window.isEmpty()) break;
+            // id 는 생성 순서라 구간의 첫 행이 기준일 이후면 뒤쪽도 모두 보관 대상이 아니다.
+            AlarmRow first = window.get(0);
+            if (first.createdDate() != null && !first.createdDate().isBefore(cutoff)) break;
+
+            List<Long> targetIds = window.stream()
+                    .filter(row -> row.createdDate() != null && row.createdDate().isBefore(cutoff))
+                    .map(AlarmRow::id)
+                    .toList();
+            if (!targetIds.isEmpty()) {
+                Integer deleted = transactionTemplate.execute(status ->
+                        alarmArchiveJdbcRepository.moveToArchive(targetIds, now));
+                moved += deleted == null ? 0 : deleted;
+            }
+
+            scanned += window.size();
+            lastId = window.get(window.size() - 1).id();
+            batches++;
+            if (!pause(retention.getPauseMs())) break;
+        }
+
+        archivedCounter.increment(moved);
+        lastRunArchived.set(moved);
+        log.info("[AlarmRetention] 알람 보관 이동 완료 - cutoff={}, scanned={}, moved={}, batches={}, elapsed={}ms",
+                cutoff, scanned, moved, batches, System.currentTimeMillis() - startedAt);
+        return moved;
+    }
+
+    // 종료 중 인터럽트되면 false 를 돌려 남은 배치는 다음 실행으로 넘긴다.
+    private boolean pause(long pauseMs) {
+        if (pauseMs <= 0) return true;
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
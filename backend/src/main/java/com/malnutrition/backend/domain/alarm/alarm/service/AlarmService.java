@@ -1,79 +1,116 @@
 package com.malnutrition.backend.domain.alarm.alarm.service;
 
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
 import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
+import com.malnutrition.backend.domain.alarm.alarm.event.AlarmBroadcastEvent;
 import com.malnutrition.backend.domain.alarm.alarm.event.AlarmSendEvent;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmInboxResponseDto;
 import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmResponseDto;
 import com.malnutrition.backend.domain.alarm.alarm.entity.Alarm;
 import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmEventType;
 import com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository.AlarmRepository;
+import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.CachedEvent;
 import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.EmitterRepositoryImpl;
-import com.malnutrition.backend.domain.lecture.lectureuser.repository.LectureUserRepository;
+import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.EventCacheRepository;
+import com.malnutrition.backend.domain.alarm.alarmsetting.service.AlarmPreferenceService;
 import com.malnutrition.backend.domain.user.user.entity.User;
 import com.malnutrition.backend.global.rq.Rq;
+import com.malnutrition.backend.global.ut.TransactionUt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AlarmService {
-    private final Long DEFAULT_TIMEOUT = 60L * 1000L * 60L;
     private final EmitterRepositoryImpl emitterRepository;
+    private final EventCacheRepository eventCacheRepository;
+    private final AlarmEmitterService alarmEmitterService;
+    private final AlarmDispatcher alarmDispatcher;
+    private final AlarmUnreadCountService alarmUnreadCountService;
+    private final AlarmPreferenceService alarmPreferenceService;
     private final AlarmRepository alarmRepository;
-    private final LectureUserRepository lectureUserRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final AlarmProperties alarmProperties;
     private final Rq rq;
 
 
     @Transactional
-    public void readCheckAll(String userId) {
-        Map<String, Object> allEventCacheStartWithByMemberId = emitterRepository.findAllEventCacheStartWithByUserId(userId);
-        allEventCacheStartWithByMemberId.forEach( ( id,  value ) -> {
-                    Alarm alarm = (Alarm) value;
-                    alarm.setIsRead (true);
-                    allEventCacheStartWithByMemberId.put(id, alarm);
-                }
-        );
-        List<Alarm> byReceiver_id = alarmRepository.findByListener_Id (Long.valueOf(userId));
-        byReceiver_id.forEach( (notifications) -> {
-            notifications.setIsRead(true);
-        } );
-        alarmRepository.saveAll(byReceiver_id);
+    public void readCheckAll(Long userId) {
+        eventCacheRepository.findAllByUserId(userId)
+                .forEach( cachedEvent -> cachedEvent.data().setRead(true) );
+        // UPDATE 전 세대. 커밋 전까지 다른 알람이 카운트되지 않았을 때만 0 으로 맞춘다.
+        String generation = alarmUnreadCountService.getGeneration(userId);
+        int updated = alarmRepository.markAllAsRead(userId);
+        log.debug("알람 전체 읽음 처리 userId={}, updated={}", userId, updated);
+        TransactionUt.afterCommit(() -> alarmUnreadCountService.reset(userId, generation));
     }
     @Transactional
-    public void readCheck(String userId, Long alarmId) {
-        Map<String, Object> allEventCacheStartWithByMemberId = emitterRepository.findAllEventCacheStartWithByUserId(userId);
-        allEventCacheStartWithByMemberId.forEach( ( id,  value ) -> {
-                    Alarm alarmMessage = (Alarm) value;
-                    if( alarmMessage.getId() == alarmId) alarmMessage.setIsRead(true);
-                    allEventCacheStartWithByMemberId.put(id, alarmMessage);
-                }
-        );
-        Alarm alarmMessage = alarmRepository.findById(alarmId).orElseThrow(() -> new IllegalArgumentException("alarmId가 존재하지 않습니다."));
-        alarmMessage.setIsRead(true);
-        alarmRepository.save(alarmMessage);
+    public void readCheck(Long userId, Long alarmId) {
+        eventCacheRepository.findAllByUserId(userId).stream()
+                .map(CachedEvent::data)
+                .filter( alarmResponseDto -> alarmId.equals(alarmResponseDto.getId()) )
+                .forEach( alarmResponseDto -> alarmResponseDto.setRead(true) );
+        int updated = alarmRepository.markAsRead(alarmId, userId);
+        if (updated == 0) {
+            // 이미 읽은 알람이면 그대로 두고, 없는 알람이면 기존처럼 예외
+            if (!alarmRepository.existsById(alarmId)) throw new IllegalArgumentException("alarmId가 존재하지 않습니다.");
+            return;
+        }
+        TransactionUt.afterCommit(() -> alarmUnreadCountService.decrement(userId));
+    }
+
+    private static final int MAX_INBOX_PAGE_SIZE = 50;
+
+    @Transactional(readOnly = true)
+    public AlarmInboxResponseDto getInbox(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, int size) {
+        if ((cursorCreatedAt == null) != (cursorId == null)) {
+            throw new IllegalArgumentException("cursorCreatedAt 과 cursorId 는 함께 전달해야 합니다.");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        // 한 건 더 조회해서 다음 페이지 존재 여부를 판단한다. (count 쿼리 없음)
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Alarm> alarms = cursorId == null
+                ? alarmRepository.findInboxFirst(userId, limit)
+                : alarmRepository.findInboxAfter(userId, cursorCreatedAt, cursorId, limit);
+
+        boolean hasNext = alarms.size() > pageSize;
+        List<Alarm> page = hasNext ? alarms.subList(0, pageSize) : alarms;
+        Alarm last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return AlarmInboxResponseDto.builder()
+                .alarms(page.stream().map(AlarmResponseDto::from).toList())
+                .hasNext(hasNext)
+                .nextCursorCreatedAt(hasNext ? last.getCreatedDate() : null)
+                .nextCursorId(hasNext ? last.getId() : null)
+                .build();
+    }
+
+    public long getUnreadCount(Long userId) {
+        return alarmUnreadCountService.getUnreadCount(userId);
     }
 
 
 
     public SseEmitter subscribe(Long userId, String lastEventId) {
         String emitterId = makeTimeIncludeId(userId);
-        SseEmitter emitter = emitterRepository.save(emitterId, new SseEmitter(DEFAULT_TIMEOUT));
+        SseEmitter emitter = emitterRepository.save(userId, emitterId, new SseEmitter(emitterTimeout()));
 
-        emitter.onCompletion( () -> emitterRepository.deleteById(emitterId) );
-        emitter.onTimeout(() -> emitterRepository.deleteById(emitterId));
+        emitter.onCompletion( () -> emitterRepository.deleteById(userId, emitterId) );
+        emitter.onTimeout(() -> emitterRepository.deleteById(userId, emitterId));
+        emitter.onError( (e) -> emitterRepository.deleteById(userId, emitterId) );
 
         //연결 유지용 더미 이벤트
         Map<String, String> dummyData = new HashMap<>();
@@ -81,62 +118,50 @@ public class AlarmService {
         dummyData.put("createdAt", LocalDateTime.now().toString());
 
 
+        // 이벤트 id 는 재전송 버퍼의 숫자 id 를 사용한다. 재연결 시 Last-Event-ID 로 이 값이 돌아온다.
+        String currentEventId = String.valueOf(eventCacheRepository.currentEventId());
+
         //등록 후 SseEmitter 유효시간동안 어느 데이터도 전송되지 않는 다면 503 에러를 발생시키므로 이것에 대한 방지로 더이 이벤트 발생
-        sendAlarmMessage(emitter, AlarmEventType.DUMMY,  emitterId, dummyData);
+        alarmEmitterService.sendAlarmMessage(userId, emitterId, emitter, AlarmEventType.DUMMY, currentEventId, dummyData);
 
-        if (hasLostData(lastEventId)) {
-            sendLostData(lastEventId, userId, emitter);
+        Long lastReceivedEventId = parseLastEventId(lastEventId);
+        if (lastReceivedEventId != null) {
+            sendLostData(lastReceivedEventId, userId, emitterId, emitter);
         }else {
             PageRequest pageable = PageRequest.of(0, 15, Sort.by("createdDate").descending());
             List<Alarm> content = alarmRepository.findByListener_Id(userId, pageable).getContent();
             content.forEach( (alarmMessage -> {
-                /*if(!alarmMessage.getIsRead())*/ sendAlarmMessage(emitter,AlarmEventType.ALARM , emitterId, AlarmResponseDto.from(alarmMessage));
+                /*if(!alarmMessage.getIsRead())*/ alarmEmitterService.sendAlarmMessage(userId, emitterId, emitter, AlarmEventType.ALARM, currentEventId, AlarmResponseDto.from(alarmMessage));
             }) );
         }
         return emitter;
     }
 
 
+    // 같은 시각에 연결한 클라이언트들이 같은 시각에 만료되어 한꺼번에 재연결하지 않도록 jitter 를 더한다.
+    private long emitterTimeout() {
+        AlarmProperties.Sse sse = alarmProperties.getSse();
+        long jitter = sse.getTimeoutJitterMs() > 0 ? ThreadLocalRandom.current().nextLong(sse.getTimeoutJitterMs()) : 0L;
+        return sse.getTimeoutMs() + jitter;
+    }
+
     private String makeTimeIncludeId(Long userId) {
 
         return userId + "_" + System.currentTimeMillis();
     }
 
-    private void sendAlarmMessage(SseEmitter emitter, AlarmEventType alarmEventType, String emitterId, Object data) {
-//        try {
-//            emitter.send(
-//                    SseEmitter.event()
-//                    .id(emitterId)
-//                    .name(alarmEventType.name())
-//                    .data(data, MediaType.APPLICATION_JSON));
-//        } catch (IOException exception) {
-//            emitterRepository.deleteById(emitterId);
-//        }
-
+    // 숫자가 아닌 id (이전 형식의 emitterId 등) 는 재전송 대상이 없는 것으로 본다.
+    private Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isEmpty()) return null;
         try {
-            log.debug("SSE 메시지 전송 시도: emitterId={}, type={}", emitterId, alarmEventType);
-            emitter.send(
-                    SseEmitter.event()
-                            .id(emitterId)
-                            .name(alarmEventType.name())
-                            .data(data, MediaType.APPLICATION_JSON));
-            log.debug("SSE 메시지 전송 성공: emitterId={}", emitterId);
-        } catch (IOException exception) {
-            log.error("SSE 메시지 전송 실패: emitterId={}", emitterId, exception);
-            emitterRepository.deleteById(emitterId);
+            return Long.valueOf(lastEventId);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
-
-
-    private boolean hasLostData(String lastEventId) {
-
-        return !lastEventId.isEmpty();
-    }
-    private void sendLostData(String lastEventId,Long userId, SseEmitter emitter) {
-        Map<String, Object> eventCaches = emitterRepository.findAllEventCacheStartWithByUserId(String.valueOf(userId));
-        eventCaches.entrySet().stream()
-                .filter(entry -> lastEventId.compareTo(entry.getKey()) < 0 )
-                .forEach(entry -> sendAlarmMessage(emitter,AlarmEventType.ALARM, entry.getKey(), entry.getValue()));
+    private void sendLostData(Long lastEventId, Long userId, String emitterId, SseEmitter emitter) {
+        eventCacheRepository.findAllAfterEventId(userId, lastEventId)
+                .forEach(cachedEvent -> alarmEmitterService.sendAlarmMessage(userId, emitterId, emitter, AlarmEventType.ALARM, String.valueOf(cachedEvent.eventId()), cachedEvent.data()));
     }
 
     @Transactional
@@ -145,28 +170,23 @@ public class AlarmService {
         String message = alarmSendEvent.getMessage();
         String title = alarmSendEvent.getTitle();
         String url = alarmSendEvent.getUrl();
+        // 수신을 끈 알람은 저장/전송 모두 하지 않는다.
+        if (!alarmPreferenceService.isAllowed(listener.getId(), alarmSendEvent.getAlarmType())) {
+            log.debug("수신 설정으로 알람 생략 userId={}, type={}", listener.getId(), alarmSendEvent.getAlarmType());
+            return;
+        }
         log.info("message {}", message);
         log.info("url {}", url);
         Alarm alarmMessage = createAlarmMessage(listener,title, message, url);
         Alarm sanedAlarmMessage = alarmRepository.save(alarmMessage);
         log.info("message: {}", sanedAlarmMessage.toString());
-        String listenerId = String.valueOf(listener.getId());
-        Map<String, SseEmitter> emitters = emitterRepository.findAllEmitterStartWithByUserId(listenerId);
-        emitters.forEach(
-                (key, emitter) -> {
-                    emitterRepository.saveEventCache(key, sanedAlarmMessage);
-                    sendAlarmMessage(emitter,AlarmEventType.ALARM, key, AlarmResponseDto.from(sanedAlarmMessage)  );
-                }
-        );
-    }
-    @Transactional
-    public void saveAllAlarmMessages(List<User> users,String title, String message, String url){
-        ArrayList<Alarm> alarms = new ArrayList<>();
-        users.forEach( listener -> {
-            Alarm alarm = createAlarmMessage(listener, title, message, url);
-            alarms.add(alarm);
+        // 롤백된 알람이 푸시되거나 카운트되지 않도록 커밋 후에 반영한다.
+        Long listenerId = listener.getId();
+        AlarmDeliveryDto delivery = AlarmDeliveryDto.of(listenerId, AlarmResponseDto.from(sanedAlarmMessage));
+        TransactionUt.afterCommit(() -> {
+            alarmUnreadCountService.increment(listenerId);
+            alarmDispatcher.dispatch(delivery);
         });
-        alarmRepository.saveAll(alarms);
     }
 
 
@@ -180,17 +200,21 @@ public class AlarmService {
                 .createdDate(LocalDateTime.now())
                 .build();
     }
+    @Transactional
     public void deleteAlarm(Long alarmId){
-        alarmRepository.deleteById(alarmId);
+        alarmRepository.findById(alarmId).ifPresent( alarm -> {
+            alarmRepository.delete(alarm);
+            Long listenerId = alarm.getListener().getId();
+            if (!Boolean.TRUE.equals(alarm.getIsRead())) TransactionUt.afterCommit(() -> alarmUnreadCountService.decrement(listenerId));
+        });
     }
 
-    @Transactional
-    public void saveCurriculumRegisterMessage(Long lectureId) {
-        List<User> users = lectureUserRepository.findUsersByLectureId(lectureId);
+    // 수강생 조회/저장/전송은 커밋 후 AlarmBroadcastService 에서 chunk 단위로 처리한다.
+    public void saveCurriculumRegisterMessage(Long lectureId, String lectureTitle) {
         String AlarmTitle = AlarmType.TRAINER_REPLY.formatTitle();
         String AlarmMessage = AlarmType.TRAINER_REPLY.formatMessage(rq.getActor().getNickname(),"강의 등록");
         String url = "/user/dashboard/my-lecture";
-        saveAllAlarmMessages(users,AlarmTitle,AlarmMessage, url);
+        applicationEventPublisher.publishEvent(AlarmBroadcastEvent.from(lectureId, AlarmTitle, AlarmMessage, url, AlarmType.TRAINER_REPLY, lectureTitle));
     }
 
 }
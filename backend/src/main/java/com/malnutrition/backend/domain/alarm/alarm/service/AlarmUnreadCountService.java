@@ -0,0 +1,126 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository.AlarmRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 안 읽은 알람 수 카운터 (헤더 뱃지용)
+ * - 키가 없을 때만 DB 에서 count 해서 채우고, 이후에는 Redis 값만 읽는다. (뱃지 조회는 DB 쿼리 없음)
+ * - 알람 저장이 커밋되면 +1, 읽음/삭제가 커밋되면 -1, 전체 읽음이면 0 으로 맞춘다. 키가 없으면 건드리지 않는다.
+ * - 모든 증감은 세대(generation) 값도 함께 올린다. 채울 때는 count 전에 읽은 세대가 그대로일 때만 쓰므로,
+ *   count 도중에 커밋된 변경이 반영되지 않은 값은 캐시하지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlarmUnreadCountService {
+    private static final String KEY_PREFIX = "alarm:unread:";
+    private static final String GENERATION_KEY_PREFIX = "alarm:unread:gen:";
+    private static final Duration EXPIRE_DURATION = Duration.ofDays(7);
+
+    // KEYS[1] = 카운터, KEYS[2] = 세대. ARGV[1] = count 값, ARGV[2] = count 전에 읽은 세대, ARGV[3] = ttl(ms)
+    // 그 사이 다른 요청이 이미 채웠으면 그 값을, 세대가 바뀌었으면 nil 을 돌려준다.
+    private static final RedisScript<Long> SEED_IF_UNCHANGED = new DefaultRedisScript<>(
+            "local cached = redis.call('GET', KEYS[1]) " +
+            "if cached then return tonumber(cached) end " +
+            "local generation = redis.call('GET', KEYS[2]) or '0' " +
+            "if generation ~= ARGV[2] then return nil end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) " +
+            "return tonumber(ARGV[1])",
+            Long.class);
+
+    // ARGV[1] = ttl(ms), ARGV[2] = 증감값, ARGV[3..] = userId. 사용자 수와 관계없이 한 번의 호출로 처리한다.
+    // 음수가 되면 어딘가 어긋난 것이므로 지우고 다음 조회에서 다시 센다.
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>(
+            "for i = 3, #ARGV do " +
+            "  local key = '" + KEY_PREFIX + "' .. ARGV[i] " +
+            "  local generationKey = '" + GENERATION_KEY_PREFIX + "' .. ARGV[i] " +
+            "  redis.call('INCR', generationKey) " +
+            "  redis.call('PEXPIRE', generationKey, ARGV[1]) " +
+            "  if redis.call('EXISTS', key) == 1 then " +
+            "    if redis.call('INCRBY', key, ARGV[2]) < 0 then redis.call('DEL', key) " +
+            "    else redis.call('PEXPIRE', key, ARGV[1]) end " +
+            "  end " +
+            "end " +
+            "return #ARGV - 2",
+            Long.class);
+
+    // KEYS[1] = 카운터, KEYS[2] = 세대. ARGV[1] = 전체 읽음 UPDATE 전에 읽은 세대, ARGV[2] = ttl(ms)
+    // 그 사이 다른 증감이 있었으면 0 이 맞다고 볼 수 없으므로 지우고 다음 조회에서 다시 센다.
+    private static final RedisScript<Long> RESET_IF_UNCHANGED = new DefaultRedisScript<>(
+            "local generation = redis.call('GET', KEYS[2]) or '0' " +
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[2]) " +
+            "if generation ~= ARGV[1] then redis.call('DEL', KEYS[1]) return 0 end " +
+            "redis.call('SET', KEYS[1], '0', 'PX', ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AlarmRepository alarmRepository;
+
+    private String getKey(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private String getGenerationKey(Long userId) {
+        return GENERATION_KEY_PREFIX + userId;
+    }
+
+    public long getUnreadCount(Long userId) {
+        String key = getKey(userId);
+        String cached = redisTemplate.opsForValue().get(key);
+        if (cached != null) return Long.parseLong(cached);
+
+        String generationKey = getGenerationKey(userId);
+        String generation = getGeneration(userId);
+        long count = alarmRepository.countByListener_IdAndIsReadFalse(userId);
+        Long seeded = redisTemplate.execute(SEED_IF_UNCHANGED, List.of(key, generationKey),
+                String.valueOf(count), generation, String.valueOf(EXPIRE_DURATION.toMillis()));
+        return seeded == null ? count : seeded;
+    }
+
+    // 전체 읽음 처리 전에 읽어 두고 reset 에 넘긴다.
+    public String getGeneration(Long userId) {
+        String generation = redisTemplate.opsForValue().get(getGenerationKey(userId));
+        return generation == null ? "0" : generation;
+    }
+
+    // 이하 모두 알람 저장/읽음/삭제가 커밋된 뒤에 부른다.
+    public void increment(Long userId) {
+        incrementAll(List.of(userId));
+    }
+
+    public void incrementAll(Collection<Long> userIds) {
+        adjust(userIds, 1);
+    }
+
+    public void decrement(Long userId) {
+        adjust(List.of(userId), -1);
+    }
+
+    public void reset(Long userId, String generationBefore) {
+        redisTemplate.execute(RESET_IF_UNCHANGED, List.of(getKey(userId), getGenerationKey(userId)),
+                generationBefore, String.valueOf(EXPIRE_DURATION.toMillis()));
+    }
+
+    private void adjust(Collection<Long> userIds, long delta) {
+        if (userIds.isEmpty()) return;
+        Object[] args = new Object[userIds.size() + 2];
+        args[0] = String.valueOf(EXPIRE_DURATION.toMillis());
+        args[1] = String.valueOf(delta);
+        int i = 2;
+        for (Long userId : userIds) {
+            args[i++] = String.valueOf(userId);
+        }
+        // 스크립트는 EVALSHA 로 보내고 없을 때만 본문을 보낸다. (RedisTemplate.execute(RedisScript) 기본 동작)
+        redisTemplate.execute(ADJUST, List.of(), args);
+    }
+}
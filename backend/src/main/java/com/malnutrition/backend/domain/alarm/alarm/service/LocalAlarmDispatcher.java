@@ -0,0 +1,25 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 단일 노드 환경용 (custom.alarm.cluster.enabled=false)
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.alarm.cluster.enabled", havingValue = "false")
+public class LocalAlarmDispatcher implements AlarmDispatcher {
+    private final AlarmEmitterService alarmEmitterService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public void dispatch(List<AlarmDeliveryDto> deliveries) {
+        deliveries.forEach(delivery -> alarmEmitterService.deliverLocal(
+                delivery.toBuilder().eventId(sequence.incrementAndGet()).build()
+        ));
+    }
+}
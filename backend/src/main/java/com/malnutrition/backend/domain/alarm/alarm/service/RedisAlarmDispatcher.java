@@ -0,0 +1,57 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여러 노드 환경용 알람 전달.
+ * 이벤트 id 는 Redis INCRBY 로 클러스터 전체에서 단조 증가하게 발급하고,
+ * 수신자 여러 명을 publishBatchSize 단위로 묶어 한 번의 PUBLISH 로 보낸다.
+ * 발행한 노드 자신도 구독자로서 메시지를 받으므로 여기서 직접 로컬 전송은 하지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "custom.alarm.cluster.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisAlarmDispatcher implements AlarmDispatcher {
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AlarmProperties alarmProperties;
+
+    @Override
+    public void dispatch(List<AlarmDeliveryDto> deliveries) {
+        if (deliveries.isEmpty()) return;
+        AlarmProperties.Cluster cluster = alarmProperties.getCluster();
+
+        Long lastId = redisTemplate.opsForValue().increment(cluster.getEventIdKey(), deliveries.size());
+        long firstId = lastId - deliveries.size() + 1;
+
+        int batchSize = Math.max(1, cluster.getPublishBatchSize());
+        for (int from = 0; from < deliveries.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, deliveries.size());
+            List<AlarmDeliveryDto> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(deliveries.get(i).toBuilder().eventId(firstId + i).build());
+            }
+            publish(cluster.getChannel(), batch);
+        }
+    }
+
+    private void publish(String channel, List<AlarmDeliveryDto> batch) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(batch));
+        } catch (JsonProcessingException e) {
+            log.error("알람 배치 직렬화 실패: size={}", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.controller;
+
+import com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmSettingResponseDto;
+import com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmSettingUpdateRequestDto;
+import com.malnutrition.backend.domain.alarm.alarmsetting.service.AlarmSettingService;
+import com.malnutrition.backend.domain.user.user.entity.User;
+import com.malnutrition.backend.global.rp.ApiResponse;
+import com.malnutrition.backend.global.rq.Rq;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/alarm/settings")
+public class AlarmSettingController {
+    private final AlarmSettingService alarmSettingService;
+    private final Rq rq;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<AlarmSettingResponseDto>> getSettings() {
+        User actor = rq.getActor();
+        AlarmSettingResponseDto settings = alarmSettingService.getSettings(actor.getId());
+        return ResponseEntity.ok(ApiResponse.success(settings, "알람 설정 조회 성공"));
+    }
+
+    @PutMapping
+    public ResponseEntity<ApiResponse<AlarmSettingResponseDto>> updateSettings(@Valid @RequestBody AlarmSettingUpdateRequestDto requestDto) {
+        User actor = rq.getActor();
+        AlarmSettingResponseDto settings = alarmSettingService.updateSettings(actor, requestDto);
+        return ResponseEntity.ok(ApiResponse.success(settings, "알람 설정 변경 성공"));
+    }
+}
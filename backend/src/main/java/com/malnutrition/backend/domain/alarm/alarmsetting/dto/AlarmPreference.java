@@ -0,0 +1,19 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.dto;
+
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmChannel;
+
+// 알람 발송 전 확인하는 수신 설정 (캐시 값). 엔티티 대신 이 record 만 캐시에 올린다.
+public record AlarmPreference(Long userId, boolean marketingAlarm, boolean systemAlarm, boolean orderAlarm) {
+
+    public static AlarmPreference defaultOf(Long userId) {
+        return new AlarmPreference(userId, true, true, true);
+    }
+
+    public boolean allows(AlarmChannel channel) {
+        return switch (channel) {
+            case SYSTEM -> systemAlarm;
+            case ORDER -> orderAlarm;
+            case MARKETING -> marketingAlarm;
+        };
+    }
+}
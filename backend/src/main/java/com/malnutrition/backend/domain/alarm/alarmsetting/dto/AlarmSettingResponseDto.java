@@ -0,0 +1,24 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlarmSettingResponseDto {
+    private boolean marketingAlarm;
+    private boolean systemAlarm;
+    private boolean orderAlarm;
+
+    public static AlarmSettingResponseDto from(AlarmPreference preference) {
+        return AlarmSettingResponseDto.builder()
+                .marketingAlarm(preference.marketingAlarm())
+                .systemAlarm(preference.systemAlarm())
+                .orderAlarm(preference.orderAlarm())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class AlarmSettingUpdateRequestDto {
+    @NotNull(message = "마케팅 알람 수신 여부는 필수입니다.")
+    private Boolean marketingAlarm;
+    @NotNull(message = "시스템 알람 수신 여부는 필수입니다.")
+    private Boolean systemAlarm;
+    @NotNull(message = "주문 알람 수신 여부는 필수입니다.")
+    private Boolean orderAlarm;
+}
@@ -2,23 +2,38 @@ package com.malnutrition.backend.domain.alarm.alarmsetting.entity;
 
 import com.malnutrition.backend.domain.user.user.entity.User;
 import com.malnutrition.backend.global.jpa.BaseEntity;
-import jakarta.persistence.Entity;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.*;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 @Entity
 @SuperBuilder
 @NoArgsConstructor
+@Getter
 public class AlarmSetting extends BaseEntity {
 
-    @OneToOne
-    @JoinColumn(name = "user_id")
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", unique = true)
     private User listener;
 
     private boolean marketingAlarm;
     private boolean systemAlarm;
     private boolean orderAlarm;
-}
\ No newline at end of file
+
+    // 설정 행이 없는 사용자는 모든 알람을 받는 것으로 본다.
+    public static AlarmSetting createDefault(User listener) {
+        return AlarmSetting.builder()
+                .listener(listener)
+                .marketingAlarm(true)
+                .systemAlarm(true)
+                .orderAlarm(true)
+                .build();
+    }
+
+    public void update(boolean marketingAlarm, boolean systemAlarm, boolean orderAlarm) {
+        this.marketingAlarm = marketingAlarm;
+        this.systemAlarm = systemAlarm;
+        this.orderAlarm = orderAlarm;
+    }
+}
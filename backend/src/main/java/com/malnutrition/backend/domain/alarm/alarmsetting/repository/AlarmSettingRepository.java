@@ -0,0 +1,22 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.repository;
+
+import com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmPreference;
+import com.malnutrition.backend.domain.alarm.alarmsetting.entity.AlarmSetting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AlarmSettingRepository extends JpaRepository<AlarmSetting, Long> {
+
+    Optional<AlarmSetting> findByListener_Id(Long listenerId);
+
+    // 대량 알람용. 엔티티/User 를 올리지 않고 필요한 컬럼만 IN 한 번으로 가져온다.
+    @Query("SELECT new com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmPreference(" +
+            "s.listener.id, s.marketingAlarm, s.systemAlarm, s.orderAlarm) " +
+            "FROM AlarmSetting s WHERE s.listener.id IN :listenerIds")
+    List<AlarmPreference> findPreferencesByListenerIds(@Param("listenerIds") Collection<Long> listenerIds);
+}
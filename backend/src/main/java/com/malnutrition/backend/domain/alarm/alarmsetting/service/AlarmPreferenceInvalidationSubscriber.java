@@ -0,0 +1,30 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+// 다른 노드에서 알람 설정이 바뀌면 이 노드의 설정 캐시를 비운다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "custom.alarm.cluster.enabled", havingValue = "true", matchIfMissing = true)
+public class AlarmPreferenceInvalidationSubscriber implements MessageListener {
+
+    private final AlarmPreferenceService alarmPreferenceService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            alarmPreferenceService.evictLocal(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 알람 설정 무효화 메시지: {}", body);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmChannel;
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
+import com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmPreference;
+import com.malnutrition.backend.domain.alarm.alarmsetting.repository.AlarmSettingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 알람 발송 전 수신 설정 확인.
+ * 노드마다 Caffeine 캐시(L1)를 두고, 설정이 바뀌면 Redis pub/sub 으로 모든 노드의 해당 사용자 캐시를 비운다.
+ * 캐시가 비어 있어도 대량 알람은 chunk 당 IN 쿼리 한 번으로 채운다.
+ */
+@Slf4j
+@Service
+public class AlarmPreferenceService {
+
+    private final AlarmSettingRepository alarmSettingRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final AlarmProperties alarmProperties;
+    private final Cache<Long, AlarmPreference> cache;
+    private final MeterRegistry meterRegistry;
+
+    public AlarmPreferenceService(AlarmSettingRepository alarmSettingRepository,
+                                  StringRedisTemplate redisTemplate,
+                                  AlarmProperties alarmProperties,
+                                  MeterRegistry meterRegistry) {
+        this.alarmSettingRepository = alarmSettingRepository;
+        this.redisTemplate = redisTemplate;
+        this.alarmProperties = alarmProperties;
+        this.meterRegistry = meterRegistry;
+        AlarmProperties.Preference preference = alarmProperties.getPreference();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(preference.getCacheMaxSize())
+                .expireAfterWrite(preference.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "alarm.preference");
+    }
+
+    public AlarmPreference getPreference(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    // alarmType 이 없으면 (분류되지 않은 알람) 설정과 관계없이 보낸다.
+    public boolean isAllowed(Long userId, AlarmType alarmType) {
+        if (alarmType == null) return true;
+        boolean allowed = getPreference(userId).allows(alarmType.getChannel());
+        if (!allowed) recordSuppressed(alarmType.getChannel(), 1);
+        return allowed;
+    }
+
+    /**
+     * 대량 알람용. 순서를 유지한 채 수신을 허용한 사용자만 돌려준다.
+     */
+    public List<Long> filterAllowed(List<Long> userIds, AlarmType alarmType) {
+        if (alarmType == null || userIds.isEmpty()) return userIds;
+        AlarmChannel channel = alarmType.getChannel();
+        Map<Long, AlarmPreference> preferences = cache.getAll(userIds, this::loadAll);
+        List<Long> allowed = userIds.stream()
+                .filter(userId -> preferences.getOrDefault(userId, AlarmPreference.defaultOf(userId)).allows(channel))
+                .toList();
+        recordSuppressed(channel, userIds.size() - allowed.size());
+        return allowed;
+    }
+
+    // 설정 변경 커밋 후 호출. 이 노드는 바로 비우고, 다른 노드에는 Redis 로 알린다.
+    public void invalidate(Long userId) {
+        evictLocal(userId);
+        if (!alarmProperties.getCluster().isEnabled()) return;
+        try {
+            redisTemplate.convertAndSend(alarmProperties.getPreference().getInvalidationChannel(), String.valueOf(userId));
+        } catch (Exception e) {
+            // 전파에 실패해도 다른 노드는 cacheTtl 이 지나면 새 설정을 읽는다.
+            log.warn("알람 설정 캐시 무효화 전파 실패 userId={}", userId, e);
+        }
+    }
+
+    public void evictLocal(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private AlarmPreference load(Long userId) {
+        return alarmSettingRepository.findPreferencesByListenerIds(List.of(userId)).stream()
+                .findFirst()
+                .orElseGet(() -> AlarmPreference.defaultOf(userId));
+    }
+
+    private Map<Long, AlarmPreference> loadAll(Set<? extends Long> userIds) {
+        Map<Long, AlarmPreference> loaded = alarmSettingRepository.findPreferencesByListenerIds(new ArrayList<>(userIds)).stream()
+                .collect(Collectors.toMap(AlarmPreference::userId, Function.identity()));
+        Map<Long, AlarmPreference> result = new HashMap<>(userIds.size());
+        for (Long userId : userIds) {
+            result.put(userId, loaded.getOrDefault(userId, AlarmPreference.defaultOf(userId)));
+        }
+        return result;
+    }
+
+    private void recordSuppressed(AlarmChannel channel, int count) {
+        if (count <= 0) return;
+        Counter.builder("alarm.suppressed")
+                .description("수신 설정으로 저장/전송하지 않은 알람 수")
+                .tag("channel", channel.name())
+                .register(meterRegistry)
+                .increment(count);
+    }
+}
@@ -0,0 +1,39 @@
+package com.malnutrition.backend.domain.alarm.alarmsetting.service;
+
+import com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmSettingResponseDto;
+import com.malnutrition.backend.domain.alarm.alarmsetting.dto.AlarmSettingUpdateRequestDto;
+import com.malnutrition.backend.domain.alarm.alarmsetting.entity.AlarmSetting;
+import com.malnutrition.backend.domain.alarm.alarmsetting.repository.AlarmSettingRepository;
+import com.malnutrition.backend.domain.user.user.entity.User;
+import com.malnutrition.backend.global.ut.TransactionUt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class AlarmSettingService {
+    private final AlarmSettingRepository alarmSettingRepository;
+    private final AlarmPreferenceService alarmPreferenceService;
+
+    public AlarmSettingResponseDto getSettings(Long userId) {
+        return AlarmSettingResponseDto.from(alarmPreferenceService.getPreference(userId));
+    }
+
+    @Transactional
+    public AlarmSettingResponseDto updateSettings(User user, AlarmSettingUpdateRequestDto requestDto) {
+        AlarmSetting alarmSetting = alarmSettingRepository.findByListener_Id(user.getId())
+                .orElseGet(() -> alarmSettingRepository.save(AlarmSetting.createDefault(user)));
+        alarmSetting.update(requestDto.getMarketingAlarm(), requestDto.getSystemAlarm(), requestDto.getOrderAlarm());
+
+        // 커밋 전에 캐시를 비우면 다른 요청이 이전 값을 다시 채울 수 있어 커밋 후에 비운다.
+        Long userId = user.getId();
+        TransactionUt.afterCommit(() -> alarmPreferenceService.invalidate(userId));
+
+        return AlarmSettingResponseDto.builder()
+                .marketingAlarm(alarmSetting.isMarketingAlarm())
+                .systemAlarm(alarmSetting.isSystemAlarm())
+                .orderAlarm(alarmSetting.isOrderAlarm())
+                .build();
+    }
+}
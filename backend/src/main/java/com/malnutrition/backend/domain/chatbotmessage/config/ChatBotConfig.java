@@ -1,14 +1,38 @@
 package com.malnutrition.backend.domain.chatbotmessage.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
 
 @Configuration
 
 public class ChatBotConfig {
+    // 챗봇 upstream 호출용. 타임아웃이 없으면 응답이 늦을 때 bulkhead 자리를 무한정 잡고 있게 된다.
+    @Bean
+    public RestTemplate restTemplate(ChatBotProperties chatBotProperties){
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(chatBotProperties.getConnectTimeoutMs());
+        requestFactory.setReadTimeout(chatBotProperties.getReadTimeoutMs());
+        return new RestTemplate(requestFactory);
+    }
+
+    // 스트리밍 챗봇 전용. 연결 시간과 소켓 read 간격만 여기서 제한하고, 첫 토큰/토큰 간격/전체 시간은 ChatBotStreamService 에서 제한한다.
     @Bean
-    public RestTemplate restTemplate(){
-        return new RestTemplate();
+    public WebClient chatBotWebClient(ChatBotProperties chatBotProperties) {
+        long readTimeoutMs = Math.max(chatBotProperties.getFirstTokenTimeoutMs(), chatBotProperties.getIdleTimeoutMs());
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, chatBotProperties.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Authorization", "Bearer " + chatBotProperties.getApiKey())
+                .build();
     }
 }
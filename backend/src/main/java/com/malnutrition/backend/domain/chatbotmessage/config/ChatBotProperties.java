@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Set;
+
 @Getter
 @Setter
 @Component
@@ -21,4 +24,101 @@ public class ChatBotProperties {
     private String userMessage = "운동 루틴을 추천받고 싶어. 나이, 성별, 운동 목표를 기반으로 맞춤형 조언을 해줘. 루틴은 부위별로 구분하고, 각 운동에 대해 횟수와 세트 수를 알려줘. 너무 전문적이기보다는 쉽게 설명해줘.";
 
     private final String gptModel = "gpt-4.1-nano";
+
+    private int maxTokens = 1500;
+
+    // 스트리밍 응답은 토큰을 그대로 화면에 붙이므로 JSON 대신 일반 텍스트로 받는다.
+    private String streamSystemMessage = "당신은 개인 맞춤형 운동 상담을 제공하는 AI 트레이너입니다. 사용자의 나이, 성별, 목표(예: 근육 증가, 체중 감량, 체력 향상 등)에 따라 적절한 운동 루틴, 부위별 추천 운동, 주의사항 등을 한국어로 제공해야 합니다. 답변은 친절하고 명확해야 하며, 필요 시 운동 횟수, 세트 수, 주당 빈도도 제시해주세요. 응답은 JSON 이나 코드 블록 없이 일반 텍스트로 해주세요.";
+
+    // 스트리밍 호출 시간 예산
+    @Value("${custom.chatbot.stream.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${custom.chatbot.stream.first-token-timeout-ms:15000}")
+    private long firstTokenTimeoutMs;   // 요청 후 첫 토큰까지
+
+    @Value("${custom.chatbot.stream.idle-timeout-ms:15000}")
+    private long idleTimeoutMs;         // 토큰 사이 최대 간격
+
+    @Value("${custom.chatbot.stream.total-timeout-ms:120000}")
+    private long totalTimeoutMs;        // 전체 생성 시간 상한. 넘으면 받은 데까지만 저장한다.
+
+    // 응답 캐시 (정규화한 질문 기준)
+    @Value("${custom.chatbot.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${custom.chatbot.cache.ttl:24h}")
+    private Duration cacheTtl;
+
+    @Value("${custom.chatbot.cache.key-prefix:chatbot:answer:}")
+    private String cacheKeyPrefix;
+
+    @Value("${custom.chatbot.cache.stop-words:}")
+    private Set<String> cacheStopWords;
+
+    // 대화 문맥 (최근 대화를 프롬프트에 포함)
+    @Value("${custom.chatbot.context.max-exchanges:5}")
+    private int contextMaxExchanges;    // 최근 몇 턴(질문+답변)까지 포함할지
+
+    @Value("${custom.chatbot.context.token-budget:2000}")
+    private int contextTokenBudget;     // 이전 대화에 쓸 수 있는 토큰 상한 (시스템 프롬프트/이번 질문 제외)
+
+    @Value("${custom.chatbot.context.message-max-tokens:400}")
+    private int contextMessageMaxTokens; // 이전 메시지 하나가 차지할 수 있는 토큰 상한. 넘으면 앞부분만 쓴다.
+
+    @Value("${custom.chatbot.context.ttl:1h}")
+    private Duration contextTtl;         // Redis 에 캐시한 최근 대화 유지 시간
+
+    // upstream 보호 (bulkhead / 사용자별 요청 제한 / circuit breaker)
+    @Value("${custom.chatbot.limit.read-timeout-ms:30000}")
+    private int readTimeoutMs;          // 일반(비스트리밍) 요청 응답 대기 상한
+
+    @Value("${custom.chatbot.limit.max-concurrent:16}")
+    private int maxConcurrent;          // 노드당 동시에 진행할 수 있는 upstream 호출 수
+
+    @Value("${custom.chatbot.limit.acquire-timeout-ms:200}")
+    private long acquireTimeoutMs;      // 자리가 없을 때 기다리는 시간. 넘으면 503
+
+    @Value("${custom.chatbot.limit.rate.capacity:5}")
+    private int rateCapacity;           // 사용자별 토큰 버킷 크기 (연속으로 보낼 수 있는 질문 수)
+
+    @Value("${custom.chatbot.limit.rate.refill-per-minute:10}")
+    private int rateRefillPerMinute;
+
+    @Value("${custom.chatbot.limit.circuit.window-size:20}")
+    private int circuitWindowSize;      // 최근 몇 건의 호출 결과로 판단할지
+
+    @Value("${custom.chatbot.limit.circuit.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${custom.chatbot.limit.circuit.failure-rate-threshold:50}")
+    private int circuitFailureRateThreshold;    // %
+
+    @Value("${custom.chatbot.limit.circuit.slow-call-ms:20000}")
+    private long circuitSlowCallMs;
+
+    @Value("${custom.chatbot.limit.circuit.slow-call-rate-threshold:80}")
+    private int circuitSlowCallRateThreshold;   // %
+
+    @Value("${custom.chatbot.limit.circuit.open-duration:30s}")
+    private Duration circuitOpenDuration;
+
+    @Value("${custom.chatbot.limit.circuit.half-open-calls:3}")
+    private int circuitHalfOpenCalls;   // 열린 뒤 시험 삼아 보내 볼 호출 수
+
+    // 비동기 작업 모드 (접수 후 작업 id 만 돌려주고 워커가 처리)
+    @Value("${custom.chatbot.job.workers:4}")
+    private int jobWorkers;             // 노드당 워커 스레드 수 = 비동기 작업의 upstream 동시 호출 상한
+
+    @Value("${custom.chatbot.job.max-queued:1000}")
+    private long jobMaxQueued;          // 대기 작업이 이보다 많으면 접수하지 않는다 (503)
+
+    @Value("${custom.chatbot.job.ttl:1h}")
+    private Duration jobTtl;            // 작업 상태/결과 보관 시간
+
+    @Value("${custom.chatbot.job.max-attempts:3}")
+    private int jobMaxAttempts;         // upstream 이 막혀 거절된 작업을 다시 넣는 횟수
+
+    @Value("${custom.chatbot.job.stale-after:5m}")
+    private Duration jobStaleAfter;     // 처리 중인 채로 이 시간이 지나면 (노드 종료 등) 다시 넣는다
 }
@@ -1,19 +1,23 @@
 package com.malnutrition.backend.domain.chatbotmessage.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.malnutrition.backend.domain.chatbotmessage.dto.*;
 import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotSenderType;
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
+import com.malnutrition.backend.domain.chatbotmessage.service.ChatBotJobService;
 import com.malnutrition.backend.domain.chatbotmessage.service.ChatBotService;
+import com.malnutrition.backend.domain.chatbotmessage.service.ChatBotStreamService;
 import com.malnutrition.backend.global.rp.ApiResponse;
+import com.malnutrition.backend.global.rq.Rq;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/v1/chatBotMessages")
@@ -22,33 +26,62 @@ import java.util.Objects;
 public class ChatBotController {
 
     private final ChatBotService chatBotService;
+    private final ChatBotStreamService chatBotStreamService;
+    private final ChatBotJobService chatBotJobService;
+    private final Rq rq;
 
-    private static final int MAX_RETRIES = 3; // 최대 재요청 횟수
-    //chat bot 요청
+    private static final String CACHE_HEADER = "X-Cache";
+
+    //chat bot 요청. 최근 대화를 문맥으로 붙이고, 첫 질문은 같은 질문(정규화 기준)의 캐시된 답을 돌려주고 X-Cache 헤더로 적중 여부를 알린다.
     @PostMapping("/bot")
     public ResponseEntity<ApiResponse<?>> getChatCompletionContent(@RequestBody ChatBotMessageDto chatBotMessageDto){
-        int retries = 0;
-        ChatContent chatContent = null;
-        while(Objects.isNull(chatContent) && retries < MAX_RETRIES){
-            try {
-                ChatCompletionResponseDto chatCompletion = chatBotService.getChatCompletion(chatBotMessageDto.getMessage());
-                chatContent = chatBotService.getChatContent (chatCompletion);
-            }catch (JsonProcessingException e){
-                log.error("JSON 처리 중 오류 발생: {}", e.getMessage());
-                retries++;
-                continue; // 예외가 발생하면 재시도
-            }
-            retries++;
+        String message = chatBotMessageDto.getMessage();
+        ChatBotAnswerDto answer = chatBotService.answer(rq.getActor().getId(), message);
+        String cacheStatus = answer.cacheHit() ? "HIT" : "MISS";
+        if(answer.message() == null) {
+            String errorMessage = String.format("요청 응답을 위해 %d 시도 했지만 실패했습니다.", ChatBotService.MAX_RETRIES);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .header(CACHE_HEADER, cacheStatus)
+                    .body(ApiResponse.fail(errorMessage));
         }
-        log.info("chatContents : {} ", chatContent);
-        if(retries >= MAX_RETRIES || chatContent.getMessage() == null ) {
-            String errorMessage = String.format("요청 응답을 위해 %d 시도 했지만 실패했습니다.", MAX_RETRIES);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.fail(errorMessage));
+        ChatMessageResponseDto chatMessageResponseDto = chatBotService.saveChatMessage(answer.message(), ChatBotSenderType.BOT);
+
+        return ResponseEntity.ok()
+                .header(CACHE_HEADER, cacheStatus)
+                .body(ApiResponse.success(chatMessageResponseDto, "상담 메시지 생성 성공"));
+    }
+    // 스트리밍 챗봇 요청. 토큰은 token 이벤트로, 저장된 전체 응답은 done 이벤트로 받는다.
+    // 거절(429/503)은 text/event-stream 으로 JSON 본문을 쓸 수 없어 상태 코드와 Retry-After 헤더만 보낸다.
+    @PostMapping(value = "/bot/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChatCompletion(@RequestBody ChatBotMessageDto chatBotMessageDto){
+        if (chatBotMessageDto.getMessage() == null || chatBotMessageDto.getMessage().isBlank()) {
+            throw new IllegalArgumentException("메시지를 입력해주세요.");
         }
-        ChatMessageResponseDto chatMessageResponseDto = chatBotService.saveChatMessage(chatContent.getMessage(), ChatBotSenderType.BOT);
+        try {
+            return ResponseEntity.ok(chatBotStreamService.stream(rq.getActor().getId(), chatBotMessageDto.getMessage()));
+        } catch (ChatBotRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        }
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(chatMessageResponseDto, "상담 메시지 생성 성공"));
+    // 비동기 챗봇 요청. 작업 id 만 바로 돌려주고, 답은 알람(SSE) 또는 GET /bot/jobs/{jobId} 로 받는다.
+    @PostMapping("/bot/jobs")
+    public ResponseEntity<ApiResponse<ChatBotJobResponseDto>> submitChatBotJob(@RequestBody ChatBotMessageDto chatBotMessageDto){
+        if (chatBotMessageDto.getMessage() == null || chatBotMessageDto.getMessage().isBlank()) {
+            throw new IllegalArgumentException("메시지를 입력해주세요.");
+        }
+        ChatBotJobResponseDto job = chatBotJobService.submit(rq.getActor().getId(), chatBotMessageDto.getMessage());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job, "챗봇 작업 접수 성공"));
+    }
+
+    @GetMapping("/bot/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ChatBotJobResponseDto>> getChatBotJob(@PathVariable String jobId){
+        ChatBotJobResponseDto job = chatBotJobService.getJob(rq.getActor().getId(), jobId);
+        return ResponseEntity.ok(ApiResponse.success(job, "챗봇 작업 조회 성공"));
     }
+
     // user 메시지
     @PostMapping("/user")
     public ResponseEntity<ApiResponse<ChatMessageResponseDto>> sendUserMessage(@RequestBody ChatUserMessageDto chatUserMessageDto){
@@ -56,11 +89,11 @@ public class ChatBotController {
         return ResponseEntity.ok(ApiResponse.success(chatMessageResponseDto, "메시지 저장 성공"));
     }
 
-    //전체 메시지 출력
+    //메시지 출력 (최근 size 개, cursorId 로 이전 메시지 더보기)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ChatMessageResponseDto>>> getAllMessages() {
-        //user id와 관련된 모든 메시지를 가져와라
-        List<ChatMessageResponseDto> allChatMessage = chatBotService.getAllChatMessage();
+    public ResponseEntity<ApiResponse<List<ChatMessageResponseDto>>> getAllMessages(@RequestParam(required = false) Long cursorId,
+                                                                                   @RequestParam(defaultValue = "50") int size) {
+        List<ChatMessageResponseDto> allChatMessage = chatBotService.getChatMessages(cursorId, size);
         return ResponseEntity.ok(ApiResponse.success(allChatMessage, "모든 메시지 조회 성공"));
     }
 
@@ -0,0 +1,5 @@
+package com.malnutrition.backend.domain.chatbotmessage.dto;
+
+// 챗봇 답변과 캐시 적중 여부 (X-Cache 헤더용)
+public record ChatBotAnswerDto(String message, boolean cacheHit) {
+}
@@ -0,0 +1,8 @@
+package com.malnutrition.backend.domain.chatbotmessage.dto;
+
+/**
+ * Redis 에 캐시하는 최근 대화 한 건.
+ * role 은 OpenAI 메시지 role (user / assistant) 이다.
+ */
+public record ChatBotContextMessage(Long id, String role, String content) {
+}
@@ -0,0 +1,5 @@
+package com.malnutrition.backend.domain.chatbotmessage.dto;
+
+// 워커가 처리할 챗봇 작업. attempts 는 이번 실행 전까지 시도한 횟수.
+public record ChatBotJob(String jobId, Long userId, String message, int attempts) {
+}
@@ -0,0 +1,19 @@
+package com.malnutrition.backend.domain.chatbotmessage.dto;
+
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotJobStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ChatBotJobResponseDto {
+    private String jobId;
+    private ChatBotJobStatus status;
+    private ChatMessageResponseDto message;    // DONE 일 때 저장된 챗봇 메시지
+    private boolean cacheHit;
+    private String errorMessage;               // FAILED 일 때
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,33 @@
+package com.malnutrition.backend.domain.chatbotmessage.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+// stream=true 응답의 data 한 줄 (choices[].delta.content 에 토큰 조각이 온다)
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+public class ChatCompletionChunkDto {
+    private String id;
+    private List<Choice> choices;
+
+    @Getter
+    @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @ToString
+    public static class Choice {
+        private int index;
+        private Message delta;
+        private String finish_reason;
+    }
+
+    public String getContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).getDelta() == null) return null;
+        return choices.get(0).getDelta().getContent();
+    }
+}
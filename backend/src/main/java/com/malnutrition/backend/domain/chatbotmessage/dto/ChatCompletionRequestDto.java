@@ -1,5 +1,6 @@
 package com.malnutrition.backend.domain.chatbotmessage.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,9 +12,11 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ChatCompletionRequestDto {
     private String model;
     private float temperature;
     private Integer max_tokens;
     private List<Message> messages;;
+    private Boolean stream;   // true 면 SSE 로 토큰 단위 응답
 }
@@ -11,10 +11,12 @@ import java.time.LocalDateTime;
 @ToString
 public class ChatMessageResponseDto {
 
+    private Long id;
     private String message;
     private ChatBotSenderType sender;
     private LocalDateTime createdAt;
-    public ChatMessageResponseDto(String message, ChatBotSenderType sender, LocalDateTime createdAt) {
+    public ChatMessageResponseDto(Long id, String message, ChatBotSenderType sender, LocalDateTime createdAt) {
+        this.id = id;
         this.message = message;
         this.sender = sender;
         this.createdAt = createdAt;
@@ -13,7 +13,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_bot_messages")
+// 최근 대화 keyset 조회 (user_id = ? AND id < ? ORDER BY id DESC) 용
+@Table(name = "chat_bot_messages", indexes = {
+        @Index(name = "idx_chat_bot_messages_user_id_id", columnList = "user_id, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @NoArgsConstructor
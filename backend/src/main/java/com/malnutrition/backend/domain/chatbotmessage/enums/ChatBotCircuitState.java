@@ -0,0 +1,7 @@
+package com.malnutrition.backend.domain.chatbotmessage.enums;
+
+public enum ChatBotCircuitState {
+    CLOSED,     // 정상 호출
+    OPEN,       // 바로 거절
+    HALF_OPEN   // 일부 호출만 시험 삼아 보낸다
+}
@@ -0,0 +1,8 @@
+package com.malnutrition.backend.domain.chatbotmessage.enums;
+
+public enum ChatBotJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
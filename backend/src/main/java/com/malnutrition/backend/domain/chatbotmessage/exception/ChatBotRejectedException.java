@@ -0,0 +1,21 @@
+package com.malnutrition.backend.domain.chatbotmessage.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * upstream 을 호출하지 않고 바로 거절한 챗봇 요청.
+ * 429: 사용자별 요청 제한 초과, 503: 동시 호출 수 초과 또는 circuit open.
+ * retryAfterSeconds 는 Retry-After 헤더로 내려간다.
+ */
+@Getter
+public class ChatBotRejectedException extends RuntimeException {
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ChatBotRejectedException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+}
@@ -3,6 +3,7 @@ package com.malnutrition.backend.domain.chatbotmessage.repository;
 
 import com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto;
 import com.malnutrition.backend.domain.chatbotmessage.entitiy.ChatBotMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,9 +11,15 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ChatBotMessageRepository  extends JpaRepository<ChatBotMessage, Long> {
-    @Query("SELECT new com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto(m.text, m.sender, m.timestamp) " +
+    /**
+     * cursorId 이전 메시지를 최신순으로 pageable 크기만큼 조회한다. (keyset)
+     * (user_id, id) 인덱스 범위 스캔이라 대화가 길어져도 비용이 일정하다.
+     */
+    @Query("SELECT new com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto(m.id, m.text, m.sender, m.timestamp) " +
             "FROM ChatBotMessage m " +
-            "WHERE m.user.id = :userId " +
-            "ORDER BY m.timestamp ASC")
-    List<ChatMessageResponseDto> findChatMessagesByUserId(@Param("userId") Long userId);
+            "WHERE m.user.id = :userId AND m.id < :cursorId " +
+            "ORDER BY m.id DESC")
+    List<ChatMessageResponseDto> findRecentBefore(@Param("userId") Long userId,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
 }
@@ -0,0 +1,106 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 챗봇 upstream 호출 bulkhead.
+ * 노드당 동시 호출 수를 max-concurrent 로 묶어, 챗봇 요청이 몰려도 나머지 API 가 쓸 servlet 스레드를 남긴다.
+ * 자리를 잡기 전에 circuit breaker 를 확인하고, 호출 결과는 Permit 으로 circuit breaker 에 기록한다.
+ */
+@Component
+public class ChatBotBulkhead {
+    private final Semaphore semaphore;
+    private final ChatBotProperties chatBotProperties;
+    private final ChatBotCircuitBreaker circuitBreaker;
+    private final Counter rejected;
+
+    public ChatBotBulkhead(ChatBotProperties chatBotProperties,
+                           ChatBotCircuitBreaker circuitBreaker,
+                           MeterRegistry meterRegistry) {
+        this.chatBotProperties = chatBotProperties;
+        this.circuitBreaker = circuitBreaker;
+        this.semaphore = new Semaphore(chatBotProperties.getMaxConcurrent());
+        this.rejected = Counter.builder("chatbot.limit.rejected").tag("reason", "bulkhead").register(meterRegistry);
+        Gauge.builder("chatbot.bulkhead.active", semaphore,
+                        s -> chatBotProperties.getMaxConcurrent() - s.availablePermits())
+                .description("진행 중인 챗봇 upstream 호출 수")
+                .register(meterRegistry);
+    }
+
+    // circuit 이 열려 있거나 acquire-timeout-ms 안에 자리가 나지 않으면 503 을 던진다.
+    public Permit acquire() {
+        circuitBreaker.acquirePermission();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(chatBotProperties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            circuitBreaker.onCancel();
+            rejected.increment();
+            throw new ChatBotRejectedException(HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "챗봇 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return new Permit();
+    }
+
+    // 블로킹 호출용. 예외가 나면 실패로 기록한다.
+    public <T> T execute(Supplier<T> call) {
+        Permit permit = acquire();
+        try {
+            T result = call.get();
+            permit.success();
+            return result;
+        } catch (RuntimeException e) {
+            permit.failure();
+            throw e;
+        } finally {
+            permit.release();
+        }
+    }
+
+    /**
+     * 잡은 자리. success / failure / release 중 처음 부른 것만 반영되고 자리도 그때 돌려준다.
+     */
+    public class Permit {
+        private final long acquiredAt = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        public void success() {
+            success(System.nanoTime() - acquiredAt);
+        }
+
+        // 스트리밍은 전체 시간 대신 첫 토큰까지 걸린 시간으로 느린 호출을 판단한다.
+        public void success(long latencyNanos) {
+            if (!done.compareAndSet(false, true)) return;
+            circuitBreaker.onSuccess(latencyNanos);
+            semaphore.release();
+        }
+
+        public void failure() {
+            if (!done.compareAndSet(false, true)) return;
+            circuitBreaker.onFailure();
+            semaphore.release();
+        }
+
+        // 결과 없이 끝남 (클라이언트 취소 등)
+        public void release() {
+            if (!done.compareAndSet(false, true)) return;
+            circuitBreaker.onCancel();
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotCircuitState;
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 챗봇 upstream circuit breaker (노드별).
+ * 최근 window-size 건 중 실패율 또는 느린 호출 비율이 기준을 넘으면 open-duration 동안 바로 503 으로 거절한다.
+ * 그 뒤 half-open-calls 건을 시험 삼아 보내 모두 성공하면 닫고, 하나라도 실패하면 다시 연다.
+ */
+@Slf4j
+@Component
+public class ChatBotCircuitBreaker {
+    private static final int OUTCOME_FAILURE = 1;
+    private static final int OUTCOME_SLOW = 2;
+
+    private final ChatBotProperties chatBotProperties;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    // 최근 호출 결과 ring buffer (비트 플래그). 모든 상태 변경은 this 로 동기화한다.
+    private final int[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private ChatBotCircuitState state = ChatBotCircuitState.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public ChatBotCircuitBreaker(ChatBotProperties chatBotProperties, MeterRegistry meterRegistry) {
+        this.chatBotProperties = chatBotProperties;
+        this.meterRegistry = meterRegistry;
+        this.outcomes = new int[Math.max(1, chatBotProperties.getCircuitWindowSize())];
+        this.rejected = Counter.builder("chatbot.limit.rejected").tag("reason", "circuit").register(meterRegistry);
+        Gauge.builder("chatbot.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(meterRegistry);
+    }
+
+    // 호출 전에 부른다. 열려 있으면 남은 시간을 Retry-After 로 503 을 던진다.
+    public synchronized void acquirePermission() {
+        if (state == ChatBotCircuitState.OPEN) {
+            long remainingMs = remainingOpenMs();
+            if (remainingMs > 0) {
+                rejected.increment();
+                throw new ChatBotRejectedException(HttpStatus.SERVICE_UNAVAILABLE, (remainingMs + 999) / 1000,
+                        "챗봇 서비스가 일시적으로 원활하지 않습니다. 잠시 후 다시 시도해주세요.");
+            }
+            transition(ChatBotCircuitState.HALF_OPEN);
+        }
+        if (state == ChatBotCircuitState.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                rejected.increment();
+                throw new ChatBotRejectedException(HttpStatus.SERVICE_UNAVAILABLE, 1,
+                        "챗봇 서비스가 일시적으로 원활하지 않습니다. 잠시 후 다시 시도해주세요.");
+            }
+            halfOpenPermits--;
+        }
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        boolean slow = TimeUnit.NANOSECONDS.toMillis(latencyNanos) >= chatBotProperties.getCircuitSlowCallMs();
+        if (state == ChatBotCircuitState.HALF_OPEN) {
+            if (slow) {
+                open();
+                return;
+            }
+            if (++halfOpenSuccesses >= chatBotProperties.getCircuitHalfOpenCalls()) transition(ChatBotCircuitState.CLOSED);
+            return;
+        }
+        record(slow ? OUTCOME_SLOW : 0);
+    }
+
+    public synchronized void onFailure() {
+        if (state == ChatBotCircuitState.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(OUTCOME_FAILURE);
+    }
+
+    // 결과 없이 끝난 호출 (클라이언트 취소 등). half-open 시험 자리만 돌려준다.
+    public synchronized void onCancel() {
+        if (state == ChatBotCircuitState.HALF_OPEN) halfOpenPermits++;
+    }
+
+    public synchronized ChatBotCircuitState getState() {
+        return state;
+    }
+
+    private void record(int outcome) {
+        if (state != ChatBotCircuitState.CLOSED) return;    // OPEN 중 늦게 끝난 호출은 무시
+        if (recorded == outcomes.length) {
+            int evicted = outcomes[position];
+            if ((evicted & OUTCOME_FAILURE) != 0) failures--;
+            if ((evicted & OUTCOME_SLOW) != 0) slowCalls--;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = outcome;
+        position = (position + 1) % outcomes.length;
+        if ((outcome & OUTCOME_FAILURE) != 0) failures++;
+        if ((outcome & OUTCOME_SLOW) != 0) slowCalls++;
+
+        if (recorded < chatBotProperties.getCircuitMinimumCalls()) return;
+        if (failures * 100 >= chatBotProperties.getCircuitFailureRateThreshold() * recorded
+                || slowCalls * 100 >= chatBotProperties.getCircuitSlowCallRateThreshold() * recorded) {
+            log.warn("챗봇 circuit open. failures={}, slowCalls={}, calls={}", failures, slowCalls, recorded);
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transition(ChatBotCircuitState.OPEN);
+    }
+
+    private void transition(ChatBotCircuitState next) {
+        if (state == next) return;
+        meterRegistry.counter("chatbot.circuit.transitions", "to", next.name()).increment();
+        state = next;
+        if (next == ChatBotCircuitState.HALF_OPEN) {
+            halfOpenPermits = chatBotProperties.getCircuitHalfOpenCalls();
+            halfOpenSuccesses = 0;
+        }
+        if (next == ChatBotCircuitState.CLOSED) {
+            // 닫힐 때 이전 기록을 비운다. (열리게 만든 실패가 다시 바로 열지 않도록)
+            recorded = 0;
+            position = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    private long remainingOpenMs() {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt);
+        return chatBotProperties.getCircuitOpenDuration().toMillis() - elapsedMs;
+    }
+}
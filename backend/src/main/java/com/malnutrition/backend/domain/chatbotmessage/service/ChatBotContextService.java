@@ -0,0 +1,167 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotContextMessage;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.Message;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotSenderType;
+import com.malnutrition.backend.domain.chatbotmessage.repository.ChatBotMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 챗봇 대화 문맥 (최근 K 턴).
+ * - Redis 리스트 chatbot:context:{userId} 에 최근 메시지를 오래된 순으로 두고, 저장할 때마다 뒤에 붙이고 앞을 잘라낸다.
+ * - 키가 없을 때만 (user_id, id) keyset 조회로 최근 메시지를 읽어 채운다. 이후 턴은 DB 조회가 없다.
+ * - 프롬프트에 넣을 때는 최신 메시지부터 토큰 예산 안에 들어가는 만큼만 쓰고 오래된 메시지는 버린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatBotContextService {
+    private static final String KEY_PREFIX = "chatbot:context:";
+
+    // 키가 있을 때만 붙인다. 키가 없을 때 붙이면 최근 대화 중 이 메시지 하나만 남게 된다.
+    private static final RedisScript<Long> APPEND_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('RPUSH', KEYS[1], ARGV[1]) " +
+            "redis.call('LTRIM', KEYS[1], -tonumber(ARGV[2]), -1) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // 그 사이 다른 요청이 채웠으면 덮어쓰지 않는다.
+    private static final RedisScript<Long> FILL_IF_ABSENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('RPUSH', KEYS[1], unpack(ARGV, 2)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatBotMessageRepository chatBotMessageRepository;
+    private final ChatBotProperties chatBotProperties;
+    private final ChatBotTokenEstimator tokenEstimator;
+    private final ObjectMapper objectMapper;
+
+    private String getKey(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    /**
+     * 이번 질문 앞에 붙일 이전 대화. 오래된 순.
+     * 화면에서 /user 로 질문을 먼저 저장하고 /bot 을 부르므로, 마지막 메시지가 이번 질문이면 뺀다.
+     */
+    public List<Message> getContext(Long userId, String currentMessage) {
+        List<ChatBotContextMessage> window = new ArrayList<>(loadWindow(userId));
+        if (!window.isEmpty()) {
+            ChatBotContextMessage last = window.get(window.size() - 1);
+            if ("user".equals(last.role()) && Objects.equals(last.content(), currentMessage)) {
+                window.remove(window.size() - 1);
+            }
+        }
+        return fitToBudget(window);
+    }
+
+    public void append(Long userId, Long messageId, ChatBotSenderType sender, String text) {
+        try {
+            String value = objectMapper.writeValueAsString(new ChatBotContextMessage(messageId, toRole(sender), text));
+            redisTemplate.execute(APPEND_IF_EXISTS, List.of(getKey(userId)), value,
+                    String.valueOf(maxMessages()), String.valueOf(chatBotProperties.getContextTtl().toMillis()));
+        } catch (Exception e) {
+            // 붙이지 못하면 다음 조회가 오래된 문맥을 보지 않도록 지운다.
+            log.warn("챗봇 대화 문맥 갱신 실패 userId={}", userId, e);
+            evict(userId);
+        }
+    }
+
+    public void evict(Long userId) {
+        try {
+            redisTemplate.delete(getKey(userId));
+        } catch (Exception e) {
+            log.warn("챗봇 대화 문맥 삭제 실패 userId={}", userId, e);
+        }
+    }
+
+    private List<ChatBotContextMessage> loadWindow(Long userId) {
+        String key = getKey(userId);
+        try {
+            List<String> cached = redisTemplate.opsForList().range(key, 0, -1);
+            if (cached != null && !cached.isEmpty()) {
+                List<ChatBotContextMessage> window = new ArrayList<>(cached.size());
+                for (String value : cached) {
+                    window.add(objectMapper.readValue(value, ChatBotContextMessage.class));
+                }
+                return window;
+            }
+        } catch (Exception e) {
+            log.warn("챗봇 대화 문맥 조회 실패, DB 에서 읽습니다. userId={}", userId, e);
+        }
+
+        List<ChatMessageResponseDto> recent = chatBotMessageRepository.findRecentBefore(
+                userId, Long.MAX_VALUE, PageRequest.of(0, maxMessages()));
+        if (recent.isEmpty()) return List.of();
+
+        List<ChatBotContextMessage> window = new ArrayList<>(recent.size());
+        // 최신순으로 읽었으므로 오래된 순으로 뒤집는다.
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            ChatMessageResponseDto message = recent.get(i);
+            window.add(new ChatBotContextMessage(message.getId(), toRole(message.getSender()), message.getMessage()));
+        }
+        fill(key, window);
+        return window;
+    }
+
+    private void fill(String key, List<ChatBotContextMessage> window) {
+        try {
+            List<String> args = new ArrayList<>(window.size() + 1);
+            args.add(String.valueOf(chatBotProperties.getContextTtl().toMillis()));
+            for (ChatBotContextMessage message : window) {
+                args.add(objectMapper.writeValueAsString(message));
+            }
+            redisTemplate.execute(FILL_IF_ABSENT, List.of(key), args.toArray());
+        } catch (Exception e) {
+            log.warn("챗봇 대화 문맥 캐시 실패 key={}", key, e);
+        }
+    }
+
+    // 최신 메시지부터 예산 안에 들어가는 만큼만 남긴다. 메시지 하나가 너무 길면 앞부분만 쓴다.
+    private List<Message> fitToBudget(List<ChatBotContextMessage> window) {
+        int remaining = chatBotProperties.getContextTokenBudget();
+        int messageMaxTokens = chatBotProperties.getContextMessageMaxTokens();
+        List<Message> messages = new ArrayList<>();
+        for (int i = window.size() - 1; i >= 0; i--) {
+            ChatBotContextMessage message = window.get(i);
+            String content = tokenEstimator.truncate(message.content(), messageMaxTokens);
+            int cost = tokenEstimator.estimateMessage(content);
+            if (cost > remaining) break;
+            remaining -= cost;
+            messages.add(Message.builder().role(message.role()).content(content).build());
+        }
+        // 답변만 남고 질문이 잘린 경우 답변도 뺀다. (질문 없는 답변은 문맥으로 의미가 약하다)
+        if (!messages.isEmpty() && "assistant".equals(messages.get(messages.size() - 1).getRole())) {
+            messages.remove(messages.size() - 1);
+        }
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    private int maxMessages() {
+        return chatBotProperties.getContextMaxExchanges() * 2;
+    }
+
+    private static String toRole(ChatBotSenderType sender) {
+        return sender == ChatBotSenderType.USER ? "user" : "assistant";
+    }
+}
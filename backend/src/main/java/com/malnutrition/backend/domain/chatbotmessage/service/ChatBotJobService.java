@@ -0,0 +1,275 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotJob;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotJobResponseDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotJobStatus;
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 챗봇 비동기 작업 큐 (Redis).
+ * - chatbot:jobs            대기 작업 id 리스트. 왼쪽에 넣고 워커가 오른쪽에서 꺼낸다.
+ * - chatbot:jobs:processing 처리 중인 작업 id. 꺼낼 때 BLMOVE 로 옮기고 끝나면 지운다.
+ * - chatbot:jobs:delayed    upstream 이 막혀 거절된 작업 id ZSET (score=다시 넣을 시각). 때가 되면 대기열로 옮긴다.
+ * - chatbot:job:{jobId}     작업 상태/결과 hash. jobTtl 뒤 만료된다.
+ * 처리 중에 노드가 죽으면 processing 에 남은 작업을 stale-after 뒤 다시 대기열에 넣는다.
+ */
+@Slf4j
+@Service
+public class ChatBotJobService {
+    private static final String QUEUE_KEY = "chatbot:jobs";
+    private static final String PROCESSING_KEY = "chatbot:jobs:processing";
+    private static final String DELAYED_KEY = "chatbot:jobs:delayed";
+    private static final int PROMOTE_BATCH_SIZE = 100;
+    private static final String JOB_KEY_PREFIX = "chatbot:job:";
+
+    // 대기열이 가득 차 있으면 0, 아니면 hash 를 만들고 대기열에 넣은 뒤 1
+    private static final RedisScript<Long> ENQUEUE = new DefaultRedisScript<>(
+            "if redis.call('LLEN', KEYS[1]) >= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('HSET', KEYS[2], unpack(ARGV, 4)) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[2]) " +
+            "redis.call('LPUSH', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // 만료된 작업 hash 를 TTL 없이 다시 만들지 않도록 있을 때만 갱신한다.
+    private static final RedisScript<Long> UPDATE_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('HSET', KEYS[1], unpack(ARGV)) " +
+            "return 1",
+            Long.class);
+
+    // 다시 넣을 시각이 지난 작업을 ZSET 에서 빼 대기열에 넣는다. 한 번에 옮기므로 여러 노드가 동시에 돌아도 한 번만 들어간다.
+    private static final RedisScript<Long> PROMOTE_DUE = new DefaultRedisScript<>(
+            "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2])) " +
+            "for _, jobId in ipairs(due) do " +
+            "  redis.call('ZREM', KEYS[1], jobId) " +
+            "  redis.call('LPUSH', KEYS[2], jobId) " +
+            "end " +
+            "return #due",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatBotProperties chatBotProperties;
+    private final ObjectMapper objectMapper;
+    private final ChatBotRateLimiter chatBotRateLimiter;
+
+    public ChatBotJobService(StringRedisTemplate redisTemplate,
+                             ChatBotProperties chatBotProperties,
+                             ChatBotRateLimiter chatBotRateLimiter,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.chatBotProperties = chatBotProperties;
+        this.objectMapper = objectMapper;
+        this.chatBotRateLimiter = chatBotRateLimiter;
+        Gauge.builder("chatbot.job.queue.size", this, ChatBotJobService::queueSize)
+                .description("대기 중인 챗봇 비동기 작업 수")
+                .register(meterRegistry);
+    }
+
+    private String getJobKey(String jobId) {
+        return JOB_KEY_PREFIX + jobId;
+    }
+
+    // 사용자별 요청 제한은 접수 시점에 확인한다. 대기열이 가득 차 있으면 503.
+    public ChatBotJobResponseDto submit(Long userId, String message) {
+        chatBotRateLimiter.acquire(userId);
+        String jobId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        Long enqueued = redisTemplate.execute(ENQUEUE, List.of(QUEUE_KEY, getJobKey(jobId)),
+                String.valueOf(chatBotProperties.getJobMaxQueued()),
+                String.valueOf(chatBotProperties.getJobTtl().toMillis()),
+                jobId,
+                "userId", String.valueOf(userId),
+                "message", message,
+                "status", ChatBotJobStatus.QUEUED.name(),
+                "attempts", "0",
+                "createdAt", String.valueOf(now));
+        if (enqueued == null || enqueued == 0) {
+            throw new ChatBotRejectedException(HttpStatus.SERVICE_UNAVAILABLE, 5,
+                    "챗봇 대기 작업이 많아 접수할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return ChatBotJobResponseDto.builder()
+                .jobId(jobId)
+                .status(ChatBotJobStatus.QUEUED)
+                .createdAt(toLocalDateTime(String.valueOf(now)))
+                .build();
+    }
+
+    public ChatBotJobResponseDto getJob(Long userId, String jobId) {
+        Map<String, String> job = find(jobId);
+        if (job.isEmpty()) throw new EntityNotFoundException("챗봇 작업이 존재하지 않거나 만료되었습니다.");
+        if (!String.valueOf(userId).equals(job.get("userId"))) {
+            throw new AccessDeniedException("이 챗봇 작업에 접근 권한이 없습니다.");
+        }
+        return ChatBotJobResponseDto.builder()
+                .jobId(jobId)
+                .status(ChatBotJobStatus.valueOf(job.get("status")))
+                .message(readResult(job.get("result")))
+                .cacheHit(Boolean.parseBoolean(job.get("cacheHit")))
+                .errorMessage(job.get("error"))
+                .createdAt(toLocalDateTime(job.get("createdAt")))
+                .completedAt(toLocalDateTime(job.get("completedAt")))
+                .build();
+    }
+
+    // 대기 작업 하나를 processing 으로 옮겨 꺼낸다. timeout 동안 없으면 null.
+    public String take(Duration timeout) {
+        return redisTemplate.opsForList().move(QUEUE_KEY, RedisListCommands.Direction.RIGHT,
+                PROCESSING_KEY, RedisListCommands.Direction.LEFT, timeout);
+    }
+
+    // 꺼낸 작업을 RUNNING 으로 바꾼다. 그 사이 만료된 작업이면 empty.
+    public Optional<ChatBotJob> start(String jobId) {
+        Map<String, String> job = find(jobId);
+        if (job.isEmpty()) return Optional.empty();
+        update(jobId, Map.of(
+                "status", ChatBotJobStatus.RUNNING.name(),
+                "startedAt", String.valueOf(System.currentTimeMillis())));
+        return Optional.of(new ChatBotJob(jobId, Long.valueOf(job.get("userId")), job.get("message"),
+                Integer.parseInt(job.getOrDefault("attempts", "0"))));
+    }
+
+    public void complete(String jobId, ChatMessageResponseDto saved, boolean cacheHit) {
+        try {
+            update(jobId, Map.of(
+                    "status", ChatBotJobStatus.DONE.name(),
+                    "result", objectMapper.writeValueAsString(saved),
+                    "cacheHit", String.valueOf(cacheHit),
+                    "completedAt", String.valueOf(System.currentTimeMillis())));
+        } catch (JsonProcessingException e) {
+            log.error("챗봇 작업 결과 직렬화 실패 jobId={}", jobId, e);
+            fail(jobId, "챗봇 응답 저장에 실패했습니다.");
+        }
+    }
+
+    public void fail(String jobId, String errorMessage) {
+        update(jobId, Map.of(
+                "status", ChatBotJobStatus.FAILED.name(),
+                "error", errorMessage,
+                "completedAt", String.valueOf(System.currentTimeMillis())));
+    }
+
+    /**
+     * upstream 이 막혀 거절된 작업을 delay 뒤에 대기열 맨 뒤로 다시 넣는다. 시도 횟수를 넘었으면 false.
+     * delay 는 거절 응답의 Retry-After (circuit 이 열려 있으면 닫힐 때까지 남은 시간) 라서,
+     * circuit 이 열린 동안 시도 횟수를 다 써 버리지 않는다.
+     */
+    public boolean retry(ChatBotJob job, Duration delay) {
+        int attempts = job.attempts() + 1;
+        if (attempts >= chatBotProperties.getJobMaxAttempts()) return false;
+        update(job.jobId(), Map.of(
+                "status", ChatBotJobStatus.QUEUED.name(),
+                "attempts", String.valueOf(attempts)));
+        redisTemplate.opsForZSet().add(DELAYED_KEY, job.jobId(), System.currentTimeMillis() + delay.toMillis());
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${custom.chatbot.job.promote-interval-ms:1000}")
+    public void promoteDelayedJobs() {
+        Long promoted;
+        do {
+            promoted = redisTemplate.execute(PROMOTE_DUE, List.of(DELAYED_KEY, QUEUE_KEY),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(PROMOTE_BATCH_SIZE));
+        } while (promoted != null && promoted == PROMOTE_BATCH_SIZE);
+    }
+
+    // 처리가 끝난 작업을 processing 에서 지운다.
+    public void ack(String jobId) {
+        redisTemplate.opsForList().remove(PROCESSING_KEY, 1, jobId);
+    }
+
+    /**
+     * processing 에 stale-after 보다 오래 머문 작업(처리하던 노드가 죽은 경우)을 대기열에 다시 넣는다.
+     * 꺼낸 뒤 RUNNING 으로 바꾸기 전에 죽어 startedAt 이 없으면 createdAt 으로 판단한다.
+     * LREM 에 성공한 노드만 다시 넣으므로 여러 노드가 동시에 돌아도 한 번만 들어간다.
+     */
+    @Scheduled(fixedDelayString = "${custom.chatbot.job.recover-interval-ms:60000}")
+    public void requeueStaleJobs() {
+        List<String> processing = redisTemplate.opsForList().range(PROCESSING_KEY, 0, -1);
+        if (processing == null || processing.isEmpty()) return;
+        long staleBefore = System.currentTimeMillis() - chatBotProperties.getJobStaleAfter().toMillis();
+        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
+        for (String jobId : processing) {
+            List<String> values = hashOps.multiGet(getJobKey(jobId), List.of("status", "startedAt", "createdAt"));
+            String status = values.get(0);
+            if (status == null) {
+                ack(jobId);     // 만료된 작업
+                continue;
+            }
+            String since = values.get(1) != null ? values.get(1) : values.get(2);
+            if (since == null || Long.parseLong(since) > staleBefore) continue;
+            Long removed = redisTemplate.opsForList().remove(PROCESSING_KEY, 1, jobId);
+            if (removed == null || removed == 0) continue;
+            if (ChatBotJobStatus.DONE.name().equals(status) || ChatBotJobStatus.FAILED.name().equals(status)) continue;
+            log.warn("처리가 멈춘 챗봇 작업을 다시 넣습니다. jobId={}", jobId);
+            update(jobId, Map.of("status", ChatBotJobStatus.QUEUED.name()));
+            redisTemplate.opsForList().leftPush(QUEUE_KEY, jobId);
+        }
+    }
+
+    private Map<String, String> find(String jobId) {
+        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
+        return hashOps.entries(getJobKey(jobId));
+    }
+
+    private void update(String jobId, Map<String, String> fields) {
+        List<String> args = new ArrayList<>(fields.size() * 2);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(UPDATE_IF_EXISTS, List.of(getJobKey(jobId)), args.toArray());
+    }
+
+    private ChatMessageResponseDto readResult(String result) {
+        if (result == null) return null;
+        try {
+            return objectMapper.readValue(result, ChatMessageResponseDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("챗봇 작업 결과 역직렬화 실패", e);
+            return null;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(String epochMillis) {
+        if (epochMillis == null) return null;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(epochMillis)), ZoneId.systemDefault());
+    }
+
+    private double queueSize() {
+        try {
+            Long size = redisTemplate.opsForList().size(QUEUE_KEY);
+            return size == null ? 0 : size;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+}
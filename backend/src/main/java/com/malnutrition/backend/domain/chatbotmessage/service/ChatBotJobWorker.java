@@ -0,0 +1,177 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
+import com.malnutrition.backend.domain.alarm.alarm.event.AlarmSendEvent;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotAnswerDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotJob;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotSenderType;
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
+import com.malnutrition.backend.domain.user.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 챗봇 비동기 작업 워커.
+ * 노드마다 jobWorkers 개의 스레드가 Redis 대기열에서 작업을 꺼내 처리하므로,
+ * 비동기 모드의 upstream 동시 호출 수는 요청 스레드 수와 관계없이 워커 수로 정해진다.
+ * 답이 나오면 저장 후 작업 결과에 기록하고, 알람(SSE) 으로 완료를 알린다.
+ */
+@Slf4j
+@Component
+public class ChatBotJobWorker {
+    private static final Duration TAKE_TIMEOUT = Duration.ofSeconds(2);
+    private static final long MAX_BACKOFF_MS = 1000L;
+    private static final int SNIPPET_LENGTH = 100;
+
+    private final ChatBotJobService chatBotJobService;
+    private final ChatBotService chatBotService;
+    private final ChatBotProperties chatBotProperties;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Timer processTimer;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public ChatBotJobWorker(ChatBotJobService chatBotJobService,
+                            ChatBotService chatBotService,
+                            ChatBotProperties chatBotProperties,
+                            UserRepository userRepository,
+                            ApplicationEventPublisher applicationEventPublisher,
+                            MeterRegistry meterRegistry) {
+        this.chatBotJobService = chatBotJobService;
+        this.chatBotService = chatBotService;
+        this.chatBotProperties = chatBotProperties;
+        this.userRepository = userRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.processTimer = Timer.builder("chatbot.job.process")
+                .description("챗봇 비동기 작업 하나를 처리하는 데 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < chatBotProperties.getJobWorkers(); i++) {
+            Thread worker = new Thread(this::runLoop, "chatbot-job-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    // 처리 중인 작업은 끝까지 처리하고 멈춘다. 끝내지 못한 작업은 다른 노드가 stale-after 뒤 다시 가져간다.
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TAKE_TIMEOUT.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            String jobId;
+            try {
+                jobId = chatBotJobService.take(TAKE_TIMEOUT);
+            } catch (Exception e) {
+                log.warn("챗봇 작업 대기열 조회 실패", e);
+                sleep(MAX_BACKOFF_MS);
+                continue;
+            }
+            if (jobId == null) continue;
+            long startedAt = System.nanoTime();
+            try {
+                process(jobId);
+                chatBotJobService.ack(jobId);
+            } catch (Exception e) {
+                // Redis 오류 등으로 처리 도중 끊긴 작업. ack 하지 않고 processing 에 남겨 두면
+                // stale-after 뒤 requeueStaleJobs 가 다시 넣는다. 워커 스레드는 잠시 쉬고 계속 돈다.
+                log.error("챗봇 작업 처리 중 오류 jobId={}", jobId, e);
+                record("error");
+                sleep(MAX_BACKOFF_MS);
+            } finally {
+                processTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void process(String jobId) {
+        Optional<ChatBotJob> found = chatBotJobService.start(jobId);
+        if (found.isEmpty()) return;
+        ChatBotJob job = found.get();
+        try {
+            ChatBotAnswerDto answer = chatBotService.generateAnswer(job.userId(), job.message());
+            if (answer.message() == null) {
+                fail(job, "챗봇 응답 생성에 실패했습니다. 잠시 후 다시 시도해주세요.");
+                return;
+            }
+            ChatMessageResponseDto saved = chatBotService.saveChatMessage(job.userId(), answer.message(), ChatBotSenderType.BOT);
+            chatBotJobService.complete(jobId, saved, answer.cacheHit());
+            record("done");
+            notifyUser(job, AlarmType.CHATBOT_REPLY.formatMessage(snippet(answer.message())));
+        } catch (ChatBotRejectedException e) {
+            // bulkhead 가 가득 찼거나 circuit 이 열림. Retry-After 만큼 지난 뒤 대기열 뒤로 다시 넣는다.
+            // 워커는 기다리지 않고 바로 다음 작업을 꺼낸다.
+            if (chatBotJobService.retry(job, Duration.ofSeconds(e.getRetryAfterSeconds()))) {
+                record("retried");
+                return;
+            }
+            fail(job, e.getMessage());
+        } catch (Exception e) {
+            log.error("챗봇 작업 처리 실패 jobId={}", jobId, e);
+            fail(job, "챗봇 응답 생성에 실패했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private void fail(ChatBotJob job, String errorMessage) {
+        chatBotJobService.fail(job.jobId(), errorMessage);
+        record("failed");
+        notifyUser(job, errorMessage);
+    }
+
+    private void notifyUser(ChatBotJob job, String message) {
+        AlarmType chatbotReply = AlarmType.CHATBOT_REPLY;
+        applicationEventPublisher.publishEvent(AlarmSendEvent.builder()
+                .listener(userRepository.getReferenceById(job.userId()))
+                .title(chatbotReply.formatTitle())
+                .message(message)
+                .url("/chatbot?jobId=" + job.jobId())
+                .alarmType(chatbotReply)
+                .build());
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("chatbot.job.completed", "outcome", outcome).increment();
+    }
+
+    private static String snippet(String answer) {
+        return answer.length() <= SNIPPET_LENGTH ? answer : answer.substring(0, SNIPPET_LENGTH) + "…";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 응답 캐시 키용 질문 정규화.
+ * 전각/반각, 대소문자, 문장부호, 공백, 불용어 차이만 있는 질문을 같은 문자열로 만든다.
+ * (의미가 달라질 수 있는 어순/조사는 건드리지 않는다)
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatBotPromptNormalizer {
+    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{P}\\p{S}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ChatBotProperties chatBotProperties;
+
+    public String normalize(String prompt) {
+        if (prompt == null) return "";
+        // NFKC: 전각 영문/숫자, 호환 한글 자모를 일반 형태로 맞춘다.
+        String normalized = Normalizer.normalize(prompt, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = PUNCTUATION.matcher(normalized).replaceAll(" ");
+        return Arrays.stream(WHITESPACE.split(normalized.trim()))
+                .filter(word -> !word.isEmpty() && !chatBotProperties.getCacheStopWords().contains(word))
+                .collect(Collectors.joining(" "));
+    }
+}
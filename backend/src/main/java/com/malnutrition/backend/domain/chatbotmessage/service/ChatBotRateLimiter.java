@@ -0,0 +1,73 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 사용자별 챗봇 요청 제한 (토큰 버킷, Redis).
+ * 모든 노드가 같은 버킷을 보므로 노드 수와 관계없이 사용자당 제한이 일정하다.
+ * Redis 장애 시에는 제한 없이 통과시킨다. (bulkhead 와 circuit breaker 가 남아 있다)
+ */
+@Slf4j
+@Service
+public class ChatBotRateLimiter {
+    private static final String KEY_PREFIX = "chatbot:rate:";
+
+    // KEYS[1] = 버킷 hash (tokens, ts), ARGV[1] = 용량, ARGV[2] = ms 당 충전량
+    // 통과면 0, 아니면 토큰 하나가 찰 때까지 남은 ms 를 돌려준다. 시각은 노드 간 시계 차이가 없도록 Redis TIME 을 쓴다.
+    private static final RedisScript<Long> TAKE = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) " +
+            "local rate = tonumber(ARGV[2]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) or capacity " +
+            "local ts = tonumber(bucket[2]) or now " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) " +
+            "local wait = 0 " +
+            "if tokens >= 1 then tokens = tokens - 1 else wait = math.ceil((1 - tokens) / rate) end " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate)) " +
+            "return wait",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatBotProperties chatBotProperties;
+    private final Counter rejected;
+
+    public ChatBotRateLimiter(StringRedisTemplate redisTemplate,
+                              ChatBotProperties chatBotProperties,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.chatBotProperties = chatBotProperties;
+        this.rejected = Counter.builder("chatbot.limit.rejected").tag("reason", "rate").register(meterRegistry);
+    }
+
+    // 토큰이 없으면 429 를 던진다.
+    public void acquire(Long userId) {
+        double refillPerMs = chatBotProperties.getRateRefillPerMinute() / 60_000.0;
+        Long waitMs;
+        try {
+            waitMs = redisTemplate.execute(TAKE, List.of(KEY_PREFIX + userId),
+                    String.valueOf(chatBotProperties.getRateCapacity()), String.valueOf(refillPerMs));
+        } catch (Exception e) {
+            log.warn("챗봇 요청 제한 확인 실패, 제한 없이 통과시킵니다. userId={}", userId, e);
+            return;
+        }
+        if (waitMs != null && waitMs > 0) {
+            rejected.increment();
+            throw new ChatBotRejectedException(HttpStatus.TOO_MANY_REQUESTS, (waitMs + 999) / 1000,
+                    "챗봇 질문이 너무 잦습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+}
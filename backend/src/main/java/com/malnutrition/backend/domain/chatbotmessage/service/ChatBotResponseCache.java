@@ -0,0 +1,340 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotAnswerDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 챗봇 응답 캐시.
+ * 키 = prefix + 모델 + 시스템 프롬프트 버전(해시) + 이전 대화 해시 + 정규화한 질문의 SHA-256.
+ * 이전 대화가 없으면 대화 해시는 "0" 이라 사용자와 관계없이 같은 첫 질문끼리 공유한다.
+ * 이전 대화가 있으면 같은 질문이라도 대화가 완전히 같을 때만 적중한다. (답이 대화에 따라 달라질 수 있으므로)
+ * 같은 질문이 동시에 들어오면 한 번만 upstream 을 호출한다.
+ * - 같은 노드: in-flight CompletableFuture 를 공유
+ * - 다른 노드: Redis 락(SET NX)을 잡은 노드만 호출하고 나머지는 결과가 캐시에 들어올 때까지 기다린다.
+ *   락 TTL 은 loader 가 가장 오래 걸리는 경우(재시도 포함)보다 길게 잡아, 호출 도중 락이 풀려 다른 노드가 중복 호출하지 않게 한다.
+ *   기다리는 쪽도 같은 시간까지 기다린다. 락을 잡은 노드가 끝나거나 죽어 락이 사라지면 그때 바로 멈춘다.
+ * 스트리밍(stream)도 같은 방식이다. 같은 노드에서는 진행 중인 토큰 스트림을 처음부터 같이 받고,
+ * 다른 노드가 처리 중이면 캐시에 들어온 전체 답을 한 번에 받는다.
+ */
+@Slf4j
+@Service
+public class ChatBotResponseCache {
+    private static final String LOCK_SUFFIX = ":lock";
+    private static final long LOCK_POLL_INTERVAL_MS = 200L;
+    private static final long LOCK_TTL_MARGIN_MS = 5_000L;
+    private static final String NO_CONTEXT = "0";
+
+    // 내가 잡은 락일 때만 지운다. (TTL 이 지나 다른 노드가 잡은 락을 지우지 않도록)
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatBotProperties chatBotProperties;
+    private final ChatBotPromptNormalizer promptNormalizer;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Flux<String>> inFlightStreams = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ChatBotResponseCache(StringRedisTemplate redisTemplate,
+                                ChatBotProperties chatBotProperties,
+                                ChatBotPromptNormalizer promptNormalizer,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.chatBotProperties = chatBotProperties;
+        this.promptNormalizer = promptNormalizer;
+        this.hits = Counter.builder("chatbot.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("chatbot.cache.requests").tag("result", "miss").register(meterRegistry);
+        // 다른 요청의 upstream 호출 결과를 받아 간 경우 (hit 로도 센다)
+        this.coalesced = Counter.builder("chatbot.cache.requests").tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder("chatbot.cache.hit_ratio", this, ChatBotResponseCache::hitRatio)
+                .description("기동 후 챗봇 응답 캐시 적중률")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 있으면 바로, 없으면 loader 로 만든 답을 캐시에 넣고 돌려준다.
+     * loader 가 null 을 돌려주면 (응답 실패) 캐시하지 않고 null 답을 돌려준다.
+     */
+    public ChatBotAnswerDto getOrCompute(String systemMessage, List<Message> history, String prompt, Supplier<String> loader) {
+        if (!chatBotProperties.isCacheEnabled()) {
+            return new ChatBotAnswerDto(loader.get(), false);
+        }
+        String key = key(systemMessage, history, prompt);
+        String cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return new ChatBotAnswerDto(cached, true);
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            String answer = join(running);
+            if (answer != null) {
+                hits.increment();
+                coalesced.increment();
+            }
+            return new ChatBotAnswerDto(answer, answer != null);
+        }
+
+        try {
+            ChatBotAnswerDto answer = computeWithClusterLock(key, loader);
+            mine.complete(answer.message());
+            return answer;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public String lookup(String systemMessage, List<Message> history, String prompt) {
+        if (!chatBotProperties.isCacheEnabled()) return null;
+        String cached = get(key(systemMessage, history, prompt));
+        if (cached != null) hits.increment(); else misses.increment();
+        return cached;
+    }
+
+    /**
+     * 스트리밍용 single-flight. lookup 으로 캐시를 확인한 뒤 부른다.
+     * 같은 질문의 스트림이 이 노드에서 진행 중이면 loader 를 부르지 않고 그 토큰을 처음부터 같이 받는다.
+     * 먼저 들어온 요청(leader)의 loader 는 이 메서드 안에서 바로 불리므로, bulkhead 거절 같은 예외는 호출한 쪽으로 던져진다.
+     * 이때 이미 합류한 요청도 같은 예외로 실패한다. (getOrCompute 와 같음)
+     * 모든 구독자가 떠나면 upstream 도 취소된다. 끝까지 받았고 cacheable 이 true 인 답만 캐시에 넣는다.
+     */
+    public Flux<String> stream(String systemMessage, List<Message> history, String prompt,
+                               Supplier<Flux<String>> loader, Predicate<String> cacheable) {
+        if (!chatBotProperties.isCacheEnabled()) return loader.get();
+        String key = key(systemMessage, history, prompt);
+
+        CompletableFuture<Flux<String>> source = new CompletableFuture<>();
+        AtomicBoolean connected = new AtomicBoolean();
+        AtomicReference<Flux<String>> self = new AtomicReference<>();
+        Flux<String> shared = Mono.fromFuture(source)
+                // 끝난 뒤 늦게 구독하면 upstream 을 다시 부르지 않고 캐시된 답을 받는다.
+                .flatMapMany(tokens -> connected.compareAndSet(false, true) ? tokens : cachedAnswer(key))
+                .doFinally(signal -> inFlightStreams.remove(key, self.get()))
+                .replay()
+                .refCount();
+        self.set(shared);
+        Flux<String> running = inFlightStreams.putIfAbsent(key, shared);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+
+        try {
+            source.complete(leaderTokens(key, loader, cacheable));
+        } catch (RuntimeException e) {
+            inFlightStreams.remove(key, shared);
+            source.completeExceptionally(e);
+            throw e;
+        }
+        return shared;
+    }
+
+    private ChatBotAnswerDto computeWithClusterLock(String key, Supplier<String> loader) {
+        String lockKey = key + LOCK_SUFFIX;
+        String lockToken = UUID.randomUUID().toString();
+        boolean locked = tryLock(lockKey, lockToken, lockTtl());
+        if (!locked) {
+            String answer = waitForOtherNode(key);
+            if (answer != null) {
+                hits.increment();
+                coalesced.increment();
+                return new ChatBotAnswerDto(answer, true);
+            }
+            // 다른 노드가 실패했거나 너무 오래 걸리면 직접 호출한다.
+        }
+        try {
+            misses.increment();
+            String answer = loader.get();
+            if (answer != null && !answer.isBlank()) set(key, answer);
+            return new ChatBotAnswerDto(answer, false);
+        } finally {
+            if (locked) unlock(lockKey, lockToken);
+        }
+    }
+
+    private Flux<String> leaderTokens(String key, Supplier<Flux<String>> loader, Predicate<String> cacheable) {
+        String lockKey = key + LOCK_SUFFIX;
+        String lockToken = UUID.randomUUID().toString();
+        if (tryLock(lockKey, lockToken, lockTtl())) {
+            try {
+                return cachingTokens(key, loader.get(), cacheable)
+                        .doFinally(signal -> unlock(lockKey, lockToken));
+            } catch (RuntimeException e) {
+                unlock(lockKey, lockToken);
+                throw e;
+            }
+        }
+        // 다른 노드가 같은 질문을 처리 중. 기다리는 동안 요청 스레드/이벤트 루프를 잡지 않도록 boundedElastic 에서 기다린다.
+        // 다른 노드가 실패했거나 너무 오래 걸리면 직접 호출한다. (이 경우 거절은 스트림의 error 로 전달된다)
+        return Mono.fromCallable(() -> Optional.ofNullable(waitForOtherNode(key)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(answer -> {
+                    if (answer.isPresent()) {
+                        coalesced.increment();
+                        return Flux.just(answer.get());
+                    }
+                    return cachingTokens(key, Flux.defer(loader), cacheable);
+                });
+    }
+
+    private Flux<String> cachingTokens(String key, Flux<String> tokens, Predicate<String> cacheable) {
+        StringBuilder answer = new StringBuilder();
+        return tokens
+                .doOnNext(answer::append)
+                .doOnComplete(() -> {
+                    String fullAnswer = answer.toString();
+                    if (!fullAnswer.isBlank() && cacheable.test(fullAnswer)) set(key, fullAnswer);
+                });
+    }
+
+    private Flux<String> cachedAnswer(String key) {
+        return Mono.fromCallable(() -> get(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flux();
+    }
+
+    private String waitForOtherNode(String key) {
+        long deadline = System.currentTimeMillis() + lockTtl().toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            String cached = get(key);
+            if (cached != null) return cached;
+            if (!isLocked(key + LOCK_SUFFIX)) return get(key);
+        }
+        return null;
+    }
+
+    private String join(CompletableFuture<String> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // 먼저 들어온 요청이 실패하면 같은 예외로 실패한다. (같은 질문으로 바로 재호출하지 않음)
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            log.warn("챗봇 응답 대기 중 선행 요청 실패", e.getCause());
+            return null;
+        }
+    }
+
+    // Redis 장애 시에는 캐시 없이 동작한다.
+    private String get(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("챗봇 캐시 조회 실패", e);
+            return null;
+        }
+    }
+
+    private void set(String key, String answer) {
+        try {
+            redisTemplate.opsForValue().set(key, answer, chatBotProperties.getCacheTtl());
+        } catch (Exception e) {
+            log.warn("챗봇 캐시 저장 실패", e);
+        }
+    }
+
+    // loader(ChatBotService.requestAnswer)는 요청마다 연결 + 응답 대기 시간을 쓰고 최대 MAX_RETRIES 번 다시 보낸다.
+    // 스트리밍은 전체 시간 상한(totalTimeoutMs)까지 걸리므로 둘 중 긴 쪽을 쓴다.
+    private Duration lockTtl() {
+        long perAttemptMs = (long) chatBotProperties.getConnectTimeoutMs() + chatBotProperties.getReadTimeoutMs();
+        long longestMs = Math.max(ChatBotService.MAX_RETRIES * perAttemptMs, chatBotProperties.getTotalTimeoutMs());
+        return Duration.ofMillis(longestMs + LOCK_TTL_MARGIN_MS);
+    }
+
+    private boolean tryLock(String lockKey, String lockToken, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, ttl));
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private boolean isLocked(String lockKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(lockKey));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey, String lockToken) {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(lockKey), lockToken);
+        } catch (Exception e) {
+            log.warn("챗봇 캐시 락 해제 실패", e);
+        }
+    }
+
+    private String key(String systemMessage, List<Message> history, String prompt) {
+        String promptVersion = sha256(systemMessage + "|" + chatBotProperties.getMaxTokens()).substring(0, 12);
+        return chatBotProperties.getCacheKeyPrefix() + chatBotProperties.getGptModel() + ":" + promptVersion + ":"
+                + contextHash(history) + ":" + sha256(promptNormalizer.normalize(prompt));
+    }
+
+    // 모델에 실제로 보내는 이전 대화(예산에 맞춰 자른 뒤) 기준. 역할과 본문을 구분자와 함께 이어 해시한다.
+    private static String contextHash(List<Message> history) {
+        if (history == null || history.isEmpty()) return NO_CONTEXT;
+        StringBuilder context = new StringBuilder();
+        for (Message message : history) {
+            context.append(message.getRole()).append('\0').append(message.getContent()).append('\1');
+        }
+        return sha256(context.toString()).substring(0, 16);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double hitRatio() {
+        double hit = hits.count();
+        double total = hit + misses.count();
+        return total == 0 ? 0 : hit / total;
+    }
+}
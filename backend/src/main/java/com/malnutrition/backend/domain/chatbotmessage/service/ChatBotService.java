@@ -9,9 +9,12 @@ import com.malnutrition.backend.domain.chatbotmessage.entitiy.ChatBotMessage;
 import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotSenderType;
 import com.malnutrition.backend.domain.chatbotmessage.repository.ChatBotMessageRepository;
 import com.malnutrition.backend.domain.user.user.entity.User;
+import com.malnutrition.backend.domain.user.user.repository.UserRepository;
 import com.malnutrition.backend.global.rq.Rq;
+import com.malnutrition.backend.global.ut.TransactionUt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -21,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -28,21 +32,75 @@ import java.util.List;
 @Slf4j
 public class ChatBotService {
 
+    public static final int MAX_RETRIES = 3; // 최대 재요청 횟수
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ChatBotProperties chatBotProperties;
     private final RestTemplate restTemplate;
     private final ChatBotMessageRepository chatBotMessageRepository;
     private final ObjectMapper mapper;
     private final Rq rq;
-
-    @Transactional
-    public ChatCompletionResponseDto getChatCompletion(String message) throws JsonProcessingException {
+    private final UserRepository userRepository;
+    private final ChatBotContextService chatBotContextService;
+    private final ChatBotResponseCache chatBotResponseCache;
+    private final ChatBotRateLimiter chatBotRateLimiter;
+    private final ChatBotBulkhead chatBotBulkhead;
+
+    // DB 작업이 없으므로 트랜잭션을 걸지 않는다. (upstream 응답을 기다리는 동안 커넥션을 잡지 않도록)
+    public ChatCompletionResponseDto getChatCompletion(List<Message> history, String message) throws JsonProcessingException {
         String apiUrl = chatBotProperties.getApiChatUrl();
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("Authorization", "Bearer " + chatBotProperties.getApiKey());
 
+        ChatCompletionRequestDto completionRequestDto = buildCompletionRequest(chatBotProperties.getSystemMessage(), history, message, null);
+
+        HttpEntity<ChatCompletionRequestDto> chatEntity = new HttpEntity<>(completionRequestDto, headers);
+
+        String body = chatBotBulkhead.execute(
+                () -> restTemplate.exchange(apiUrl, HttpMethod.POST, chatEntity, String.class).getBody());
+        log.info("json data body : {}", body);
+
+        ChatCompletionResponseDto response = mapper.readValue(body, ChatCompletionResponseDto.class);
+        log.info("json data response : {}", response);
+
+        return response;
+    }
+
+    /**
+     * 최근 대화를 붙여 답을 받는다. 응답 캐시는 이전 대화까지 키에 넣어 같은 대화의 같은 질문에만 적중한다.
+     * 요청 제한을 넘거나 upstream 이 막혀 있으면 ChatBotRejectedException (429/503) 을 던진다.
+     */
+    public ChatBotAnswerDto answer(Long userId, String message) {
+        chatBotRateLimiter.acquire(userId);
+        return generateAnswer(userId, message);
+    }
+
+    // 요청 제한 없이 답을 만든다. 접수 시점에 이미 제한을 확인한 비동기 작업에서 쓴다.
+    public ChatBotAnswerDto generateAnswer(Long userId, String message) {
+        List<Message> history = chatBotContextService.getContext(userId, message);
+        return chatBotResponseCache.getOrCompute(chatBotProperties.getSystemMessage(), history, message,
+                () -> requestAnswer(history, message));
+    }
+
+    // 응답 JSON 이 깨져 오는 경우가 있어 최대 MAX_RETRIES 번까지 다시 요청한다. 끝내 실패하면 null.
+    public String requestAnswer(List<Message> history, String message) {
+        for (int retries = 0; retries < MAX_RETRIES; retries++) {
+            try {
+                ChatContent chatContent = getChatContent(getChatCompletion(history, message));
+                log.info("chatContents : {} ", chatContent);
+                if (chatContent != null && chatContent.getMessage() != null) return chatContent.getMessage();
+            } catch (JsonProcessingException e) {
+                log.error("JSON 처리 중 오류 발생: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    // history: 이번 질문 앞에 붙일 이전 대화 (오래된 순). stream 이 true 면 SSE 스트리밍 요청
+    public ChatCompletionRequestDto buildCompletionRequest(String systemContent, List<Message> history, String message, Boolean stream) {
         Message systemMessage = Message.builder()
-                .content(chatBotProperties.getSystemMessage())
+                .content(systemContent)
                 .role("system")
                 .build();
         Message userMessage = Message.builder()
@@ -52,23 +110,15 @@ public class ChatBotService {
 
         List<Message> messages = new ArrayList<Message>();
         messages.add(systemMessage);
+        messages.addAll(history);
         messages.add(userMessage);
-        ChatCompletionRequestDto completionRequestDto = ChatCompletionRequestDto.builder()
+        return ChatCompletionRequestDto.builder()
                 .model(chatBotProperties.getGptModel())
-                .max_tokens(1500)
+                .max_tokens(chatBotProperties.getMaxTokens())
                 .temperature(0.7f)
                 .messages(messages)
+                .stream(stream)
                 .build();
-
-        HttpEntity<ChatCompletionRequestDto> chatEntity = new HttpEntity<>(completionRequestDto, headers);
-
-        String body = restTemplate.exchange(apiUrl, HttpMethod.POST, chatEntity, String.class).getBody();
-        log.info("json data body : {}", body);
-
-        ChatCompletionResponseDto response = mapper.readValue(body, ChatCompletionResponseDto.class);
-        log.info("json data response : {}", response);
-
-        return response;
     }
 
     public ChatContent getChatContent(ChatCompletionResponseDto chatCompletionResponseDto) throws JsonProcessingException {
@@ -92,18 +142,46 @@ public class ChatBotService {
                 .build();
         //timeStamp가 초기화 안 될 수 있으니 flush를 바로 해준다.
         ChatBotMessage savedMessage = chatBotMessageRepository.saveAndFlush(chatBotMessage);
+        // 롤백되면 Redis 의 최근 대화에도 남지 않도록 커밋 후에 붙인다.
+        Long userId = actor.getId();
+        TransactionUt.afterCommit(() -> chatBotContextService.append(userId, savedMessage.getId(), chatBotSenderType, chatMessage));
+
+        return ChatMessageResponseDto.builder()
+                .id(savedMessage.getId())
+                .message(savedMessage.getText())
+                .sender(savedMessage.getSender())
+                .createdAt(savedMessage.getTimestamp())
+                .build();
+    }
+
+    // 요청 스레드 밖(스트리밍 완료 시점)에서 저장할 때 사용. rq 대신 userId 를 받는다.
+    @Transactional
+    public ChatMessageResponseDto saveChatMessage(Long userId, String chatMessage, ChatBotSenderType chatBotSenderType){
+        ChatBotMessage chatBotMessage = ChatBotMessage.builder()
+                .user(userRepository.getReferenceById(userId))
+                .sender(chatBotSenderType)
+                .text(chatMessage)
+                .build();
+        ChatBotMessage savedMessage = chatBotMessageRepository.saveAndFlush(chatBotMessage);
+        TransactionUt.afterCommit(() -> chatBotContextService.append(userId, savedMessage.getId(), chatBotSenderType, chatMessage));
 
         return ChatMessageResponseDto.builder()
+                .id(savedMessage.getId())
                 .message(savedMessage.getText())
                 .sender(savedMessage.getSender())
                 .createdAt(savedMessage.getTimestamp())
                 .build();
     }
 
+    // cursorId 이전 메시지 size 개를 오래된 순으로. 다음(더 이전) 페이지는 첫 메시지 id 를 cursorId 로 넘긴다.
     @Transactional(readOnly = true)
-    public List<ChatMessageResponseDto> getAllChatMessage(){
+    public List<ChatMessageResponseDto> getChatMessages(Long cursorId, int size){
         User actor = rq.getActor();
-        return  chatBotMessageRepository.findChatMessagesByUserId(actor.getId());
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ChatMessageResponseDto> messages = new ArrayList<>(chatBotMessageRepository.findRecentBefore(
+                actor.getId(), cursorId == null ? Long.MAX_VALUE : cursorId, PageRequest.of(0, pageSize)));
+        Collections.reverse(messages);
+        return messages;
 
     }
 
@@ -0,0 +1,225 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatCompletionChunkDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatCompletionRequestDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.Message;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotSenderType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 챗봇 스트리밍 응답.
+ * WebClient 로 stream=true 요청을 보내고, 받은 토큰을 바로 SSE(token 이벤트)로 흘려보낸다.
+ * 요청 스레드는 SseEmitter 를 돌려주고 바로 반환되므로 생성 시간 동안 Tomcat 스레드를 잡지 않는다.
+ * - 클라이언트가 끊으면 upstream 구독을 취소해 OpenAI 연결도 닫는다.
+ * - 전체 응답은 끝났을 때 한 번만 저장하고 done 이벤트로 저장 결과를 보낸다.
+ * - 같은 질문이 동시에 들어오면 upstream 은 한 번만 부르고 토큰을 나눠 받는다. (ChatBotResponseCache.stream)
+ */
+@Slf4j
+@Service
+public class ChatBotStreamService {
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE = new ParameterizedTypeReference<>() {};
+    private static final String DONE = "[DONE]";
+    private static final long EMITTER_TIMEOUT_MARGIN_MS = 10_000L;
+
+    private final WebClient chatBotWebClient;
+    private final ChatBotProperties chatBotProperties;
+    private final ChatBotService chatBotService;
+    private final ChatBotResponseCache chatBotResponseCache;
+    private final ChatBotContextService chatBotContextService;
+    private final ChatBotRateLimiter chatBotRateLimiter;
+    private final ChatBotBulkhead chatBotBulkhead;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer firstTokenLatency;
+
+    public ChatBotStreamService(WebClient chatBotWebClient,
+                                ChatBotProperties chatBotProperties,
+                                ChatBotService chatBotService,
+                                ChatBotResponseCache chatBotResponseCache,
+                                ChatBotContextService chatBotContextService,
+                                ChatBotRateLimiter chatBotRateLimiter,
+                                ChatBotBulkhead chatBotBulkhead,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.chatBotWebClient = chatBotWebClient;
+        this.chatBotProperties = chatBotProperties;
+        this.chatBotService = chatBotService;
+        this.chatBotResponseCache = chatBotResponseCache;
+        this.chatBotContextService = chatBotContextService;
+        this.chatBotRateLimiter = chatBotRateLimiter;
+        this.chatBotBulkhead = chatBotBulkhead;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.firstTokenLatency = Timer.builder("chatbot.stream.first_token")
+                .description("요청부터 첫 토큰 전송까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 제한을 넘거나 upstream 이 막혀 있으면 SSE 를 열기 전에 ChatBotRejectedException (429/503) 을 던진다.
+     */
+    public SseEmitter stream(Long userId, String message) {
+        return stream(userId, message, new SseEmitter(chatBotProperties.getTotalTimeoutMs() + EMITTER_TIMEOUT_MARGIN_MS));
+    }
+
+    SseEmitter stream(Long userId, String message, SseEmitter emitter) {
+        chatBotRateLimiter.acquire(userId);
+        String systemMessage = chatBotProperties.getStreamSystemMessage();
+        List<Message> history = chatBotContextService.getContext(userId, message);
+        // 응답 캐시는 이전 대화까지 키에 넣어 같은 대화의 같은 질문에만 적중한다.
+        String cached = chatBotResponseCache.lookup(systemMessage, history, message);
+        if (cached != null) {
+            return replayCached(emitter, userId, cached);
+        }
+        StringBuilder answer = new StringBuilder();
+        long startedAt = System.nanoTime();
+        long totalTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(chatBotProperties.getTotalTimeoutMs());
+
+        ChatCompletionRequestDto request = chatBotService.buildCompletionRequest(systemMessage, history, message, true);
+        // 같은 질문이 이미 생성 중이면 upstream 을 다시 부르지 않고 그 토큰을 같이 받는다.
+        // 먼저 들어온 요청은 여기서 bulkhead 자리를 잡으므로 거절(503)은 SSE 를 열기 전에 던져진다.
+        // 전체 시간 상한에 걸려 잘린 응답은 캐시하지 않는다.
+        Flux<String> tokens = chatBotResponseCache.stream(systemMessage, history, message,
+                () -> guardedTokens(request, startedAt),
+                fullAnswer -> System.nanoTime() - startedAt < totalTimeoutNanos);
+
+        Disposable subscription = tokens
+                .doOnNext(token -> {
+                    if (answer.isEmpty()) firstTokenLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    answer.append(token);
+                    send(emitter, "token", Map.of("text", token));
+                })
+                .then(Mono.defer(() -> {
+                    if (answer.isEmpty()) return Mono.error(new IllegalStateException("챗봇 응답이 비어 있습니다."));
+                    // JPA 저장은 블로킹이므로 netty 이벤트 루프가 아닌 곳에서 한다.
+                    return Mono.fromCallable(() -> chatBotService.saveChatMessage(userId, answer.toString(), ChatBotSenderType.BOT))
+                            .subscribeOn(Schedulers.boundedElastic());
+                }))
+                .subscribe(saved -> {
+                    record("completed");
+                    try {
+                        send(emitter, "done", saved);
+                        emitter.complete();
+                    } catch (UncheckedIOException e) {
+                        // 저장은 끝났고 클라이언트만 떠난 경우
+                        log.debug("챗봇 done 이벤트 전송 실패 userId={}", userId);
+                    }
+                }, error -> onError(emitter, userId, error));
+
+        // 클라이언트 연결 종료/타임아웃 시 upstream 생성도 멈춘다.
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    // 캐시 적중 시 upstream 없이 전체 답을 token 한 번으로 보내고 저장한다.
+    private SseEmitter replayCached(SseEmitter emitter, Long userId, String cached) {
+        record("cached");
+        Mono.fromCallable(() -> chatBotService.saveChatMessage(userId, cached, ChatBotSenderType.BOT))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(saved -> {
+                    try {
+                        send(emitter, "token", Map.of("text", cached));
+                        send(emitter, "done", saved);
+                        emitter.complete();
+                    } catch (UncheckedIOException e) {
+                        log.debug("챗봇 캐시 응답 전송 실패 userId={}", userId);
+                    }
+                }, error -> onError(emitter, userId, error));
+        return emitter;
+    }
+
+    // upstream 결과를 circuit breaker 에 기록하고 자리를 돌려준다. 모든 구독자가 끊어 취소되면 결과 없이 돌려준다.
+    private Flux<String> guardedTokens(ChatCompletionRequestDto request, long startedAt) {
+        ChatBotBulkhead.Permit permit = chatBotBulkhead.acquire();
+        AtomicLong firstTokenNanos = new AtomicLong();
+        return tokens(request)
+                .doOnNext(token -> firstTokenNanos.compareAndSet(0L, System.nanoTime() - startedAt))
+                .doOnComplete(() -> permit.success(firstTokenNanos.get() > 0 ? firstTokenNanos.get() : System.nanoTime() - startedAt))
+                .doOnError(error -> permit.failure())
+                .doFinally(signal -> permit.release());
+    }
+
+    private Flux<String> tokens(ChatCompletionRequestDto request) {
+        return chatBotWebClient.post()
+                .uri(chatBotProperties.getApiChatUrl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .takeWhile(data -> !DONE.equals(data.trim()))
+                .map(this::parseContent)
+                .filter(content -> !content.isEmpty())
+                // 첫 토큰까지, 이후 토큰 사이 간격을 각각 제한하고 전체 시간이 넘으면 받은 데까지로 끝낸다.
+                .timeout(Mono.delay(Duration.ofMillis(chatBotProperties.getFirstTokenTimeoutMs())),
+                        token -> Mono.delay(Duration.ofMillis(chatBotProperties.getIdleTimeoutMs())))
+                .take(Duration.ofMillis(chatBotProperties.getTotalTimeoutMs()));
+    }
+
+    private String parseContent(String data) {
+        try {
+            String content = objectMapper.readValue(data, ChatCompletionChunkDto.class).getContent();
+            return content == null ? "" : content;
+        } catch (JsonProcessingException e) {
+            log.warn("챗봇 스트림 chunk 파싱 실패: {}", data);
+            return "";
+        }
+    }
+
+    private void onError(SseEmitter emitter, Long userId, Throwable error) {
+        if (error instanceof UncheckedIOException) {
+            // 토큰 전송 실패 = 클라이언트가 연결을 끊음
+            record("cancelled");
+            log.debug("챗봇 스트림 클라이언트 종료 userId={}", userId);
+            return;
+        }
+        record("failed");
+        log.error("챗봇 스트림 실패 userId={}", userId, error);
+        try {
+            send(emitter, "error", Map.of("message", "챗봇 응답 생성에 실패했습니다. 잠시 후 다시 시도해주세요."));
+            emitter.complete();
+        } catch (UncheckedIOException ignored) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            throw new UncheckedIOException(e instanceof IOException io ? io : new IOException(e));
+        }
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("chatbot.stream.requests", "outcome", outcome).increment();
+    }
+}
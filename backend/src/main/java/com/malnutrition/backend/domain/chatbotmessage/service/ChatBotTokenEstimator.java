@@ -0,0 +1,57 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 토크나이저 없이 토큰 수를 어림한다. (프롬프트 예산 계산용이라 조금 크게 잡는다)
+ * - 한글/한자/가나: 글자당 1 토큰 (BPE 에서 한글 음절은 대부분 1~2 토큰)
+ * - 영문/숫자: 4글자당 1 토큰
+ * - 문장부호/기호: 1 토큰
+ * - 메시지마다 role 등 포맷 오버헤드 4 토큰
+ */
+@Component
+public class ChatBotTokenEstimator {
+    public static final int MESSAGE_OVERHEAD = 4;
+    private static final int LATIN_CHARS_PER_TOKEN = 4;
+
+    public int estimate(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        int tokens = 0;
+        int latinRun = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp) && cp < 0x0250) {
+                latinRun++;
+                continue;
+            }
+            tokens += ceilDiv(latinRun);
+            latinRun = 0;
+            if (Character.isWhitespace(cp)) continue;
+            tokens++;   // CJK 글자, 문장부호, 이모지 등
+        }
+        return tokens + ceilDiv(latinRun);
+    }
+
+    public int estimateMessage(String content) {
+        return estimate(content) + MESSAGE_OVERHEAD;
+    }
+
+    // maxTokens 안에 들어가도록 앞에서부터 자른다.
+    public String truncate(String text, int maxTokens) {
+        if (estimate(text) <= maxTokens) return text;
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (estimate(text.substring(0, mid)) <= maxTokens) low = mid;
+            else high = mid - 1;
+        }
+        if (low > 0 && Character.isHighSurrogate(text.charAt(low - 1))) low--;
+        return text.substring(0, low) + "…";
+    }
+
+    private static int ceilDiv(int latinRun) {
+        return (latinRun + LATIN_CHARS_PER_TOKEN - 1) / LATIN_CHARS_PER_TOKEN;
+    }
+}
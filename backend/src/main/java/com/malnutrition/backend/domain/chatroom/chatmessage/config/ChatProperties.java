@@ -0,0 +1,91 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "custom.chat")
+public class ChatProperties {
+
+    private Broker broker = new Broker();
+    private Persistence persistence = new Persistence();
+    private Membership membership = new Membership();
+    private Search search = new Search();
+    private Delivery delivery = new Delivery();
+    private Presence presence = new Presence();
+
+    // 채팅방 메시지를 구독자에게 전달하는 방식
+    @Getter
+    @Setter
+    public static class Broker {
+        private BrokerType type = BrokerType.SIMPLE;
+        private String channelPrefix = "chat:room:";   // 방마다 chat:room:{roomId} 채널 하나
+        private long batchIntervalMs = 10L;            // 같은 방 메시지를 모아서 PUBLISH 하는 최대 대기 시간
+        private int maxBatchSize = 100;                // 이만큼 쌓이면 기다리지 않고 바로 PUBLISH
+    }
+
+    // 채팅 메시지 write-behind 저장
+    @Getter
+    @Setter
+    public static class Persistence {
+        private int queueCapacity = 10_000;     // 저장 대기 메시지 상한
+        private int flushBatchSize = 500;       // 이만큼 모이면 바로 INSERT
+        private long flushIntervalMs = 200L;    // 첫 메시지가 들어온 뒤 이 시간이 지나면 모인 만큼 INSERT
+        private long offerTimeoutMs = 50L;      // 큐가 가득 찼을 때 기다리는 시간. 넘으면 호출 스레드에서 직접 저장
+        private long shutdownTimeoutMs = 10_000L;
+    }
+
+    // 채팅방 참여자(sender/receiver) 캐시. 방이 삭제되면 Redis pub/sub 으로 모든 노드에서 비운다.
+    @Getter
+    @Setter
+    public static class Membership {
+        private long cacheMaxSize = 50_000;
+        private Duration cacheTtl = Duration.ofMinutes(30);  // 무효화 메시지를 놓쳤을 때의 최대 지연
+        private String invalidationChannel = "chat:room:membership:invalidate";
+    }
+
+    // 채팅 전문 검색 (FULLTEXT ngram)
+    @Getter
+    @Setter
+    public static class Search {
+        private int maxPageSize = 50;
+        private int snippetRadius = 40;       // 검색어 앞뒤로 보여줄 글자 수
+        private int minTermLength = 2;        // MySQL ngram_token_size 보다 짧은 검색어는 인덱스로 찾을 수 없다
+    }
+
+    // 방 순번 발급과 재전송 중복 제거
+    @Getter
+    @Setter
+    public static class Delivery {
+        private String seqKeyPrefix = "chat:room:seq:";   // chat:room:seq:{roomId} (만료 없음)
+        private long seqSeedGap = 1_000L;                  // 키가 유실돼 DB 에서 다시 시작할 때 아직 저장 안 된 순번을 건너뛰는 폭
+        private String dedupKeyPrefix = "chat:dedup:";     // chat:dedup:{roomId}:{senderId}:{clientMessageId}
+        private Duration dedupTtl = Duration.ofMinutes(10);
+        private int maxCatchUpSize = 200;
+    }
+
+    // 접속/입력 중 표시. DB 에 쓰지 않고 노드 메모리 + Redis 로만 관리한다.
+    @Getter
+    @Setter
+    public static class Presence {
+        private String keyPrefix = "chat:presence:";   // chat:presence:{roomId} ZSET (member={userId}:{nodeId}, score=마지막 갱신 시각)
+        private Duration ttl = Duration.ofSeconds(90);  // 이 시간 동안 갱신이 없으면 (노드 장애 등) 나간 것으로 본다
+        private long refreshIntervalMs = 30_000L;
+        private long typingIntervalMs = 1_000L;         // 사용자/방마다 입력 중 알림은 이 간격에 한 번만
+    }
+
+    /**
+     * SIMPLE : 노드 안의 simple broker 로만 전달 (단일 노드/개발용)
+     * REDIS  : Redis pub/sub 으로 모든 노드에 전달한 뒤 각 노드의 simple broker 로 전달
+     */
+    public enum BrokerType {
+        SIMPLE,
+        REDIS
+    }
+}
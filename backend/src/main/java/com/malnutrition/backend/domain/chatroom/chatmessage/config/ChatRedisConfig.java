@@ -0,0 +1,26 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.config;
+
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipInvalidationSubscriber;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+// 채팅 relay 전용 listener container. 방 채널은 ChatRelaySubscriber 가 기동 시 패턴(chat:room:*)으로 한 번 구독한다.
+@Configuration
+@ConditionalOnProperty(name = "custom.chat.broker.type", havingValue = "redis")
+public class ChatRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer chatMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      ChatRoomMembershipInvalidationSubscriber membershipInvalidationSubscriber,
+                                                                      ChatProperties chatProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(membershipInvalidationSubscriber,
+                new ChannelTopic(chatProperties.getMembership().getInvalidationChannel()));
+        return container;
+    }
+}
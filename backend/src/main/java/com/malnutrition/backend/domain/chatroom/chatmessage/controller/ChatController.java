@@ -3,12 +3,15 @@ import com.malnutrition.backend.domain.chatroom.chatmessage.dto.*;
 import com.malnutrition.backend.domain.chatroom.chatmessage.entity.ChatMessage;
 import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
 import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatBroadcaster;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatMessageDeduplicator;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatMessageWriteBehindService;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatSequenceService;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
 import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipService;
 import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomService;
-import com.malnutrition.backend.domain.user.user.entity.User;
 import com.malnutrition.backend.domain.user.user.repository.UserRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -16,12 +19,12 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,30 +33,29 @@ import java.util.stream.Collectors;
 public class ChatController {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomMembershipService chatRoomMembershipService;
 
 
     private final ChatMessageRepository chatMessageRepository;
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messageTemplate;
+    private final ChatBroadcaster chatBroadcaster;
+    private final ChatMessageWriteBehindService chatMessageWriteBehindService;
+    private final ChatSequenceService chatSequenceService;
+    private final ChatMessageDeduplicator chatMessageDeduplicator;
 
     @MessageMapping(value = "/chat/room/enter/{roomId}")
     public void enter(
             @DestinationVariable("roomId") Long roomId,
-            @Payload ChatEnterRequestDto enterMessage) {
+            @Payload ChatEnterRequestDto enterMessage,
+            SimpMessageHeaderAccessor headerAccessor) {
 
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
-        User sender = userRepository.findByNickname(enterMessage.getWriterName())
-                .orElseThrow(() -> new EntityNotFoundException("유저가 존재하지 않습니다."));
-
-        if (!chatRoom.getSender().getId().equals(sender.getId()) &&
-                !chatRoom.getReceiver().getId().equals(sender.getId())) {
-            throw new IllegalArgumentException("이 채팅방에 접근 권한이 없습니다.");
-        }
+        ChatSenderDto sender = getSender(headerAccessor);
+        chatRoomMembershipService.validateParticipant(roomId, sender.id());
+        ChatRoom chatRoom = chatRoomRepository.getReferenceById(roomId);
 
         // 🔍 해당 유저의 최근 메시지 조회 (채팅방 기준)
         ChatMessage lastMessage = chatMessageRepository
-                .findTopByChatRoomIdAndSenderIdOrderByCreatedDateDesc(roomId, sender.getId())
+                .findTopByChatRoomIdAndSenderIdOrderByCreatedDateDesc(roomId, sender.id())
                 .orElse(null);
 
         // 🔐 최근 메시지가 LEAVE가 아닌 경우, 재입장 메시지를 보내지 않음
@@ -61,82 +63,90 @@ public class ChatController {
             return;
         }
 
-        String msg = enterMessage.getWriterName() + "님이 채팅방에 참여하였습니다.";
+        String msg = sender.nickname() + "님이 채팅방에 참여하였습니다.";
 
         // ✅ DB 저장
         ChatMessage chatMessage = ChatMessage.builder()
                 .chatRoom(chatRoom)
-                .sender(sender)
+                .sender(userRepository.getReferenceById(sender.id()))
                 .message(msg)
                 .userType(UserType.ENTER)
+                .seq(chatSequenceService.nextSeq(roomId))
                 .build();
         chatMessageRepository.save(chatMessage);
 
         // ✅ 메시지 브로드캐스트
         ChatEnterResponseMessageDto message = ChatEnterResponseMessageDto.builder()
-                .roomId(chatRoom.getId())
-                .writerName(enterMessage.getWriterName())
+                .roomId(roomId)
+                .writerName(sender.nickname())
                 .message(msg)
                 .userType(UserType.ENTER)
                 .receiverName(enterMessage.getReceiverName())
+                .seq(chatMessage.getSeq())
                 .build();
-        messageTemplate.convertAndSend("/subscribe/enter/room/" + roomId, message);
+        chatBroadcaster.broadcast(roomId, "/subscribe/enter/room/" + roomId, message);
     }
 
 
     @MessageMapping(value = "/chat/room/leave/{roomId}")
     public void leave(
             @DestinationVariable("roomId") Long roomId,
-            @Payload ChatLeaveRequestDto leaveMessage) {
+            @Payload ChatLeaveRequestDto leaveMessage,
+            SimpMessageHeaderAccessor headerAccessor) {
 
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
-        User sender = userRepository.findByNickname(leaveMessage.getWriterName())
-                .orElseThrow(() -> new EntityNotFoundException("유저가 존재하지 않습니다."));
+        ChatSenderDto sender = getSender(headerAccessor);
+        chatRoomMembershipService.validateParticipant(roomId, sender.id());
+        ChatRoom chatRoom = chatRoomRepository.getReferenceById(roomId);
 
-        if (!chatRoom.getSender().getId().equals(sender.getId()) &&
-                !chatRoom.getReceiver().getId().equals(sender.getId())) {
-            throw new IllegalArgumentException("이 채팅방에 접근 권한이 없습니다.");
-        }
-
-        String msg = leaveMessage.getWriterName() + "님이 채팅방을 나갔습니다.";
+        String msg = sender.nickname() + "님이 채팅방을 나갔습니다.";
 
         // DB 저장
         ChatMessage chatMessage = ChatMessage.builder()
                 .chatRoom(chatRoom)
-                .sender(sender)
+                .sender(userRepository.getReferenceById(sender.id()))
                 .message(msg)
                 .userType(UserType.LEAVE)
+                .seq(chatSequenceService.nextSeq(roomId))
                 .build();
         chatMessageRepository.save(chatMessage);
 
         // 메시지 브로드캐스트
-        messageTemplate.convertAndSend("/subscribe/leave/room/" + roomId, msg);
+        chatBroadcaster.broadcast(roomId, "/subscribe/leave/room/" + roomId, msg);
 
     }
 
     @MessageMapping("/chat/message/{roomId}")
     public void sendMessage(
             @DestinationVariable Long roomId,
-            @Payload ChatMessageDto message) {
-
-        User sender = userRepository.findByNickname(message.getWriterName())
-                .orElseThrow(() -> new IllegalArgumentException("보낸 사람을 찾을 수 없습니다."));
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
-        // DB 저장
-        ChatMessage chatMessage = ChatMessage.builder()
-                .sender(sender)
-                .chatRoom(chatRoom)
-                .message(message.getMessage())
-                .userType(UserType.TALK)
-                .build();
-
-        chatMessageRepository.save(chatMessage);
+            @Payload ChatMessageDto message,
+            SimpMessageHeaderAccessor headerAccessor) {
+
+        // 발신자는 CONNECT 때 인증한 세션 정보로 정한다. (payload 의 writerName 은 덮어씀)
+        ChatSenderDto sender = getSender(headerAccessor);
+        chatRoomMembershipService.validateParticipant(roomId, sender.id());
+        // 재연결 후 같은 clientMessageId 로 다시 보낸 메시지는 한 번만 처리한다.
+        if (!chatMessageDeduplicator.claim(roomId, sender.id(), message.getClientMessageId())) {
+            log.debug("중복 메시지 무시 roomId={}, clientMessageId={}", roomId, message.getClientMessageId());
+            return;
+        }
+        message.setRoomId(roomId);
+        message.setWriterName(sender.nickname());
+        message.setProfileImageUrl(sender.profileImageUrl());
+        message.setSeq(chatSequenceService.nextSeq(roomId));
+
+        // 메시지 브로드캐스트 후 저장은 write-behind 큐에 맡긴다.
+        chatBroadcaster.broadcast(roomId, "/subscribe/chat/room/" + roomId, message);
+        chatMessageWriteBehindService.enqueue(PendingChatMessageDto.of(
+                roomId, sender.id(), message.getMessage(), UserType.TALK, message.getSeq(), message.getClientMessageId()));
+    }
 
-        // 메시지 브로드캐스트
-        messageTemplate.convertAndSend("/subscribe/chat/room/" + roomId, message);
+    private ChatSenderDto getSender(SimpMessageHeaderAccessor headerAccessor) {
+        Map<String, Object> attributes = headerAccessor.getSessionAttributes();
+        Object sender = attributes == null ? null : attributes.get(ChatSenderDto.SESSION_ATTRIBUTE);
+        if (!(sender instanceof ChatSenderDto chatSender)) {
+            throw new IllegalArgumentException("인증되지 않은 사용자입니다.");
+        }
+        return chatSender;
     }
 
 
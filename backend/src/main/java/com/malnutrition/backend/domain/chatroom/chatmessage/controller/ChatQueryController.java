@@ -1,11 +1,15 @@
 package com.malnutrition.backend.domain.chatroom.chatmessage.controller;
 
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatCatchUpResponseDto;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatHistoryResponseDto;
 import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatMessageDto;
 import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatMessageResponseDto;
 import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatMessageUpdateRequestDto;
 import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatResponseDto;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchResponseDto;
 import com.malnutrition.backend.domain.chatroom.chatmessage.entity.ChatMessage;
 import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatSearchService;
 import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatService;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
 import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
@@ -30,6 +34,7 @@ public class ChatQueryController {
     private final ChatRoomRepository chatRoomRepository;
     private final Rq rq;
     private final ChatService chatService;
+    private final ChatSearchService chatSearchService;
 
     @GetMapping("/room/{roomId}/messages")
     public List<ChatResponseDto> getChatMessages(@PathVariable Long roomId) {
@@ -49,6 +54,40 @@ public class ChatQueryController {
                 .collect(Collectors.toList());
     }
 
+    // 채팅방 기록 keyset 페이지. 방을 열 때는 cursorId 없이, 위로 스크롤할 때는 nextCursorId 로 조회한다.
+    @GetMapping("/room/{roomId}/messages/history")
+    public ResponseEntity<ApiResponse<ChatHistoryResponseDto>> getChatHistory(
+            @PathVariable Long roomId,
+            @RequestParam(value = "cursorId", required = false) Long cursorId,
+            @RequestParam(value = "size", defaultValue = "30") int size) {
+        Long userId = rq.getActor().getId();
+        ChatHistoryResponseDto history = chatService.getChatHistory(roomId, userId, cursorId, size);
+        return ResponseEntity.ok(ApiResponse.success(history, "채팅 기록 조회 성공"));
+    }
+
+    // 재연결 catch-up. 마지막으로 받은 seq 를 afterSeq 로 넘기면 그 이후 메시지만 seq 순으로 준다.
+    @GetMapping("/room/{roomId}/messages/since")
+    public ResponseEntity<ApiResponse<ChatCatchUpResponseDto>> getMessagesAfterSeq(
+            @PathVariable Long roomId,
+            @RequestParam("afterSeq") long afterSeq,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        Long userId = rq.getActor().getId();
+        ChatCatchUpResponseDto result = chatService.getMessagesAfterSeq(roomId, userId, afterSeq, size);
+        return ResponseEntity.ok(ApiResponse.success(result, "채팅 catch-up 조회 성공"));
+    }
+
+    // 내가 참여한 채팅방(roomId 를 주면 그 방만)의 메시지 검색. 최신순 keyset 페이지.
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ChatSearchResponseDto>> searchMessages(
+            @RequestParam("q") String keyword,
+            @RequestParam(value = "roomId", required = false) Long roomId,
+            @RequestParam(value = "cursorId", required = false) Long cursorId,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        Long userId = rq.getActor().getId();
+        ChatSearchResponseDto result = chatSearchService.search(userId, keyword, roomId, cursorId, size);
+        return ResponseEntity.ok(ApiResponse.success(result, "채팅 검색 성공"));
+    }
+
     @PutMapping("/{messageId}")
     public ResponseEntity<?> updateChatMessage(
             @PathVariable Long messageId,
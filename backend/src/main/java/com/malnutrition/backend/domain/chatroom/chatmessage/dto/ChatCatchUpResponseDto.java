@@ -0,0 +1,22 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 재연결 catch-up 결과. messages 는 seq 오름차순이며,
+ * hasNext 면 lastSeq 를 afterSeq 로 넘겨 이어서 조회한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatCatchUpResponseDto {
+    private List<ChatHistoryMessageDto> messages;
+    private boolean hasNext;
+    private Long lastSeq;
+}
@@ -17,5 +17,6 @@ public class ChatEnterResponseMessageDto {
     private String receiverName;
 
     private UserType userType;
+    private Long seq;
 
 }
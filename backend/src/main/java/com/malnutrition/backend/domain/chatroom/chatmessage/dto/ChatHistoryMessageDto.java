@@ -0,0 +1,25 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatHistoryMessageDto {
+    private Long id;                // 메시지 ID
+    private Long seq;               // 방 안 순번 (이전 메시지는 null)
+    private String clientMessageId;
+    private Long senderId;
+    private String writerName;      // 작성자 닉네임
+    private String profileImageUrl; // 작성자 프로필 이미지 (없으면 null)
+    private String message;
+    private UserType userType;
+    private LocalDateTime createdDate;
+}
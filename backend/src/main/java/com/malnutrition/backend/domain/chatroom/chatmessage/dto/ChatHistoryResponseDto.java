@@ -0,0 +1,22 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅 기록 한 페이지. messages 는 오래된 순서이며,
+ * 더 이전 메시지는 nextCursorId 를 cursorId 로 넘겨 조회한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatHistoryResponseDto {
+    private List<ChatHistoryMessageDto> messages;
+    private boolean hasNext;
+    private Long nextCursorId;
+}
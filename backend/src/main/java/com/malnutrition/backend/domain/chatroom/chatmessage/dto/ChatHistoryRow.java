@@ -0,0 +1,18 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
+
+import java.time.LocalDateTime;
+
+// ChatMessageRepository.findHistoryBefore / findAfterSeq 의 조회 결과 (DB 컬럼 그대로)
+public record ChatHistoryRow(Long id,
+                             Long seq,
+                             String clientMessageId,
+                             Long senderId,
+                             String writerName,
+                             Long profileImageId,
+                             String profileImagePath,
+                             String message,
+                             UserType userType,
+                             LocalDateTime createdDate) {
+}
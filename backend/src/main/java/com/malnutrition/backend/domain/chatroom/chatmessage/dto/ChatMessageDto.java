@@ -12,4 +12,7 @@ public class ChatMessageDto {
     private String writerName;    // 작성자 (보낸 사람)
     private String receiverName;  // 수신자
     private String message;       // 메시지 본문
+    private String profileImageUrl; // 작성자 프로필 이미지 (서버에서 채움)
+    private String clientMessageId; // 클라이언트가 만든 메시지 id. 같은 값으로 재전송하면 한 번만 처리된다.
+    private Long seq;               // 방 안 순번 (서버에서 채움)
 }
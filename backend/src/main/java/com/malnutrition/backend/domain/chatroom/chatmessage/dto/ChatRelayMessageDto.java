@@ -0,0 +1,19 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 노드 간 채팅 메시지 전달 단위 (Redis pub/sub).
+ * payload 는 발행 노드에서 한 번만 직렬화한 본문이고, 받는 노드는 다시 변환하지 않고 그대로 구독자에게 쓴다.
+ * text 가 true 면 문자열 본문(text/plain), 아니면 JSON 본문이다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRelayMessageDto {
+    private String destination;
+    private boolean text;
+    private String payload;
+}
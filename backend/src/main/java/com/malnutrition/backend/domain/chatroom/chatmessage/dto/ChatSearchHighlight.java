@@ -0,0 +1,5 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+// snippet 안에서 검색어가 걸린 위치. 클라이언트가 이 범위를 강조 표시한다. (HTML 을 내려보내지 않음)
+public record ChatSearchHighlight(int start, int length) {
+}
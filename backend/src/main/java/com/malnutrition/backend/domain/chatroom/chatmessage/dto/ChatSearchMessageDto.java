@@ -0,0 +1,23 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatSearchMessageDto {
+    private Long id;                          // 메시지 ID (채팅방 기록에서 이 위치로 이동할 때 사용)
+    private Long roomId;
+    private Long senderId;
+    private String writerName;
+    private String snippet;                   // 검색어 주변 본문
+    private List<ChatSearchHighlight> highlights;
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,22 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅 검색 결과 한 페이지 (최신순).
+ * 다음 페이지는 nextCursorId 를 cursorId 로 넘겨 조회한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatSearchResponseDto {
+    private List<ChatSearchMessageDto> messages;
+    private boolean hasNext;
+    private Long nextCursorId;
+}
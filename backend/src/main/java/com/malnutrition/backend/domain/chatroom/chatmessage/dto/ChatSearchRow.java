@@ -0,0 +1,12 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import java.time.LocalDateTime;
+
+// 채팅 검색 native 쿼리 결과
+public record ChatSearchRow(Long id,
+                            Long roomId,
+                            Long senderId,
+                            String writerName,
+                            String message,
+                            LocalDateTime createdDate) {
+}
@@ -0,0 +1,16 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import java.security.Principal;
+
+/**
+ * STOMP CONNECT 시 JWT 로 확인한 발신자 정보. 연결 동안 바뀌지 않으며 세션 attribute 에 저장해 SEND 마다 재사용한다.
+ * (메시지 payload 의 닉네임은 신뢰하지 않는다.)
+ */
+public record ChatSenderDto(Long id, String nickname, String profileImageUrl) implements Principal {
+    public static final String SESSION_ATTRIBUTE = "chatSender";
+
+    @Override
+    public String getName() {
+        return String.valueOf(id);
+    }
+}
@@ -0,0 +1,22 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.dto;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
+
+import java.time.LocalDateTime;
+
+// write-behind 큐에 들어가는 저장 대기 메시지. createdDate 는 브로드캐스트 시점 기준으로 고정한다.
+public record PendingChatMessageDto(Long roomId,
+                                    Long senderId,
+                                    String message,
+                                    UserType userType,
+                                    Long seq,
+                                    String clientMessageId,
+                                    LocalDateTime createdDate,
+                                    long enqueuedAtNanos) {
+
+    public static PendingChatMessageDto of(Long roomId, Long senderId, String message, UserType userType,
+                                           Long seq, String clientMessageId) {
+        return new PendingChatMessageDto(roomId, senderId, message, userType, seq, clientMessageId,
+                LocalDateTime.now(), System.nanoTime());
+    }
+}
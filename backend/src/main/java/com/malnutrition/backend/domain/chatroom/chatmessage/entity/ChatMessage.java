@@ -20,7 +20,13 @@ import javax.print.attribute.standard.MediaSize;
 @Getter
 @Setter
 @AllArgsConstructor
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        // 채팅 기록 keyset 조회 (chatroom_id = ? AND id < ? ORDER BY id DESC)
+        @Index(name = "idx_chat_messages_room_id", columnList = "chatroom_id, id")
+}, uniqueConstraints = {
+        // 방 단위 순번. 재연결한 클라이언트는 마지막으로 받은 seq 이후만 조회한다. (seq 가 없는 이전 메시지는 NULL)
+        @UniqueConstraint(name = "uk_chat_messages_room_seq", columnNames = {"chatroom_id", "seq"})
+})
 public class ChatMessage extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,4 +43,12 @@ public class ChatMessage extends BaseEntity {
     @Enumerated(EnumType.STRING)
     UserType userType;
 
+    // 방 안에서 단조 증가하는 순번 (ChatSequenceService)
+    @Column(name = "seq")
+    Long seq;
+
+    // 클라이언트가 붙여 보내는 메시지 id. 재전송 중복 제거와 낙관적 표시 메시지 대조에 쓴다.
+    @Column(name = "client_message_id", length = 64)
+    String clientMessageId;
+
 }
@@ -0,0 +1,84 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.repository;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.PendingChatMessageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 JDBC 배치 INSERT.
+ * rewriteBatchedStatements=true 로 multi-row INSERT 가 되므로 id 는 IDENTITY 그대로 둔다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatMessageJdbcRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_messages (chatroom_id, sender_id, message, user_type, seq, client_message_id, created_date, updated_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // (chatroom_id, id) 인덱스를 뒤에서부터 읽으므로 방의 메시지 수와 관계없이 한 번에 끝난다.
+    private static final String UPDATE_LAST_MESSAGE_SQL =
+            "UPDATE chat_rooms SET " +
+            "last_message_id = (SELECT MAX(id) FROM chat_messages WHERE chatroom_id = ? AND user_type = 'TALK'), " +
+            "last_message_date = GREATEST(COALESCE(last_message_date, ?), ?) " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<PendingChatMessageDto> messages) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PendingChatMessageDto message = messages.get(i);
+                Timestamp createdDate = Timestamp.valueOf(message.createdDate());
+                ps.setLong(1, message.roomId());
+                ps.setLong(2, message.senderId());
+                ps.setString(3, message.message());
+                ps.setString(4, message.userType().name());
+                ps.setObject(5, message.seq(), Types.BIGINT);
+                ps.setString(6, message.clientMessageId());
+                ps.setTimestamp(7, createdDate);
+                ps.setTimestamp(8, createdDate);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return messages.size();
+            }
+        });
+    }
+
+    /**
+     * 방 목록 미리보기용 chat_rooms.last_message_id / last_message_date 갱신.
+     * batchInsert 와 같은 트랜잭션에서 호출한다. lastMessageDates 는 방별 이번 배치의 마지막 메시지 시각이다.
+     */
+    public void updateLastMessages(Map<Long, LocalDateTime> lastMessageDates) {
+        List<Map.Entry<Long, LocalDateTime>> rooms = new ArrayList<>(lastMessageDates.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, LocalDateTime> room = rooms.get(i);
+                Timestamp lastMessageDate = Timestamp.valueOf(room.getValue());
+                ps.setLong(1, room.getKey());
+                ps.setTimestamp(2, lastMessageDate);
+                ps.setTimestamp(3, lastMessageDate);
+                ps.setLong(4, room.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rooms.size();
+            }
+        });
+    }
+}
@@ -1,7 +1,9 @@
 package com.malnutrition.backend.domain.chatroom.chatmessage.repository;
 
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatHistoryRow;
 import com.malnutrition.backend.domain.chatroom.chatmessage.entity.ChatMessage;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -26,8 +28,40 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     List<ChatMessage> findByChatRoomIdOrderByCreatedDateAsc(@Param("chatRoomId") Long chatRoomId);
 
 
+    // 작성자 닉네임/프로필 이미지까지 한 번에 가져오는 projection. 엔티티를 올리지 않아 N+1 이 없다.
+    @Query("SELECT new com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatHistoryRow(" +
+            "cm.id, cm.seq, cm.clientMessageId, s.id, s.nickname, pi.id, pi.path, cm.message, cm.userType, cm.createdDate) " +
+            "FROM ChatMessage cm " +
+            "JOIN cm.sender s " +
+            "LEFT JOIN s.profileImage pi " +
+            "WHERE cm.chatRoom.id = :chatRoomId AND cm.id < :cursorId " +
+            "ORDER BY cm.id DESC")
+    List<ChatHistoryRow> findHistoryBefore(@Param("chatRoomId") Long chatRoomId,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    // 재연결 catch-up. (chatroom_id, seq) 유니크 인덱스 범위 스캔으로 빠진 구간만 읽는다.
+    @Query("SELECT new com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatHistoryRow(" +
+            "cm.id, cm.seq, cm.clientMessageId, s.id, s.nickname, pi.id, pi.path, cm.message, cm.userType, cm.createdDate) " +
+            "FROM ChatMessage cm " +
+            "JOIN cm.sender s " +
+            "LEFT JOIN s.profileImage pi " +
+            "WHERE cm.chatRoom.id = :chatRoomId AND cm.seq > :afterSeq " +
+            "ORDER BY cm.seq ASC")
+    List<ChatHistoryRow> findAfterSeq(@Param("chatRoomId") Long chatRoomId,
+                                      @Param("afterSeq") Long afterSeq,
+                                      Pageable pageable);
+
+    // Redis 순번 키가 없을 때 시작값
+    @Query("SELECT MAX(cm.seq) FROM ChatMessage cm WHERE cm.chatRoom.id = :roomId")
+    Optional<Long> findMaxSeq(@Param("roomId") Long roomId);
+
     Optional<ChatMessage> findTopByChatRoomIdAndSenderIdOrderByCreatedDateDesc(Long chatRoomId, Long senderId);
 
+    // 읽음 처리 기준. (chatroom_id, id) 인덱스 끝 한 건만 읽는다.
+    @Query("SELECT MAX(cm.id) FROM ChatMessage cm WHERE cm.chatRoom.id = :roomId")
+    Optional<Long> findLastMessageId(@Param("roomId") Long roomId);
+
 
     @Modifying
     @Query("DELETE FROM ChatMessage cm WHERE cm.chatRoom = :chatRoom")
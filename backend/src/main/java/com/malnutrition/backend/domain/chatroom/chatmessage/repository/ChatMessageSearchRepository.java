@@ -0,0 +1,48 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.repository;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 채팅 메시지 FULLTEXT(ngram) 검색.
+ * MATCH ... AGAINST 는 JPQL 로 표현할 수 없어 native SQL 로 둔다.
+ * 방 조건은 호출자가 참여한 방 id 로 제한하고, id 역순 keyset 으로 페이지를 나눈다.
+ * 인덱스(ft_chat_messages_message)는 운영 절차로 만든다. (resources/db/ops/chat_messages_fulltext_index.sql)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatMessageSearchRepository {
+    private static final String SEARCH_SQL =
+            "SELECT m.id, m.chatroom_id, m.sender_id, u.nickname, m.message, m.created_date " +
+            "FROM chat_messages m " +
+            "JOIN users u ON u.id = m.sender_id " +
+            "WHERE MATCH(m.message) AGAINST(:query IN BOOLEAN MODE) " +
+            "AND m.chatroom_id IN (:roomIds) " +
+            "AND m.user_type = 'TALK' " +
+            "AND m.id < :cursorId " +
+            "ORDER BY m.id DESC " +
+            "LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public List<ChatSearchRow> search(String booleanQuery, Collection<Long> roomIds, long cursorId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", booleanQuery)
+                .addValue("roomIds", roomIds)
+                .addValue("cursorId", cursorId)
+                .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(SEARCH_SQL, params, (rs, rowNum) -> new ChatSearchRow(
+                rs.getLong("id"),
+                rs.getLong("chatroom_id"),
+                rs.getLong("sender_id"),
+                rs.getString("nickname"),
+                rs.getString("message"),
+                rs.getTimestamp("created_date").toLocalDateTime()));
+    }
+}
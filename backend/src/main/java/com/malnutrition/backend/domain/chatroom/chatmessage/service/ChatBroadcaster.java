@@ -0,0 +1,10 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+/**
+ * 채팅방 구독자(/subscribe/.../room/{roomId})에게 메시지를 전달한다.
+ * custom.chat.broker.type 에 따라 노드 내부 전달(SimpleChatBroadcaster) 또는 Redis 를 거친 전체 노드 전달(RedisChatBroadcaster)을 사용한다.
+ */
+public interface ChatBroadcaster {
+
+    void broadcast(Long roomId, String destination, Object payload);
+}
@@ -0,0 +1,49 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 클라이언트 메시지 id(clientMessageId) 기준 재전송 중복 제거.
+ * SockJS 재연결 뒤 같은 메시지를 다시 보내면 다른 노드로 들어올 수 있어 Redis SET NX 로 확인한다.
+ * 키는 dedupTtl 동안만 유지한다. (재연결 재전송은 그 안에 일어남)
+ */
+@Service
+public class ChatMessageDeduplicator {
+    private static final int MAX_CLIENT_MESSAGE_ID_LENGTH = 64;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatProperties chatProperties;
+    private final Counter duplicates;
+
+    public ChatMessageDeduplicator(StringRedisTemplate redisTemplate,
+                                   ChatProperties chatProperties,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.chatProperties = chatProperties;
+        this.duplicates = Counter.builder("chat.message.duplicate")
+                .description("clientMessageId 중복으로 버린 재전송 메시지 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 처음 보는 메시지면 true. clientMessageId 가 없으면 중복 제거 없이 true.
+     */
+    public boolean claim(Long roomId, Long senderId, String clientMessageId) {
+        if (clientMessageId == null || clientMessageId.isBlank()) return true;
+        if (clientMessageId.length() > MAX_CLIENT_MESSAGE_ID_LENGTH) {
+            throw new IllegalArgumentException("clientMessageId 는 " + MAX_CLIENT_MESSAGE_ID_LENGTH + "자 이하여야 합니다.");
+        }
+        ChatProperties.Delivery delivery = chatProperties.getDelivery();
+        String key = delivery.getDedupKeyPrefix() + roomId + ":" + senderId + ":" + clientMessageId;
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(key, "1", delivery.getDedupTtl());
+        if (Boolean.FALSE.equals(claimed)) {
+            duplicates.increment();
+            return false;
+        }
+        return true;
+    }
+}
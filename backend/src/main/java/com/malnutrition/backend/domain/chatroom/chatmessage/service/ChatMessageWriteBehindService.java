@@ -0,0 +1,175 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.PendingChatMessageDto;
+import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
+import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 write-behind 저장.
+ * 메시지는 먼저 브로드캐스트하고 이 큐에 넣기만 하며, 전용 스레드가 flushBatchSize 개 또는 flushIntervalMs 마다 JDBC 배치로 저장한다.
+ * - 큐가 가득 차면 offerTimeoutMs 만큼 기다린 뒤에도 자리가 없을 때 호출 스레드에서 직접 저장한다. (유실 대신 발신자를 늦춤)
+ * - 종료 시에는 flush 스레드를 멈추고 큐에 남은 메시지를 모두 저장한 뒤 내려간다.
+ * - 배치가 실패하면(채팅방 삭제로 FK 위반 등) 한 건씩 다시 저장하고, 그래도 실패한 메시지만 버린다.
+ */
+@Slf4j
+@Service
+public class ChatMessageWriteBehindService {
+
+    private final ChatMessageJdbcRepository chatMessageJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatProperties.Persistence properties;
+    private final BlockingQueue<PendingChatMessageDto> queue;
+    private final DistributionSummary flushSize;
+    private final Timer persistLag;
+    private final Counter failed;
+    private final Counter backpressure;
+
+    private volatile boolean running = true;
+    private Thread flushThread;
+
+    public ChatMessageWriteBehindService(ChatMessageJdbcRepository chatMessageJdbcRepository,
+                                         TransactionTemplate transactionTemplate,
+                                         ChatProperties chatProperties,
+                                         MeterRegistry meterRegistry) {
+        this.chatMessageJdbcRepository = chatMessageJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = chatProperties.getPersistence();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.flushSize = DistributionSummary.builder("chat.persist.flush.size")
+                .description("한 번에 저장한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.persistLag = Timer.builder("chat.persist.lag")
+                .description("채팅 메시지가 큐에 들어간 뒤 DB 에 커밋되기까지 걸린 시간")
+                .register(meterRegistry);
+        this.failed = Counter.builder("chat.persist.failed")
+                .description("저장하지 못하고 버린 채팅 메시지 수")
+                .register(meterRegistry);
+        this.backpressure = Counter.builder("chat.persist.backpressure")
+                .description("큐가 가득 차 호출 스레드에서 직접 저장한 횟수")
+                .register(meterRegistry);
+        meterRegistry.gauge("chat.persist.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        flushThread = new Thread(this::runFlushLoop, "chat-persist-flush");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    public void enqueue(PendingChatMessageDto message) {
+        try {
+            if (queue.offer(message, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backpressure.increment();
+        log.warn("채팅 저장 큐가 가득 차 직접 저장합니다. queueSize={}", queue.size());
+        persist(List.of(message));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (flushThread != null) {
+            flushThread.interrupt();
+            try {
+                flushThread.join(properties.getShutdownTimeoutMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // flush 스레드가 끝내지 못한 나머지를 이 스레드에서 마저 저장한다.
+        List<PendingChatMessageDto> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += properties.getFlushBatchSize()) {
+            persist(remaining.subList(from, Math.min(from + properties.getFlushBatchSize(), remaining.size())));
+        }
+        log.info("채팅 저장 큐 종료 drain 완료 count={}", remaining.size());
+    }
+
+    private void runFlushLoop() {
+        List<PendingChatMessageDto> batch = new ArrayList<>(properties.getFlushBatchSize());
+        while (running) {
+            try {
+                PendingChatMessageDto first = queue.poll(properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+                while (batch.size() < properties.getFlushBatchSize()) {
+                    queue.drainTo(batch, properties.getFlushBatchSize() - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getFlushBatchSize() || remainingNanos <= 0) break;
+                    PendingChatMessageDto next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 종료 신호. 이미 꺼낸 batch 는 아래에서 저장하고, 큐의 나머지는 shutdown 이 처리한다.
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                persist(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<PendingChatMessageDto> messages) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(messages));
+            recordPersisted(messages);
+        } catch (Exception batchException) {
+            log.warn("채팅 메시지 배치 저장 실패, 한 건씩 재시도 count={}", messages.size(), batchException);
+            for (PendingChatMessageDto message : messages) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(message)));
+                    recordPersisted(List.of(message));
+                } catch (Exception e) {
+                    failed.increment();
+                    log.error("채팅 메시지 저장 실패 roomId={}, senderId={}", message.roomId(), message.senderId(), e);
+                }
+            }
+        }
+    }
+
+    // 메시지 INSERT 와 방 목록용 last_message 갱신을 한 트랜잭션으로 묶는다.
+    private void insert(List<PendingChatMessageDto> messages) {
+        chatMessageJdbcRepository.batchInsert(messages);
+        Map<Long, LocalDateTime> lastMessageDates = new HashMap<>();
+        for (PendingChatMessageDto message : messages) {
+            if (message.userType() != UserType.TALK) continue;
+            lastMessageDates.merge(message.roomId(), message.createdDate(),
+                    (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+        }
+        if (!lastMessageDates.isEmpty()) {
+            chatMessageJdbcRepository.updateLastMessages(lastMessageDates);
+        }
+    }
+
+    private void recordPersisted(List<PendingChatMessageDto> messages) {
+        flushSize.record(messages.size());
+        long now = System.nanoTime();
+        messages.forEach(message -> persistLag.record(now - message.enqueuedAtNanos(), TimeUnit.NANOSECONDS));
+    }
+}
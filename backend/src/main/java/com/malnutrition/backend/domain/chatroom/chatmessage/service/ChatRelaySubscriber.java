@@ -0,0 +1,152 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatRelayMessageDto;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Redis 채팅 채널을 받아 이 노드의 simple broker 로 전달한다.
+ * 기동할 때 chat:room:* 패턴을 한 번 구독해 둔다. 첫 SUBSCRIBE 때 방 채널을 추가하면 Redis 구독이 비동기로 붙는 동안 온 메시지가 유실된다.
+ * 이 노드에 해당 방 구독자가 없으면 역직렬화 전에 버리므로, 브로커로 넘기는 작업은 노드에 붙어 있는 방 수에 비례한다.
+ * 구독 수는 SessionSubscribeEvent 에서 올리는데, 이 이벤트는 SUBSCRIBE 가 브로커에 등록되기 전에 발행되므로 그 사이 메시지도 걸러지지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.chat.broker.type", havingValue = "redis")
+public class ChatRelaySubscriber implements MessageListener {
+    private static final TypeReference<List<ChatRelayMessageDto>> BATCH_TYPE = new TypeReference<>() {};
+    private static final Pattern ROOM_DESTINATION = Pattern.compile("^/subscribe/(?:chat|enter|leave)/room/(\\d+)(?:/presence)?$");
+
+    private final RedisMessageListenerContainer chatMessageListenerContainer;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatProperties chatProperties;
+
+    // roomId -> 이 노드의 구독 수
+    private final Map<Long, Integer> roomSubscriptions = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    public ChatRelaySubscriber(@Qualifier("chatMessageListenerContainer") RedisMessageListenerContainer chatMessageListenerContainer,
+                               SimpMessagingTemplate messagingTemplate,
+                               ObjectMapper objectMapper,
+                               ChatProperties chatProperties) {
+        this.chatMessageListenerContainer = chatMessageListenerContainer;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.chatProperties = chatProperties;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        chatMessageListenerContainer.addMessageListener(this, new PatternTopic(chatProperties.getBroker().getChannelPrefix() + "*"));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Long roomId = parseChannelRoomId(new String(message.getChannel(), StandardCharsets.UTF_8));
+        if (roomId == null || !roomSubscriptions.containsKey(roomId)) return;
+
+        List<ChatRelayMessageDto> batch;
+        try {
+            batch = objectMapper.readValue(message.getBody(), BATCH_TYPE);
+        } catch (IOException e) {
+            log.error("채팅 relay 메시지 역직렬화 실패", e);
+            return;
+        }
+        for (ChatRelayMessageDto relayMessage : batch) {
+            if (relayMessage.isText()) {
+                messagingTemplate.convertAndSend(relayMessage.getDestination(), relayMessage.getPayload());
+            } else {
+                // 이미 JSON 이므로 다시 직렬화하지 않고 바이트 그대로 보낸다.
+                messagingTemplate.send(relayMessage.getDestination(),
+                        MessageBuilder.createMessage(relayMessage.getPayload().getBytes(StandardCharsets.UTF_8), jsonHeaders()));
+            }
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = parseRoomId(accessor.getDestination());
+        if (roomId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) return;
+
+        sessionSubscriptions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+        roomSubscriptions.merge(roomId, 1, Integer::sum);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) return;
+        Long roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null) release(roomId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions == null) return;
+        subscriptions.values().forEach(this::release);
+    }
+
+    private void release(Long roomId) {
+        roomSubscriptions.computeIfPresent(roomId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // convertAndSend 에 Map 으로 넘기면 native header 로 들어가고, JSON content-type 이면 byte[] 를 Jackson 이 다시 변환한다.
+    // 메시지를 직접 만들어 보낸다. 브로커가 destination 을 채울 수 있도록 메시지마다 mutable accessor 를 새로 만든다.
+    private MessageHeaders jsonHeaders() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    private Long parseChannelRoomId(String channel) {
+        String prefix = chatProperties.getBroker().getChannelPrefix();
+        if (!channel.startsWith(prefix)) return null;
+        try {
+            return Long.valueOf(channel.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Long parseRoomId(String destination) {
+        if (destination == null) return null;
+        Matcher matcher = ROOM_DESTINATION.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchHighlight;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchMessageDto;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchResponseDto;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchRow;
+import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageSearchRepository;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership;
+import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 내가 참여한 채팅방의 메시지 검색.
+ * 검색어는 공백으로 나눈 단어를 모두 포함하는(+"단어") BOOLEAN MODE 쿼리로 바꾸고,
+ * 결과 본문은 첫 번째 검색어 주변만 잘라 강조 위치와 함께 내려준다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatSearchService {
+    // BOOLEAN MODE 연산자. 사용자가 입력해도 연산자로 해석되지 않게 지운다.
+    private static final String BOOLEAN_OPERATORS = "[+\\-<>()~*\"@]";
+    private static final String ELLIPSIS = "…";
+
+    private final ChatMessageSearchRepository chatMessageSearchRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomMembershipService chatRoomMembershipService;
+    private final ChatProperties chatProperties;
+
+    @Transactional(readOnly = true)
+    public ChatSearchResponseDto search(Long userId, String keyword, Long roomId, Long cursorId, int size) {
+        ChatProperties.Search search = chatProperties.getSearch();
+        List<String> terms = toTerms(keyword, search.getMinTermLength());
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("검색어는 " + search.getMinTermLength() + "글자 이상 입력해주세요.");
+        }
+
+        List<Long> roomIds;
+        if (roomId != null) {
+            ChatRoomMembership membership = chatRoomMembershipService.getMembership(roomId)
+                    .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
+            if (!membership.isParticipant(userId)) {
+                throw new AccessDeniedException("이 채팅방에 접근 권한이 없습니다.");
+            }
+            roomIds = List.of(roomId);
+        } else {
+            roomIds = chatRoomRepository.findRoomIdsByUserId(userId);
+        }
+        if (roomIds.isEmpty()) {
+            return ChatSearchResponseDto.builder().messages(List.of()).hasNext(false).build();
+        }
+
+        int pageSize = Math.max(1, Math.min(size, search.getMaxPageSize()));
+        List<ChatSearchRow> rows = chatMessageSearchRepository.search(
+                toBooleanQuery(terms), roomIds, cursorId == null ? Long.MAX_VALUE : cursorId, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ChatSearchRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<ChatSearchMessageDto> messages = new ArrayList<>(page.size());
+        for (ChatSearchRow row : page) {
+            messages.add(toMessageDto(row, terms, search.getSnippetRadius()));
+        }
+        return ChatSearchResponseDto.builder()
+                .messages(messages)
+                .hasNext(hasNext)
+                .nextCursorId(hasNext ? page.get(page.size() - 1).id() : null)
+                .build();
+    }
+
+    private List<String> toTerms(String keyword, int minTermLength) {
+        if (keyword == null) return List.of();
+        return Arrays.stream(keyword.replaceAll(BOOLEAN_OPERATORS, " ").trim().split("\\s+"))
+                .filter(term -> term.length() >= minTermLength)
+                .distinct()
+                .toList();
+    }
+
+    // ngram 파서에서 "단어" 는 해당 ngram 들이 연속으로 나오는 문서만 찾는다.
+    private String toBooleanQuery(List<String> terms) {
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (!query.isEmpty()) query.append(' ');
+            query.append("+\"").append(term).append('"');
+        }
+        return query.toString();
+    }
+
+    private ChatSearchMessageDto toMessageDto(ChatSearchRow row, List<String> terms, int radius) {
+        String message = row.message() == null ? "" : row.message();
+        String lowerMessage = message.toLowerCase(Locale.ROOT);
+
+        int firstMatch = -1;
+        for (String term : terms) {
+            int index = lowerMessage.indexOf(term.toLowerCase(Locale.ROOT));
+            if (index >= 0 && (firstMatch < 0 || index < firstMatch)) firstMatch = index;
+        }
+        int from = firstMatch < 0 ? 0 : Math.max(0, firstMatch - radius);
+        int to = Math.min(message.length(), (firstMatch < 0 ? 0 : firstMatch) + radius * 2);
+        String prefix = from > 0 ? ELLIPSIS : "";
+        String snippet = prefix + message.substring(from, to) + (to < message.length() ? ELLIPSIS : "");
+
+        // snippet 기준 위치로 모든 검색어 위치를 계산한다.
+        List<ChatSearchHighlight> highlights = new ArrayList<>();
+        String lowerWindow = lowerMessage.substring(from, to);
+        for (String term : terms) {
+            String lowerTerm = term.toLowerCase(Locale.ROOT);
+            for (int index = lowerWindow.indexOf(lowerTerm); index >= 0; index = lowerWindow.indexOf(lowerTerm, index + lowerTerm.length())) {
+                highlights.add(new ChatSearchHighlight(prefix.length() + index, lowerTerm.length()));
+            }
+        }
+        highlights.sort((a, b) -> Integer.compare(a.start(), b.start()));
+
+        return ChatSearchMessageDto.builder()
+                .id(row.id())
+                .roomId(row.roomId())
+                .senderId(row.senderId())
+                .writerName(row.writerName())
+                .snippet(snippet)
+                .highlights(highlights)
+                .createdDate(row.createdDate())
+                .build();
+    }
+}
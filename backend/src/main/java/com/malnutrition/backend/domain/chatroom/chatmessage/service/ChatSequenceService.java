@@ -0,0 +1,68 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 채팅방 순번 발급.
+ * - Redis INCR 로 노드와 관계없이 방마다 단조 증가하는 seq 를 준다.
+ * - 방을 만들 때 키를 0 으로 만들어 두므로, 발급 중에 키가 없으면 유실된 것으로 보고
+ *   DB 의 MAX(seq) + seqSeedGap 에서 다시 시작한다. (저장된 메시지가 없으면 seqSeedGap 부터)
+ *   write-behind 큐에 아직 저장되지 않은 순번과 겹치지 않게 간격을 두며, 중간에 빈 번호가 생기는 것은 문제가 없다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatSequenceService {
+    private static final RedisScript<Long> INCR_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+            "return redis.call('INCR', KEYS[1])",
+            Long.class);
+
+    // 다른 노드가 먼저 채웠으면 그 값을 그대로 이어서 쓴다.
+    private static final RedisScript<Long> SEED_AND_INCR = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'NX') " +
+            "return redis.call('INCR', KEYS[1])",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatProperties chatProperties;
+
+    public long nextSeq(Long roomId) {
+        List<String> keys = List.of(chatProperties.getDelivery().getSeqKeyPrefix() + roomId);
+        Long seq = redisTemplate.execute(INCR_IF_EXISTS, keys);
+        if (seq != null) return seq;
+
+        // 저장된 메시지가 없어도 write-behind 큐에 순번이 남아 있을 수 있으므로 항상 간격을 둔다.
+        long seed = chatMessageRepository.findMaxSeq(roomId).orElse(0L) + chatProperties.getDelivery().getSeqSeedGap();
+        return redisTemplate.execute(SEED_AND_INCR, keys, String.valueOf(seed));
+    }
+
+    // 방 생성 시 0 부터 시작하도록 키를 만든다.
+    public void initialize(Long roomId) {
+        redisTemplate.opsForValue().setIfAbsent(chatProperties.getDelivery().getSeqKeyPrefix() + roomId, "0");
+    }
+
+    /**
+     * 지금까지 발급한 마지막 순번. write-behind 큐에 있어 아직 저장되지 않은 메시지까지 포함한다.
+     * 키가 없으면 저장된 메시지 중 가장 큰 순번을 쓴다. (다음 발급은 그보다 seqSeedGap 만큼 뒤에서 시작하므로 겹치지 않는다)
+     */
+    public Optional<Long> currentSeq(Long roomId) {
+        String seq = redisTemplate.opsForValue().get(chatProperties.getDelivery().getSeqKeyPrefix() + roomId);
+        if (seq != null) return Optional.of(Long.parseLong(seq));
+        return chatMessageRepository.findMaxSeq(roomId);
+    }
+
+    // 방이 삭제되면 순번 키도 지운다.
+    public void delete(Long roomId) {
+        redisTemplate.delete(chatProperties.getDelivery().getSeqKeyPrefix() + roomId);
+    }
+}
@@ -1,4 +1,5 @@
 package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
 import com.malnutrition.backend.domain.chatroom.chatmessage.dto.*;
 import com.malnutrition.backend.domain.chatroom.chatmessage.entity.ChatMessage;
 import com.malnutrition.backend.domain.chatroom.chatmessage.enums.MessageType;
@@ -6,16 +7,23 @@ import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
 import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
 import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipService;
 import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomService;
+import com.malnutrition.backend.domain.image.service.ImageService;
 import com.malnutrition.backend.domain.user.user.entity.User;
 import com.malnutrition.backend.domain.user.user.repository.UserRepository;
+import com.malnutrition.backend.global.ut.TransactionUt;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class ChatService {
@@ -23,7 +31,11 @@ public class ChatService {
     private final UserRepository userRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRoomService chatRoomService;
+    private final ChatRoomMembershipService chatRoomMembershipService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ImageService imageService;
+    private final ChatSequenceService chatSequenceService;
+    private final ChatProperties chatProperties;
 
     @Transactional
     public ChatMessage updateChatMessage(Long messageId, ChatMessageUpdateRequestDto dto, Long userId) {
@@ -81,6 +93,12 @@ public class ChatService {
 
             chatMessageRepository.deleteByChatRoom(chatRoom);
             chatRoomRepository.delete(chatRoom);
+
+            // 커밋 전에 비우면 다른 요청이 삭제 전 참여자 정보를 다시 채울 수 있어 커밋 후에 비운다.
+            TransactionUt.afterCommit(() -> {
+                chatRoomMembershipService.invalidate(roomId);
+                chatSequenceService.delete(roomId);
+            });
         }
     }
     @Transactional(readOnly = true)
@@ -125,4 +143,75 @@ public class ChatService {
                 .userType(userType)
                 .build();
     }
-}
\ No newline at end of file
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    /**
+     * cursorId 보다 이전 메시지를 size 개 조회한다. (cursorId 가 없으면 가장 최근부터)
+     * (chatroom_id, id) 인덱스 범위 스캔이라 방의 전체 메시지 수와 관계없이 일정한 비용이다.
+     */
+    @Transactional(readOnly = true)
+    public ChatHistoryResponseDto getChatHistory(Long roomId, Long userId, Long cursorId, int size) {
+        if (!chatRoomMembershipService.getMembership(roomId)
+                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."))
+                .isParticipant(userId)) {
+            throw new AccessDeniedException("이 채팅방에 접근 권한이 없습니다.");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        List<ChatHistoryRow> rows = chatMessageRepository.findHistoryBefore(
+                roomId, cursorId == null ? Long.MAX_VALUE : cursorId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ChatHistoryRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<ChatHistoryMessageDto> messages = new ArrayList<>(page.size());
+        // 최신순으로 읽었으므로 화면 표시 순서(오래된 순)로 뒤집는다.
+        for (int i = page.size() - 1; i >= 0; i--) {
+            messages.add(toHistoryMessageDto(page.get(i)));
+        }
+        return ChatHistoryResponseDto.builder()
+                .messages(messages)
+                .hasNext(hasNext)
+                .nextCursorId(hasNext ? page.get(page.size() - 1).id() : null)
+                .build();
+    }
+
+    /**
+     * 재연결한 클라이언트가 마지막으로 받은 seq 이후 메시지만 조회한다. (빠진 구간만)
+     * 아직 write-behind 큐에 있는 메시지는 다음 호출이나 실시간 구독으로 받는다.
+     */
+    @Transactional(readOnly = true)
+    public ChatCatchUpResponseDto getMessagesAfterSeq(Long roomId, Long userId, long afterSeq, int size) {
+        if (!chatRoomMembershipService.getMembership(roomId)
+                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."))
+                .isParticipant(userId)) {
+            throw new AccessDeniedException("이 채팅방에 접근 권한이 없습니다.");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, chatProperties.getDelivery().getMaxCatchUpSize()));
+        List<ChatHistoryRow> rows = chatMessageRepository.findAfterSeq(roomId, afterSeq, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ChatHistoryRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<ChatHistoryMessageDto> messages = page.stream().map(this::toHistoryMessageDto).toList();
+        return ChatCatchUpResponseDto.builder()
+                .messages(messages)
+                .hasNext(hasNext)
+                .lastSeq(page.isEmpty() ? afterSeq : page.get(page.size() - 1).seq())
+                .build();
+    }
+
+    private ChatHistoryMessageDto toHistoryMessageDto(ChatHistoryRow row) {
+        return ChatHistoryMessageDto.builder()
+                .id(row.id())
+                .seq(row.seq())
+                .clientMessageId(row.clientMessageId())
+                .senderId(row.senderId())
+                .writerName(row.writerName())
+                .profileImageUrl(row.profileImageId() == null ? null : imageService.getImageUrl(row.profileImageId(), row.profileImagePath()))
+                .message(row.message())
+                .userType(row.userType())
+                .createdDate(row.createdDate())
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatRelayMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅 메시지를 방별 Redis 채널(chat:room:{roomId})로 발행한다.
+ * 같은 방 메시지는 batchIntervalMs 동안 모아 JSON 배열 하나로 PUBLISH 하고, maxBatchSize 만큼 쌓이면 바로 보낸다.
+ * 방 단위로 잠그고 발행하므로 한 방 안의 메시지 순서는 유지된다.
+ * 이 노드의 구독자도 Redis 를 거쳐 받는다. (ChatRelaySubscriber)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.chat.broker.type", havingValue = "redis")
+public class RedisChatBroadcaster implements ChatBroadcaster {
+
+    private static class RoomBatch {
+        private final String channel;
+        private final Queue<ChatRelayMessageDto> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private RoomBatch(String channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatProperties chatProperties;
+    private final Map<String, RoomBatch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Counter publishedMessages;
+    private final DistributionSummary batchSize;
+
+    public RedisChatBroadcaster(StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                ChatProperties chatProperties,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.chatProperties = chatProperties;
+        this.publishedMessages = Counter.builder("chat.relay.published")
+                .description("Redis 로 발행한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("chat.relay.batch.size")
+                .description("PUBLISH 한 번에 담긴 채팅 메시지 수")
+                .register(meterRegistry);
+        long interval = chatProperties.getBroker().getBatchIntervalMs();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-relay-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void broadcast(Long roomId, String destination, Object payload) {
+        ChatRelayMessageDto relayMessage = toRelayMessage(destination, payload);
+        if (relayMessage == null) return;
+
+        String channel = chatProperties.getBroker().getChannelPrefix() + roomId;
+        RoomBatch batch = pending.computeIfAbsent(channel, RoomBatch::new);
+        batch.queue.add(relayMessage);
+        int queued = batch.size.incrementAndGet();
+
+        // flushAll 이 빈 batch 를 맵에서 뺀 직후에 넣었다면 아무도 flush 하지 않으므로 여기서 보낸다.
+        if (queued >= chatProperties.getBroker().getMaxBatchSize() || pending.get(channel) != batch) {
+            flush(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushAll();
+    }
+
+    private void flushAll() {
+        pending.values().forEach(batch -> {
+            flush(batch);
+            synchronized (batch) {
+                if (batch.size.get() == 0) pending.remove(batch.channel, batch);
+            }
+        });
+    }
+
+    private void flush(RoomBatch batch) {
+        synchronized (batch) {
+            List<ChatRelayMessageDto> messages = new ArrayList<>();
+            ChatRelayMessageDto message;
+            while ((message = batch.queue.poll()) != null) {
+                messages.add(message);
+            }
+            if (messages.isEmpty()) return;
+            batch.size.addAndGet(-messages.size());
+            try {
+                redisTemplate.convertAndSend(batch.channel, objectMapper.writeValueAsString(messages));
+                publishedMessages.increment(messages.size());
+                batchSize.record(messages.size());
+            } catch (Exception e) {
+                log.error("채팅 메시지 Redis 발행 실패 channel={}, count={}", batch.channel, messages.size(), e);
+            }
+        }
+    }
+
+    // 본문은 여기서 한 번만 직렬화한다. 문자열은 simple broker 와 같은 결과가 되도록 그대로 둔다.
+    private ChatRelayMessageDto toRelayMessage(String destination, Object payload) {
+        if (payload instanceof String text) {
+            return new ChatRelayMessageDto(destination, true, text);
+        }
+        try {
+            return new ChatRelayMessageDto(destination, false, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.error("채팅 메시지 직렬화 실패 destination={}", destination, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// 단일 노드용. 이 노드의 simple broker 로 바로 보낸다.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.chat.broker.type", havingValue = "simple", matchIfMissing = true)
+public class SimpleChatBroadcaster implements ChatBroadcaster {
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void broadcast(Long roomId, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
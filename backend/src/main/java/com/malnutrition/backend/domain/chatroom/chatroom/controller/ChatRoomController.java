@@ -4,12 +4,14 @@ import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatMessageRespo
 import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
 //import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatService;
 import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatService;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomRequestDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomResponseDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomSummaryDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomUpdateRequestDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
 import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipService;
 import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomService;
 import com.malnutrition.backend.global.rp.ApiResponse;
 import com.malnutrition.backend.global.rq.Rq;
@@ -34,6 +36,7 @@ public class ChatRoomController {
     private final ChatMessageRepository chatMessageRepository;
     private final Rq rq;
     private final ChatService chatService;
+    private final ChatRoomMembershipService chatRoomMembershipService;
 
     @PostMapping
     public ResponseEntity<?> createChatRoom(@RequestBody ChatRoomRequestDto requestDto) {
@@ -64,12 +67,11 @@ public class ChatRoomController {
 
     @GetMapping("/{roomId}/access-check")
     public ResponseEntity<?> checkAccess(@PathVariable Long roomId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+        ChatRoomMembership membership = chatRoomMembershipService.getMembership(roomId)
                 .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
         Long userId = rq.getActor().getId();
 
-        boolean hasAccess = chatRoom.getSender().getId().equals(userId)
-                || chatRoom.getReceiver().getId().equals(userId);
+        boolean hasAccess = membership.isParticipant(userId);
 
         if (!hasAccess) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -111,15 +113,20 @@ public class ChatRoomController {
     public ResponseEntity<?> getMyChatRooms() {
         Long userId = rq.getActor().getId();
 
-        List<ChatRoom> chatRooms = chatRoomRepository.findBySenderIdOrReceiverId(userId, userId);
-
-        List<ChatRoomSummaryDto> response = chatRooms.stream()
-                .map(chatRoom -> ChatRoomSummaryDto.from(chatRoom, userId))
-                .collect(Collectors.toList());
+        List<ChatRoomSummaryDto> response = chatRoomService.getMyChatRoomSummaries(userId);
 
         return ResponseEntity.ok(ApiResponse.success(response,"조회 성공!"));
     }
 
+    // messageId(저장된 메시지) 또는 seq(실시간으로 받은 메시지) 까지 읽음 처리. 둘 다 없으면 방의 마지막 메시지까지
+    @PatchMapping("/{roomId}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable Long roomId,
+                                        @RequestParam(required = false) Long messageId,
+                                        @RequestParam(required = false) Long seq) {
+        chatRoomService.markAsRead(roomId, rq.getActor().getId(), messageId, seq);
+        return ResponseEntity.ok(ApiResponse.success(null, "읽음 처리 완료"));
+    }
+
     @DeleteMapping("/{roomId}/auto-delete")
     public ResponseEntity<?> deleteRoomIfAllLeft(@PathVariable Long roomId) {
         ChatRoom chatRoom = chatRoomRepository.findById(roomId)
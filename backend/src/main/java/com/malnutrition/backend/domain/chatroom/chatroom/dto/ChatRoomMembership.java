@@ -0,0 +1,9 @@
+package com.malnutrition.backend.domain.chatroom.chatroom.dto;
+
+// 채팅방 권한 확인용 참여자 정보 (캐시 값). 엔티티 대신 id 만 캐시에 올린다.
+public record ChatRoomMembership(Long roomId, Long senderId, Long receiverId) {
+
+    public boolean isParticipant(Long userId) {
+        return userId != null && (userId.equals(senderId) || userId.equals(receiverId));
+    }
+}
@@ -1,12 +1,12 @@
 package com.malnutrition.backend.domain.chatroom.chatroom.dto;
 
-import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
-import com.malnutrition.backend.domain.user.user.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Builder
 @NoArgsConstructor
@@ -15,16 +15,22 @@ public class ChatRoomSummaryDto {
     private Long roomId;
     private String title;
     private String opponentNickname;
+    private String lastMessage;           // 마지막 TALK 메시지 앞부분 (최대 ChatRoomRepository.SNIPPET_LENGTH 자)
+    private LocalDateTime lastMessageDate;
+    private long unreadCount;             // 내가 마지막으로 읽은 뒤 상대방이 보낸 메시지 수
 
-    public static ChatRoomSummaryDto from(ChatRoom chatRoom, Long currentUserId) {
-        User opponent = chatRoom.getSender().getId().equals(currentUserId)
-                ? chatRoom.getReceiver()
-                : chatRoom.getSender();
+    public static ChatRoomSummaryDto from(ChatRoomSummaryRow row, Long currentUserId) {
+        String opponentNickname = row.senderId().equals(currentUserId)
+                ? row.receiverNickname()
+                : row.senderNickname();
 
         return ChatRoomSummaryDto.builder()
-                .roomId(chatRoom.getId())
-                .title(chatRoom.getTitle())
-                .opponentNickname(opponent.getNickname())
+                .roomId(row.roomId())
+                .title(row.title())
+                .opponentNickname(opponentNickname)
+                .lastMessage(row.lastMessage())
+                .lastMessageDate(row.lastMessageDate())
+                .unreadCount(row.unreadCount() == null ? 0 : row.unreadCount())
                 .build();
     }
 }
@@ -0,0 +1,14 @@
+package com.malnutrition.backend.domain.chatroom.chatroom.dto;
+
+import java.time.LocalDateTime;
+
+// 채팅방 목록 조회 projection. 상대방 판별은 ChatRoomSummaryDto 에서 한다.
+public record ChatRoomSummaryRow(Long roomId,
+                                 String title,
+                                 Long senderId,
+                                 String senderNickname,
+                                 String receiverNickname,
+                                 String lastMessage,
+                                 LocalDateTime lastMessageDate,
+                                 Long unreadCount) {
+}
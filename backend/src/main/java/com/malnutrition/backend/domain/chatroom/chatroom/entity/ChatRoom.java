@@ -12,6 +12,7 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import net.minidev.json.annotate.JsonIgnore;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -20,7 +21,11 @@ import java.util.List;
 @Getter
 @Setter
 @AllArgsConstructor
-@Table(name = "chat_rooms")
+@Table(name = "chat_rooms", indexes = {
+        // 내 채팅방 목록 (sender_id = ? OR receiver_id = ?) 을 최근 대화 순으로 조회
+        @Index(name = "idx_chat_rooms_sender_last", columnList = "sender_id, last_message_date"),
+        @Index(name = "idx_chat_rooms_receiver_last", columnList = "receiver_id, last_message_date")
+})
 public class ChatRoom extends BaseEntity {
     private String title;
 
@@ -36,4 +41,26 @@ public class ChatRoom extends BaseEntity {
     @JoinColumn(name = "schedule_id")
     Schedule schedule;
 
+    // 목록 미리보기용 비정규화 컬럼. TALK 메시지 저장 시 갱신한다. (ChatMessageJdbcRepository)
+    @Column(name = "last_message_id")
+    Long lastMessageId;
+
+    @Column(name = "last_message_date")
+    LocalDateTime lastMessageDate;
+
+    // 참여자별로 어디까지 읽었는지. 이 id 이후 상대방 메시지 수가 안 읽은 수다.
+    @Column(name = "sender_last_read_message_id")
+    Long senderLastReadMessageId;
+
+    @Column(name = "receiver_last_read_message_id")
+    Long receiverLastReadMessageId;
+
+    // 참여자별로 어디까지 읽었는지 (방 순번 기준). write-behind 큐에 있어 id 가 아직 없는 메시지까지 읽음 처리할 때 쓴다.
+    // 두 기준 모두보다 뒤에 있는 메시지만 안 읽은 메시지다.
+    @Column(name = "sender_last_read_seq")
+    Long senderLastReadSeq;
+
+    @Column(name = "receiver_last_read_seq")
+    Long receiverLastReadSeq;
+
 }
@@ -1,8 +1,12 @@
 package com.malnutrition.backend.domain.chatroom.chatroom.repository;
 
 import com.malnutrition.backend.domain.chatroom.chatmessage.entity.ChatMessage;
+import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomSummaryRow;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,6 +14,8 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+    int SNIPPET_LENGTH = 100;
+
     @Query("SELECT cr FROM ChatRoom cr " +
             "JOIN FETCH cr.sender s " +
             "JOIN FETCH cr.receiver r " +
@@ -21,4 +27,57 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
             "JOIN FETCH cr.schedule s " +
             "WHERE s.id = :scheduleId")
     Optional<ChatRoom> findByScheduleId(@Param("scheduleId") Long scheduleId);
+
+    // 권한 확인용. User 를 join 하지 않고 FK 컬럼만 읽는다.
+    @Query("SELECT new com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership(" +
+            "cr.id, cr.sender.id, cr.receiver.id) " +
+            "FROM ChatRoom cr WHERE cr.id = :roomId")
+    Optional<ChatRoomMembership> findMembershipById(@Param("roomId") Long roomId);
+
+    @Query("SELECT cr.id FROM ChatRoom cr WHERE cr.sender.id = :userId OR cr.receiver.id = :userId")
+    List<Long> findRoomIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 내 채팅방 목록을 마지막 메시지/안 읽은 수와 함께 최근 대화 순으로 한 번에 조회한다.
+     * - 마지막 메시지는 last_message_id PK 조회, 본문은 앞부분만 읽는다.
+     * - 안 읽은 수는 (chatroom_id, id) 인덱스에서 내 last_read 이후 범위만 센다.
+     *   last_read_seq 이하 순번의 메시지는 뒤늦게 저장돼 id 가 더 크더라도 읽은 것으로 본다. (seq 가 없는 이전 메시지는 id 기준)
+     */
+    @Query("SELECT new com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomSummaryRow(" +
+            "cr.id, cr.title, s.id, s.nickname, r.nickname, " +
+            "SUBSTRING(m.message, 1, " + SNIPPET_LENGTH + "), cr.lastMessageDate, " +
+            "(SELECT COUNT(um) FROM ChatMessage um " +
+            " WHERE um.chatRoom.id = cr.id AND um.userType = :talk AND um.sender.id <> :userId " +
+            " AND um.id > CASE WHEN s.id = :userId THEN COALESCE(cr.senderLastReadMessageId, 0) " +
+            "                  ELSE COALESCE(cr.receiverLastReadMessageId, 0) END " +
+            " AND (um.seq IS NULL OR um.seq > CASE WHEN s.id = :userId THEN COALESCE(cr.senderLastReadSeq, 0) " +
+            "                                      ELSE COALESCE(cr.receiverLastReadSeq, 0) END))) " +
+            "FROM ChatRoom cr " +
+            "JOIN cr.sender s " +
+            "JOIN cr.receiver r " +
+            "LEFT JOIN ChatMessage m ON m.id = cr.lastMessageId " +
+            "WHERE s.id = :userId OR r.id = :userId " +
+            "ORDER BY cr.lastMessageDate DESC NULLS LAST, cr.id DESC")
+    List<ChatRoomSummaryRow> findSummariesByUserId(@Param("userId") Long userId, @Param("talk") UserType talk);
+
+    // 읽음 위치는 뒤로 가지 않는다. (여러 탭/기기에서 동시에 읽음 처리해도 큰 값만 남음)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatRoom cr SET cr.senderLastReadMessageId = :messageId " +
+            "WHERE cr.id = :roomId AND (cr.senderLastReadMessageId IS NULL OR cr.senderLastReadMessageId < :messageId)")
+    int markReadBySender(@Param("roomId") Long roomId, @Param("messageId") Long messageId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatRoom cr SET cr.receiverLastReadMessageId = :messageId " +
+            "WHERE cr.id = :roomId AND (cr.receiverLastReadMessageId IS NULL OR cr.receiverLastReadMessageId < :messageId)")
+    int markReadByReceiver(@Param("roomId") Long roomId, @Param("messageId") Long messageId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatRoom cr SET cr.senderLastReadSeq = :seq " +
+            "WHERE cr.id = :roomId AND (cr.senderLastReadSeq IS NULL OR cr.senderLastReadSeq < :seq)")
+    int markReadSeqBySender(@Param("roomId") Long roomId, @Param("seq") Long seq);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatRoom cr SET cr.receiverLastReadSeq = :seq " +
+            "WHERE cr.id = :roomId AND (cr.receiverLastReadSeq IS NULL OR cr.receiverLastReadSeq < :seq)")
+    int markReadSeqByReceiver(@Param("roomId") Long roomId, @Param("seq") Long seq);
 }
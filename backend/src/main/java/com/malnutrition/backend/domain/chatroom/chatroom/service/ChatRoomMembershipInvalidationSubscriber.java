@@ -0,0 +1,30 @@
+package com.malnutrition.backend.domain.chatroom.chatroom.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+// 다른 노드에서 채팅방이 삭제되면 이 노드의 참여자 캐시를 비운다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "custom.chat.broker.type", havingValue = "redis")
+public class ChatRoomMembershipInvalidationSubscriber implements MessageListener {
+
+    private final ChatRoomMembershipService chatRoomMembershipService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            chatRoomMembershipService.evictLocal(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 채팅방 참여자 무효화 메시지: {}", body);
+        }
+    }
+}
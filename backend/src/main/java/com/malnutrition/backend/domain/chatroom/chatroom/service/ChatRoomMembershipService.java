@@ -0,0 +1,84 @@
+package com.malnutrition.backend.domain.chatroom.chatroom.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership;
+import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * 채팅방 참여자 캐시.
+ * 입장/퇴장/메시지/SUBSCRIBE 마다 하던 ChatRoom 조회를 노드별 Caffeine 캐시 조회로 바꾼다.
+ * 참여자는 방이 만들어진 뒤 바뀌지 않으므로 방이 삭제될 때만 비우고, redis 브로커 모드에서는 pub/sub 으로 다른 노드에도 알린다.
+ */
+@Slf4j
+@Service
+public class ChatRoomMembershipService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ChatProperties chatProperties;
+    private final Cache<Long, ChatRoomMembership> cache;
+
+    public ChatRoomMembershipService(ChatRoomRepository chatRoomRepository,
+                                     StringRedisTemplate redisTemplate,
+                                     ChatProperties chatProperties,
+                                     MeterRegistry meterRegistry) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.redisTemplate = redisTemplate;
+        this.chatProperties = chatProperties;
+        ChatProperties.Membership membership = chatProperties.getMembership();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(membership.getCacheMaxSize())
+                .expireAfterWrite(membership.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chat.room.membership");
+    }
+
+    // 없는 방은 캐시에 넣지 않는다. (loader 가 null 을 돌려주면 Caffeine 은 저장하지 않음)
+    public Optional<ChatRoomMembership> getMembership(Long roomId) {
+        if (roomId == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(roomId, id -> chatRoomRepository.findMembershipById(id).orElse(null)));
+    }
+
+    public boolean isParticipant(Long roomId, Long userId) {
+        return getMembership(roomId).map(membership -> membership.isParticipant(userId)).orElse(false);
+    }
+
+    /**
+     * 방이 없으면 EntityNotFoundException, 참여자가 아니면 IllegalArgumentException.
+     */
+    public ChatRoomMembership validateParticipant(Long roomId, Long userId) {
+        ChatRoomMembership membership = getMembership(roomId)
+                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
+        if (!membership.isParticipant(userId)) {
+            throw new IllegalArgumentException("이 채팅방에 접근 권한이 없습니다.");
+        }
+        return membership;
+    }
+
+    // 방 삭제 커밋 후 호출. 이 노드는 바로 비우고, 다른 노드에는 Redis 로 알린다.
+    public void invalidate(Long roomId) {
+        evictLocal(roomId);
+        if (chatProperties.getBroker().getType() != ChatProperties.BrokerType.REDIS) return;
+        try {
+            redisTemplate.convertAndSend(chatProperties.getMembership().getInvalidationChannel(), String.valueOf(roomId));
+        } catch (Exception e) {
+            // 전파에 실패해도 다른 노드는 cacheTtl 이 지나면 다시 읽는다.
+            log.warn("채팅방 참여자 캐시 무효화 전파 실패 roomId={}", roomId, e);
+        }
+    }
+
+    public void evictLocal(Long roomId) {
+        cache.invalidate(roomId);
+    }
+}
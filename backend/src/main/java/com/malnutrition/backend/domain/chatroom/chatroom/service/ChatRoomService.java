@@ -1,7 +1,12 @@
 package com.malnutrition.backend.domain.chatroom.chatroom.service;
 
+import com.malnutrition.backend.domain.chatroom.chatmessage.enums.UserType;
+import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatSequenceService;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomRequestDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomResponseDto;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomSummaryDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomUpdateRequestDto;
 import com.malnutrition.backend.domain.chatroom.chatroom.entity.ChatRoom;
 import com.malnutrition.backend.domain.chatroom.chatroom.repository.ChatRoomRepository;
@@ -10,12 +15,15 @@ import com.malnutrition.backend.domain.counseling.schedule.repository.ScheduleRe
 import com.malnutrition.backend.domain.user.user.entity.User;
 import com.malnutrition.backend.domain.user.user.repository.UserRepository;
 import com.malnutrition.backend.global.rq.Rq;
+import com.malnutrition.backend.global.ut.TransactionUt;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class ChatRoomService {
@@ -23,6 +31,9 @@ public class ChatRoomService {
     private final ChatRoomRepository chatRoomRepository;
     private final UserRepository userRepository;
     private final ScheduleRepository scheduleRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomMembershipService chatRoomMembershipService;
+    private final ChatSequenceService chatSequenceService;
     private final Rq rq;
 
     @Transactional
@@ -46,6 +57,8 @@ public class ChatRoomService {
                 .build();
 
         ChatRoom saved = chatRoomRepository.save(chatRoom);
+        Long roomId = saved.getId();
+        TransactionUt.afterCommit(() -> chatSequenceService.initialize(roomId));
 
         return new ChatRoomResponseDto(
                 saved.getId(),
@@ -83,6 +96,45 @@ public class ChatRoomService {
         return ChatRoomResponseDto.from(chatRoom);
     }
 
+    @Transactional(readOnly = true)
+    public List<ChatRoomSummaryDto> getMyChatRoomSummaries(Long userId) {
+        return chatRoomRepository.findSummariesByUserId(userId, UserType.TALK).stream()
+                .map(row -> ChatRoomSummaryDto.from(row, userId))
+                .toList();
+    }
+
+    /**
+     * messageId 또는 seq 까지 읽음 처리한다. 둘 다 없으면 방의 마지막 메시지까지.
+     * 실시간으로 받은 메시지는 아직 저장 전이라 id 가 없으므로 seq 로 읽음 처리한다.
+     * 마지막 메시지는 DB 가 아니라 Redis 의 현재 순번으로 정한다. (write-behind 큐에 있는 메시지도 읽음에 포함)
+     * 안 읽은 수는 목록 조회 때 이 값들을 기준으로 계산된다.
+     */
+    @Transactional
+    public void markAsRead(Long roomId, Long userId, Long messageId, Long seq) {
+        ChatRoomMembership membership = chatRoomMembershipService.getMembership(roomId)
+                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
+        if (!membership.isParticipant(userId)) {
+            throw new AccessDeniedException("이 채팅방에 접근 권한이 없습니다.");
+        }
+
+        Long readMessageId = messageId;
+        Long readSeq = seq;
+        if (messageId == null && seq == null) {
+            readMessageId = chatMessageRepository.findLastMessageId(roomId).orElse(null);
+            readSeq = chatSequenceService.currentSeq(roomId).orElse(null);
+        }
+
+        boolean isSender = userId.equals(membership.senderId());
+        if (readMessageId != null) {
+            if (isSender) chatRoomRepository.markReadBySender(roomId, readMessageId);
+            else chatRoomRepository.markReadByReceiver(roomId, readMessageId);
+        }
+        if (readSeq != null) {
+            if (isSender) chatRoomRepository.markReadSeqBySender(roomId, readSeq);
+            else chatRoomRepository.markReadSeqByReceiver(roomId, readSeq);
+        }
+    }
+
     @Transactional
     public ChatRoomResponseDto getChatRoomByScheduleId(Long scheduleId) {
         ChatRoom chatRoom = chatRoomRepository.findByScheduleId(scheduleId)
@@ -0,0 +1,57 @@
+package com.malnutrition.backend.domain.chatroom.presence.controller;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSenderDto;
+import com.malnutrition.backend.domain.chatroom.chatroom.dto.ChatRoomMembership;
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipService;
+import com.malnutrition.backend.domain.chatroom.presence.dto.ChatPresenceResponseDto;
+import com.malnutrition.backend.domain.chatroom.presence.dto.ChatTypingRequestDto;
+import com.malnutrition.backend.domain.chatroom.presence.service.ChatPresenceService;
+import com.malnutrition.backend.global.rp.ApiResponse;
+import com.malnutrition.backend.global.rq.Rq;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequiredArgsConstructor
+public class ChatPresenceController {
+    private final ChatPresenceService chatPresenceService;
+    private final ChatRoomMembershipService chatRoomMembershipService;
+    private final Rq rq;
+
+    // 입력 중 알림. 발신자는 STOMP 세션 principal (CONNECT 때 인증)
+    @MessageMapping("/chat/typing/{roomId}")
+    public void typing(@DestinationVariable Long roomId,
+                       @Payload ChatTypingRequestDto request,
+                       Principal principal) {
+        if (!(principal instanceof ChatSenderDto sender)) {
+            throw new IllegalArgumentException("인증되지 않은 사용자입니다.");
+        }
+        chatRoomMembershipService.validateParticipant(roomId, sender.id());
+        chatPresenceService.typing(roomId, sender, request.isTyping());
+    }
+
+    @GetMapping("/api/v1/chats/room/{roomId}/presence")
+    public ResponseEntity<ApiResponse<ChatPresenceResponseDto>> getPresence(@PathVariable Long roomId) {
+        Long userId = rq.getActor().getId();
+        ChatRoomMembership membership = chatRoomMembershipService.getMembership(roomId)
+                .orElseThrow(() -> new EntityNotFoundException("채팅방이 존재하지 않습니다."));
+        if (!membership.isParticipant(userId)) {
+            throw new AccessDeniedException("이 채팅방에 접근 권한이 없습니다.");
+        }
+        ChatPresenceResponseDto response = ChatPresenceResponseDto.builder()
+                .roomId(roomId)
+                .onlineUserIds(chatPresenceService.getOnlineUserIds(roomId))
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response, "접속자 조회 성공"));
+    }
+}
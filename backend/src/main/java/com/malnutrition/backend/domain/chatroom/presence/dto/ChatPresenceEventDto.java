@@ -0,0 +1,7 @@
+package com.malnutrition.backend.domain.chatroom.presence.dto;
+
+import com.malnutrition.backend.domain.chatroom.presence.enums.PresenceEventType;
+
+// /subscribe/chat/room/{roomId}/presence 로 나가는 변경분
+public record ChatPresenceEventDto(Long roomId, PresenceEventType type, Long userId, String nickname) {
+}
@@ -0,0 +1,18 @@
+package com.malnutrition.backend.domain.chatroom.presence.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 방을 열 때 한 번 받는 현재 접속자 목록. 이후에는 presence 구독으로 변경분만 받는다.
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatPresenceResponseDto {
+    private Long roomId;
+    private List<Long> onlineUserIds;
+}
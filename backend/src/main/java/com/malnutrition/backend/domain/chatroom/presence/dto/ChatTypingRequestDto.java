@@ -0,0 +1,12 @@
+package com.malnutrition.backend.domain.chatroom.presence.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChatTypingRequestDto {
+    private boolean typing;   // false 면 입력 중 표시 해제
+}
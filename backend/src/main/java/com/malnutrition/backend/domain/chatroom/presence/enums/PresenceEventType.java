@@ -0,0 +1,8 @@
+package com.malnutrition.backend.domain.chatroom.presence.enums;
+
+public enum PresenceEventType {
+    JOIN,         // 방에 접속 (첫 세션)
+    LEAVE,        // 방에서 나감 (마지막 세션)
+    TYPING,
+    STOP_TYPING
+}
@@ -0,0 +1,239 @@
+package com.malnutrition.backend.domain.chatroom.presence.service;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSenderDto;
+import com.malnutrition.backend.domain.chatroom.chatmessage.service.ChatBroadcaster;
+import com.malnutrition.backend.domain.chatroom.presence.dto.ChatPresenceEventDto;
+import com.malnutrition.backend.domain.chatroom.presence.enums.PresenceEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅방 접속/입력 중 상태. DB 는 사용하지 않는다.
+ * - 노드 메모리: 방 -> 사용자 -> STOMP 세션. /subscribe/chat/room/{roomId} 구독을 방 접속으로 본다.
+ * - Redis: chat:presence:{roomId} ZSET 에 {userId}:{nodeId} 를 마지막 갱신 시각과 함께 둔다.
+ *   노드가 죽어 갱신이 끊기면 ttl 뒤 자동으로 빠진다.
+ * - 사용자가 모든 노드에서 처음 들어오거나 마지막으로 나갈 때만 JOIN/LEAVE 를 presence 채널로 보낸다.
+ */
+@Slf4j
+@Service
+public class ChatPresenceService {
+    private static final Pattern CHAT_ROOM_DESTINATION = Pattern.compile("^/subscribe/chat/room/(\\d+)$");
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatBroadcaster chatBroadcaster;
+    private final ChatProperties chatProperties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // roomId -> userId -> 이 노드의 sessionId 들
+    private final Map<Long, Map<Long, Set<String>>> rooms = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+    // "{roomId}:{userId}" -> 마지막 입력 중 브로드캐스트 시각 (nanoTime)
+    private final Map<String, Long> lastTypingAt = new ConcurrentHashMap<>();
+
+    public ChatPresenceService(StringRedisTemplate redisTemplate,
+                               ChatBroadcaster chatBroadcaster,
+                               ChatProperties chatProperties) {
+        this.redisTemplate = redisTemplate;
+        this.chatBroadcaster = chatBroadcaster;
+        this.chatProperties = chatProperties;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = parseRoomId(accessor.getDestination());
+        if (roomId == null || !(event.getUser() instanceof ChatSenderDto sender)
+                || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) return;
+
+        sessionSubscriptions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+
+        boolean firstLocalSession = addLocal(roomId, sender.id(), accessor.getSessionId());
+        if (!firstLocalSession) return;
+        boolean onlineElsewhere = isOnlineOnOtherNodes(roomId, sender.id());
+        touch(roomId, sender.id());
+        if (!onlineElsewhere) publish(roomId, PresenceEventType.JOIN, sender);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) return;
+        Long roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null && event.getUser() instanceof ChatSenderDto sender) {
+            leave(roomId, sender, accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions == null || !(event.getUser() instanceof ChatSenderDto sender)) return;
+        new HashSet<>(subscriptions.values()).forEach(roomId -> leave(roomId, sender, event.getSessionId()));
+    }
+
+    /**
+     * 입력 중 알림. 사용자/방마다 typingIntervalMs 에 한 번만 보내고 나머지는 버린다.
+     * 해제(typing=false)는 직전에 입력 중을 보냈을 때만 보낸다.
+     */
+    public void typing(Long roomId, ChatSenderDto sender, boolean typing) {
+        String key = roomId + ":" + sender.id();
+        if (!typing) {
+            if (lastTypingAt.remove(key) != null) publish(roomId, PresenceEventType.STOP_TYPING, sender);
+            return;
+        }
+        long now = System.nanoTime();
+        long interval = chatProperties.getPresence().getTypingIntervalMs() * 1_000_000L;
+        boolean[] allowed = {false};
+        lastTypingAt.compute(key, (k, last) -> {
+            if (last != null && now - last < interval) return last;
+            allowed[0] = true;
+            return now;
+        });
+        if (allowed[0]) publish(roomId, PresenceEventType.TYPING, sender);
+    }
+
+    // 모든 노드 기준 현재 접속자
+    public List<Long> getOnlineUserIds(Long roomId) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        try {
+            for (String member : liveMembers(roomId)) {
+                userIds.add(Long.valueOf(member.substring(0, member.indexOf(':'))));
+            }
+        } catch (Exception e) {
+            log.warn("채팅 접속자 조회 실패, 이 노드 기준으로 응답 roomId={}", roomId, e);
+        }
+        userIds.addAll(rooms.getOrDefault(roomId, Map.of()).keySet());
+        return new ArrayList<>(userIds);
+    }
+
+    /**
+     * 이 노드의 접속 정보를 Redis 에 다시 기록하고 만료된 항목을 지운다.
+     * 방마다 ZADD/ZREMRANGEBYSCORE/PEXPIRE 를 파이프라인 한 번으로 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${custom.chat.presence.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (rooms.isEmpty()) return;
+        ChatProperties.Presence presence = chatProperties.getPresence();
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - presence.getTtl().toMillis();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                rooms.forEach((roomId, users) -> {
+                    String key = key(roomId);
+                    users.keySet().forEach(userId -> stringConnection.zAdd(key, now, member(userId)));
+                    stringConnection.zRemRangeByScore(key, Double.NEGATIVE_INFINITY, expiredBefore);
+                    stringConnection.pExpire(key, presence.getTtl().toMillis() * 2);
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("채팅 접속 정보 갱신 실패", e);
+        }
+    }
+
+    private void leave(Long roomId, ChatSenderDto sender, String sessionId) {
+        if (!removeLocal(roomId, sender.id(), sessionId)) return;
+        lastTypingAt.remove(roomId + ":" + sender.id());
+        try {
+            redisTemplate.opsForZSet().remove(key(roomId), member(sender.id()));
+        } catch (Exception e) {
+            log.warn("채팅 접속 정보 삭제 실패 roomId={}, userId={}", roomId, sender.id(), e);
+        }
+        if (!isOnlineOnOtherNodes(roomId, sender.id())) publish(roomId, PresenceEventType.LEAVE, sender);
+    }
+
+    // 이 노드에서 사용자의 첫 세션이면 true
+    private boolean addLocal(Long roomId, Long userId, String sessionId) {
+        boolean[] first = {false};
+        rooms.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>())
+                .compute(userId, (id, sessions) -> {
+                    if (sessions == null) {
+                        first[0] = true;
+                        sessions = ConcurrentHashMap.newKeySet();
+                    }
+                    sessions.add(sessionId);
+                    return sessions;
+                });
+        return first[0];
+    }
+
+    // 이 노드에서 사용자의 마지막 세션이 나갔으면 true
+    private boolean removeLocal(Long roomId, Long userId, String sessionId) {
+        boolean[] last = {false};
+        rooms.computeIfPresent(roomId, (id, users) -> {
+            users.computeIfPresent(userId, (uid, sessions) -> {
+                sessions.remove(sessionId);
+                if (!sessions.isEmpty()) return sessions;
+                last[0] = true;
+                return null;
+            });
+            return users.isEmpty() ? null : users;
+        });
+        return last[0];
+    }
+
+    private boolean isOnlineOnOtherNodes(Long roomId, Long userId) {
+        String prefix = userId + ":";
+        String self = member(userId);
+        try {
+            return liveMembers(roomId).stream().anyMatch(member -> member.startsWith(prefix) && !member.equals(self));
+        } catch (Exception e) {
+            log.warn("채팅 접속자 조회 실패 roomId={}", roomId, e);
+            return false;
+        }
+    }
+
+    // 1:1 채팅방이라 ZSET 크기는 참여자 수 x 노드 수로 작다.
+    private Set<String> liveMembers(Long roomId) {
+        long expiredBefore = System.currentTimeMillis() - chatProperties.getPresence().getTtl().toMillis();
+        Set<String> members = redisTemplate.opsForZSet().rangeByScore(key(roomId), expiredBefore, Double.POSITIVE_INFINITY);
+        return members == null ? Set.of() : members;
+    }
+
+    private void touch(Long roomId, Long userId) {
+        try {
+            redisTemplate.opsForZSet().add(key(roomId), member(userId), System.currentTimeMillis());
+            redisTemplate.expire(key(roomId), chatProperties.getPresence().getTtl().multipliedBy(2));
+        } catch (Exception e) {
+            log.warn("채팅 접속 정보 기록 실패 roomId={}, userId={}", roomId, userId, e);
+        }
+    }
+
+    private void publish(Long roomId, PresenceEventType type, ChatSenderDto sender) {
+        chatBroadcaster.broadcast(roomId, "/subscribe/chat/room/" + roomId + "/presence",
+                new ChatPresenceEventDto(roomId, type, sender.id(), sender.nickname()));
+    }
+
+    private String key(Long roomId) {
+        return chatProperties.getPresence().getKeyPrefix() + roomId;
+    }
+
+    private String member(Long userId) {
+        return userId + ":" + nodeId;
+    }
+
+    private Long parseRoomId(String destination) {
+        if (destination == null) return null;
+        Matcher matcher = CHAT_ROOM_DESTINATION.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -93,7 +93,7 @@ public class CurriculumService {
 
         try {
             Curriculum savedCurriculum = curriculumRepository.save(curriculum);
-            alarmService.saveCurriculumRegisterMessage(lectureId); // 알람 메시지 전송
+            alarmService.saveCurriculumRegisterMessage(lectureId, lecture.getTitle()); // 알람 메시지 전송
             return savedCurriculum;
         } catch (DataIntegrityViolationException e) {
             throw new IllegalStateException("같은 순서(sequence)의 커리큘럼이 이미 존재합니다.");
@@ -14,7 +14,9 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @SuperBuilder
 @NoArgsConstructor
-@Table(name = "lecture_users")
+@Table(name = "lecture_users", indexes = {
+        @Index(name = "idx_lecture_users_lecture_user", columnList = "lecture_id, user_id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
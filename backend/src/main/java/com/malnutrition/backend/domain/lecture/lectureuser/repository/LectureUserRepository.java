@@ -91,5 +91,13 @@ public interface LectureUserRepository extends JpaRepository<LectureUser, Long>
     @Query("SELECT lu.user FROM LectureUser lu WHERE lu.lecture.id = :lectureId")
     List<User> findUsersByLectureId(@Param("lectureId") Long lectureId);
 
+    // 강의 전체 알람용: user id 만 keyset 방식으로 잘라서 가져온다.
+    @Query("SELECT lu.user.id FROM LectureUser lu " +
+            "WHERE lu.lecture.id = :lectureId AND lu.user.id > :lastUserId " +
+            "ORDER BY lu.user.id ASC")
+    List<Long> findUserIdsByLectureIdAfter(@Param("lectureId") Long lectureId,
+                                           @Param("lastUserId") Long lastUserId,
+                                           Pageable pageable);
+
     void deleteLectureUserByUserIdAndLectureId(Long userId, Long lectureId);
 }
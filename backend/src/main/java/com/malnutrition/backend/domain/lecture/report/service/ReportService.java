@@ -143,6 +143,7 @@ public class ReportService {
                 .title(title)
                 .message(message)
                 .url(url)
+                .alarmType(adminNoticeType)
                 .build();
 
         eventPublisher.publishEvent(alarmSendEvent);
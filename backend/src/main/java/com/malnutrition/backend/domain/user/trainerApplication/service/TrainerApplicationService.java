@@ -109,6 +109,7 @@ public class TrainerApplicationService {
                 .title(systemNotice.formatTitle())
                 .message(message)
                 .url(null)
+                .alarmType(systemNotice)
                 .build();
         applicationEventPublisher.publishEvent(alarmSendEvent);
     }
@@ -0,0 +1,72 @@
+package com.malnutrition.backend.global.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션 전송 버퍼를 관찰할 수 있게 만든 SubProtocolWebSocketHandler.
+ * 기본 구현과 같은 ConcurrentWebSocketSessionDecorator 를 쓰되, 한도 초과 정책(overflowStrategy)을 설정으로 받고
+ * 세션별 버퍼 크기를 모아 chat.ws.session.buffer.* 게이지로 노출한다. (세션 id 를 태그로 쓰지 않기 위해 합계/최대값만)
+ */
+public class BufferMeteredWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final ConcurrentWebSocketSessionDecorator.OverflowStrategy overflowStrategy;
+    private final Map<String, ConcurrentWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final Counter slowConsumerClosed;
+
+    public BufferMeteredWebSocketHandler(MessageChannel clientInboundChannel,
+                                         SubscribableChannel clientOutboundChannel,
+                                         ConcurrentWebSocketSessionDecorator.OverflowStrategy overflowStrategy,
+                                         MeterRegistry meterRegistry) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.overflowStrategy = overflowStrategy;
+        this.slowConsumerClosed = Counter.builder("chat.ws.slow_consumer.closed")
+                .description("전송 시간/버퍼 한도를 넘어 끊긴 세션 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("chat.ws.session.buffer.total", sessions, BufferMeteredWebSocketHandler::totalBufferSize);
+        meterRegistry.gauge("chat.ws.session.buffer.max", sessions, BufferMeteredWebSocketHandler::maxBufferSize);
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        ConcurrentWebSocketSessionDecorator decorated = new ConcurrentWebSocketSessionDecorator(
+                session, getSendTimeLimit(), getSendBufferSizeLimit(), overflowStrategy);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        sessions.remove(session.getId());
+        // 한도 초과(TERMINATE)로 끊을 때 Spring 은 SESSION_NOT_RELIABLE 로 닫는다.
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+            slowConsumerClosed.increment();
+        }
+        super.afterConnectionClosed(session, closeStatus);
+    }
+
+    private static double totalBufferSize(Map<String, ConcurrentWebSocketSessionDecorator> sessions) {
+        long total = 0;
+        for (ConcurrentWebSocketSessionDecorator session : sessions.values()) {
+            total += session.getBufferSize();
+        }
+        return total;
+    }
+
+    private static double maxBufferSize(Map<String, ConcurrentWebSocketSessionDecorator> sessions) {
+        long max = 0;
+        for (ConcurrentWebSocketSessionDecorator session : sessions.values()) {
+            max = Math.max(max, session.getBufferSize());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,31 @@
+package com.malnutrition.backend.global.config;
+
+import com.malnutrition.backend.global.properties.WebSocketProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+/**
+ * @EnableWebSocketMessageBroker 대신 사용하는 STOMP 브로커 설정.
+ * 채널/브로커 설정은 그대로 WebSocketConfig(WebSocketMessageBrokerConfigurer)에서 하고,
+ * 여기서는 느린 클라이언트 정책과 버퍼 메트릭을 위해 세션 핸들러만 바꾼다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebSocketBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final WebSocketProperties webSocketProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new BufferMeteredWebSocketHandler(clientInboundChannel, clientOutboundChannel,
+                webSocketProperties.getTransport().getOverflowStrategy(), meterRegistry);
+    }
+}
@@ -1,26 +1,86 @@
 package com.malnutrition.backend.global.config;
 
+import com.malnutrition.backend.global.properties.WebSocketProperties;
+import com.malnutrition.backend.global.security.security.StompAuthChannelInterceptor;
+import com.malnutrition.backend.global.security.security.StompHandshakeInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
-@Configuration // ❗ 반드시 필요
-@EnableWebSocketMessageBroker
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+// 브로커 활성화는 WebSocketBrokerConfig 가 한다. (@EnableWebSocketMessageBroker 와 같은 역할)
+@Configuration
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final StompHandshakeInterceptor stompHandshakeInterceptor;
+    private final WebSocketProperties webSocketProperties;
+    private final MeterRegistry meterRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
+        // 구독 관리는 노드별 simple broker 가 하고, 노드 간 전달은 custom.chat.broker.type=redis 일 때 ChatBroadcaster 가 맡는다.
         config.enableSimpleBroker("/subscribe"); // 서버에서 > 클라이언트 메시지 경로
         config.setApplicationDestinationPrefixes("/publish"); // 클라이언트에서 -> 서버 경로
+        config.setPreservePublishOrder(webSocketProperties.isPreservePublishOrder());
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-stomp") //localhost:8090/ws
                 .setAllowedOriginPatterns("http://localhost:3000", "https://www.healthschool.site")
-                .addInterceptors()
-                .withSockJS();//socket 연결 경로
+                .addInterceptors(stompHandshakeInterceptor)
+                .withSockJS()//socket 연결 경로
+                .setStreamBytesLimit(webSocketProperties.getTransport().getSockJsStreamBytesLimit());
+    }
+
+    // CONNECT 때 JWT 인증, 이후 프레임은 세션의 발신자 정보로 처리
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+        registration.taskExecutor(channelExecutor("inbound", webSocketProperties.getInbound()));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("outbound", webSocketProperties.getOutbound()));
+    }
+
+    // 한도를 넘으면 BufferMeteredWebSocketHandler 가 overflowStrategy 대로 처리한다.
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = webSocketProperties.getTransport();
+        registration.setSendTimeLimit(transport.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(transport.getSendBufferSizeLimit())
+                .setMessageSizeLimit(transport.getMessageSizeLimit())
+                .setTimeToFirstMessage(transport.getTimeToFirstMessageMs());
     }
 
+    // 초기화는 채널 executor bean 으로 등록될 때 Spring 이 한다.
+    private ThreadPoolTaskExecutor channelExecutor(String name, WebSocketProperties.ChannelPool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-" + name + "-");
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(pool.getMaxPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds(pool.getKeepAliveSeconds());
+        executor.setAllowCoreThreadTimeOut(true);
+        if (pool.isVirtualThreads()) {
+            executor.setThreadFactory(Thread.ofVirtual().name("ws-" + name + "-vt-", 0).factory());
+        }
 
+        Gauge.builder("chat.ws.channel.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("channel", name)
+                .register(meterRegistry);
+        Gauge.builder("chat.ws.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", name)
+                .register(meterRegistry);
+        return executor;
+    }
 }
@@ -1,10 +1,12 @@
 package com.malnutrition.backend.global.exception;
 
+import com.malnutrition.backend.domain.chatbotmessage.exception.ChatBotRejectedException;
 import com.malnutrition.backend.global.ut.JwtUt;
 import com.malnutrition.backend.global.rp.ApiResponse;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -34,6 +36,15 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.fail(e.getMessage()));
     }
 
+    // 챗봇 요청 제한(429) / upstream 보호(503). 클라이언트가 언제 다시 보낼지 Retry-After 로 알려준다.
+    @ExceptionHandler(ChatBotRejectedException.class)
+    public ResponseEntity<ApiResponse<String>> handleChatBotRejectedException(ChatBotRejectedException e) {
+        log.warn("ChatBotRejectedException: {} {}", e.getStatus(), e.getMessage());
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.fail(e.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<String>> handleRuntimeException(RuntimeException e){
         log.error("RuntimeException: ", e);  // 스택트레이스 포함
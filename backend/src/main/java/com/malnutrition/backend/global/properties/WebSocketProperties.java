@@ -0,0 +1,47 @@
+package com.malnutrition.backend.global.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+// STOMP 채널 스레드풀과 WebSocket 세션 전송 한도
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "custom.websocket")
+public class WebSocketProperties {
+
+    private ChannelPool inbound = new ChannelPool();
+    private ChannelPool outbound = new ChannelPool();
+    private Transport transport = new Transport();
+    private boolean preservePublishOrder = true;  // 같은 세션으로 나가는 메시지 순서 보장 (outbound 스레드가 여러 개여도)
+
+    @Getter
+    @Setter
+    public static class ChannelPool {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int queueCapacity = 10_000;      // 이 이상 쌓이면 채널 전송이 거절된다
+        private int keepAliveSeconds = 60;
+        private boolean virtualThreads = false;  // true 면 풀 크기만큼의 virtual thread 로 처리
+    }
+
+    @Getter
+    @Setter
+    public static class Transport {
+        private int sendTimeLimitMs = 10_000;           // 한 세션에 보내는 데 이 시간 이상 걸리면 느린 클라이언트로 본다
+        private int sendBufferSizeLimit = 512 * 1024;   // 세션별 전송 대기 버퍼 상한 (bytes)
+        private int messageSizeLimit = 64 * 1024;       // 수신 STOMP 메시지 최대 크기 (bytes)
+        private int timeToFirstMessageMs = 30_000;      // 연결 후 CONNECT 프레임을 기다리는 시간
+        private int sockJsStreamBytesLimit = 128 * 1024;  // SockJS streaming 연결을 재연결시키는 누적 바이트
+        /**
+         * 전송 한도를 넘었을 때
+         * TERMINATE : 세션을 끊는다 (클라이언트가 재연결 후 기록 API 로 이어받음)
+         * DROP      : 버퍼의 오래된 메시지를 버리고 연결은 유지한다
+         */
+        private ConcurrentWebSocketSessionDecorator.OverflowStrategy overflowStrategy =
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE;
+    }
+}
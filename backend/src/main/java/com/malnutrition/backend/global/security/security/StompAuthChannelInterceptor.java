@@ -0,0 +1,107 @@
+package com.malnutrition.backend.global.security.security;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSenderDto;
+import com.malnutrition.backend.domain.chatroom.chatroom.service.ChatRoomMembershipService;
+import com.malnutrition.backend.domain.image.service.ImageService;
+import com.malnutrition.backend.domain.user.user.entity.User;
+import com.malnutrition.backend.domain.user.user.repository.UserRepository;
+import com.malnutrition.backend.domain.user.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 인증.
+ * CONNECT 때 한 번만 JWT 를 확인하고 발신자 스냅샷(ChatSenderDto)을 세션 attribute 에 저장한다.
+ * 이후 SEND 는 스냅샷이 있는지만 확인하므로 메시지마다 사용자 조회가 없다.
+ * 방 채널(.../room/{roomId}) SUBSCRIBE 는 참여자 캐시로 권한을 확인한다.
+ * 토큰은 CONNECT 헤더 Authorization: Bearer {refreshToken} {accessToken} 또는 핸드셰이크 쿠키에서 읽는다. (REST 와 같은 형식)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+    // /subscribe/{chat|enter|leave}/room/{roomId}[/presence]
+    private static final Pattern ROOM_DESTINATION = Pattern.compile("/room/(\\d+)(?:/|$)");
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ImageService imageService;
+    private final ChatRoomMembershipService chatRoomMembershipService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            ChatSenderDto sender = authenticate(accessor);
+            if (sender == null) throw new MessageDeliveryException("인증 정보가 없거나 만료되었습니다.");
+            accessor.getSessionAttributes().put(ChatSenderDto.SESSION_ATTRIBUTE, sender);
+            accessor.setUser(sender);
+        } else if (StompCommand.SEND.equals(accessor.getCommand()) || StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            Map<String, Object> attributes = accessor.getSessionAttributes();
+            if (attributes == null || !(attributes.get(ChatSenderDto.SESSION_ATTRIBUTE) instanceof ChatSenderDto sender)) {
+                throw new MessageDeliveryException("인증되지 않은 STOMP 세션입니다.");
+            }
+            if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                Long roomId = parseRoomId(accessor.getDestination());
+                if (roomId != null && !chatRoomMembershipService.isParticipant(roomId, sender.id())) {
+                    throw new MessageDeliveryException("이 채팅방에 접근 권한이 없습니다.");
+                }
+            }
+        }
+        return message;
+    }
+
+    // 방 채널이면 roomId, 아니면 null
+    private Long parseRoomId(String destination) {
+        if (destination == null) return null;
+        Matcher matcher = ROOM_DESTINATION.matcher(destination);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private ChatSenderDto authenticate(StompHeaderAccessor accessor) {
+        String refreshToken = null;
+        String accessToken = null;
+
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            String[] tokenBits = authorization.substring("Bearer ".length()).split(" ", 2);
+            if (tokenBits.length == 2) {
+                refreshToken = tokenBits[0];
+                accessToken = tokenBits[1];
+            }
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (accessToken == null && attributes != null) {
+            refreshToken = (String) attributes.get(StompHandshakeInterceptor.REFRESH_TOKEN_ATTRIBUTE);
+            accessToken = (String) attributes.get(StompHandshakeInterceptor.ACCESS_TOKEN_ATTRIBUTE);
+        }
+        if (accessToken == null && refreshToken == null) return null;
+
+        User user = accessToken == null ? null : userService.getUserFromAccessToken(accessToken);
+        if (user == null && refreshToken != null) {
+            user = userService.findByRefreshToken(refreshToken).orElse(null);
+        }
+        if (user == null) return null;
+
+        // 프로필 이미지는 연결 시점 기준으로 한 번만 조회한다.
+        String profileImageUrl = userRepository.findProfileImageByUserId(user.getId())
+                .map(imageService::getImageUrl)
+                .orElse(null);
+        log.debug("STOMP CONNECT 인증 userId={}", user.getId());
+        return new ChatSenderDto(user.getId(), user.getNickname(), profileImageUrl);
+    }
+}
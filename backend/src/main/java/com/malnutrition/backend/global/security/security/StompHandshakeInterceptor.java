@@ -0,0 +1,35 @@
+package com.malnutrition.backend.global.security.security;
+
+import jakarta.servlet.http.Cookie;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+// 브라우저는 WebSocket/SockJS 핸드셰이크에 헤더를 붙일 수 없으므로 인증 쿠키를 세션 attribute 로 옮겨 CONNECT 에서 쓴다.
+@Component
+public class StompHandshakeInterceptor implements HandshakeInterceptor {
+    public static final String ACCESS_TOKEN_ATTRIBUTE = "accessToken";
+    public static final String REFRESH_TOKEN_ATTRIBUTE = "refreshToken";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (request instanceof ServletServerHttpRequest servletRequest && servletRequest.getServletRequest().getCookies() != null) {
+            for (Cookie cookie : servletRequest.getServletRequest().getCookies()) {
+                if (ACCESS_TOKEN_ATTRIBUTE.equals(cookie.getName())) attributes.put(ACCESS_TOKEN_ATTRIBUTE, cookie.getValue());
+                if (REFRESH_TOKEN_ATTRIBUTE.equals(cookie.getName())) attributes.put(REFRESH_TOKEN_ATTRIBUTE, cookie.getValue());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.malnutrition.backend.global.ut;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUt {
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 실행한다. 롤백되면 실행하지 않는다.
+     * 트랜잭션 밖에서 부르면 바로 실행한다.
+     * (Redis 발행/카운터처럼 되돌릴 수 없는 작업이 롤백된 데이터를 가리키지 않도록)
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
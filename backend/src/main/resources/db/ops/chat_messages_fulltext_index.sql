@@ -0,0 +1,15 @@
+-- 채팅 전문 검색 (GET /api/v1/chats/search) 용 FULLTEXT(ngram) 인덱스.
+-- ddl-auto=update 로는 FULLTEXT/파서를 지정할 수 없어 운영 절차로 한 번만 적용한다. (애플리케이션은 기동 시 DDL 을 실행하지 않는다)
+--
+-- 적용 절차
+-- 1. 인덱스가 이미 있는지 확인한다. 결과가 1 이면 적용할 필요 없음.
+--      SELECT COUNT(*) FROM information_schema.statistics
+--      WHERE table_schema = DATABASE() AND table_name = 'chat_messages' AND index_name = 'ft_chat_messages_message';
+-- 2. 첫 FULLTEXT 인덱스는 테이블을 다시 만들고 그동안 chat_messages 쓰기가 막힌다. (ALGORITHM=INPLACE 여도 LOCK=SHARED)
+--    트래픽이 적은 시간에 한 노드(또는 DB 콘솔)에서만 실행하고, 테이블이 크면 pt-online-schema-change / gh-ost 로 적용한다.
+--    실행 중에는 write-behind 큐(custom.chat.persistence)가 쌓이므로 offer-timeout 을 넘는 메시지는 유실될 수 있다.
+-- 3. 인덱스가 없는 동안 검색 API 만 실패하고 나머지 기능은 그대로 동작한다.
+--
+-- 검색어 최소 길이(custom.chat.search.min-term-length)는 서버의 ngram_token_size(기본 2) 와 맞춘다.
+
+ALTER TABLE chat_messages ADD FULLTEXT INDEX ft_chat_messages_message (message) WITH PARSER ngram;
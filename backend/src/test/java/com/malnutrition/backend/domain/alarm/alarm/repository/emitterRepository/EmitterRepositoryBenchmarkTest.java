@@ -0,0 +1,114 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository;
+
+import com.malnutrition.backend.support.BenchmarkReport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알람 한 건 전송 (수신자 emitter 조회 + 프레임 쓰기) 지연 시간을 기존 prefix 스캔 방식과 사용자별 인덱스로 비교한다.
+ * 네트워크 쓰기 비용을 빼고 조회 비용만 보기 위해 프레임을 버리는 emitter 를 쓴다.
+ * 결과는 build/reports/benchmark/emitter-send.txt 에 남는다. (./gradlew benchmark)
+ */
+@Tag("benchmark")
+class EmitterRepositoryBenchmarkTest {
+    private static final int WARMUP_SENDS = 500;
+    private static final int SENDS = 1_000;
+    private static final Set<DataWithMediaType> FRAME = Set.of(new DataWithMediaType(
+            "id:1\nevent:ALARM\ndata:{}\n\n".getBytes(StandardCharsets.UTF_8), MediaType.TEXT_EVENT_STREAM));
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 50_000})
+    void 연결_수별_알람_전송_지연_시간(int connections) {
+        EmitterRepositoryImpl indexed = new EmitterRepositoryImpl();
+        PrefixScanEmitterRepository prefixScan = new PrefixScanEmitterRepository();
+        for (long userId = 1; userId <= connections; userId++) {
+            SseEmitter emitter = new DiscardingEmitter();
+            String emitterId = userId + "_" + System.nanoTime();
+            indexed.save(userId, emitterId, emitter);
+            prefixScan.save(emitterId, emitter);
+        }
+
+        long[] indexedNanos = measure(connections, userId -> sendAll(indexed.findAllEmitterByUserId(userId)));
+        long[] prefixScanNanos = measure(connections, userId -> sendAll(prefixScan.findAllEmitterStartWithByUserId(String.valueOf(userId))));
+
+        BenchmarkReport.record("emitter-send", String.format("connections=%d sends=%d prefix-scan p50=%.3fms p99=%.3fms | indexed p50=%.3fms p99=%.3fms",
+                connections, SENDS, millis(prefixScanNanos, 0.50), millis(prefixScanNanos, 0.99),
+                millis(indexedNanos, 0.50), millis(indexedNanos, 0.99)));
+        assertThat(percentile(indexedNanos, 0.99)).isLessThan(percentile(prefixScanNanos, 0.50));
+    }
+
+    private long[] measure(int connections, Sender sender) {
+        for (int i = 0; i < WARMUP_SENDS; i++) {
+            sender.send(ThreadLocalRandom.current().nextLong(connections) + 1);
+        }
+        long[] elapsed = new long[SENDS];
+        for (int i = 0; i < SENDS; i++) {
+            long userId = ThreadLocalRandom.current().nextLong(connections) + 1;
+            long startedAt = System.nanoTime();
+            int sent = sender.send(userId);
+            elapsed[i] = System.nanoTime() - startedAt;
+            assertThat(sent).isPositive();
+        }
+        Arrays.sort(elapsed);
+        return elapsed;
+    }
+
+    private int sendAll(Map<String, SseEmitter> emitters) {
+        emitters.values().forEach(emitter -> {
+            try {
+                emitter.send(FRAME);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return emitters.size();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return percentile(sorted, percentile) / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        int send(long userId);
+    }
+
+    private static class DiscardingEmitter extends SseEmitter {
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+        }
+    }
+
+    // user-001 이전 구현 (emitterId prefix 스캔)
+    private static class PrefixScanEmitterRepository {
+        private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+
+        void save(String emitterId, SseEmitter sseEmitter) {
+            emitters.put(emitterId, sseEmitter);
+        }
+
+        Map<String, SseEmitter> findAllEmitterStartWithByUserId(String userId) {
+            return emitters.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(userId))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmitterRepositoryImplTest {
+    @Test
+    void userId_로_정확히_일치하는_emitter_만_찾는다() {
+        EmitterRepositoryImpl repository = new EmitterRepositoryImpl();
+        repository.save(1L, "1_a", new SseEmitter());
+        repository.save(12L, "12_a", new SseEmitter());
+        repository.save(137L, "137_a", new SseEmitter());
+
+        assertThat(repository.findAllEmitterByUserId(1L)).containsOnlyKeys("1_a");
+        assertThat(repository.findAllEmitterByUserId(12L)).containsOnlyKeys("12_a");
+    }
+
+    @Test
+    void 마지막_emitter_가_빠지면_사용자_엔트리도_지운다() {
+        EmitterRepositoryImpl repository = new EmitterRepositoryImpl();
+        repository.save(1L, "1_a", new SseEmitter());
+        repository.save(1L, "1_b", new SseEmitter());
+
+        repository.deleteById(1L, "1_a");
+        assertThat(repository.countEmitters()).isEqualTo(1);
+        repository.deleteById(1L, "1_b");
+        assertThat(repository.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,69 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.enums.AlarmType;
+import com.malnutrition.backend.domain.alarm.alarm.event.AlarmBroadcastEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AlarmCoalescerTest {
+    private static final long WINDOW_MS = 200L;
+
+    private AlarmBroadcastService alarmBroadcastService;
+    private AlarmCoalescer alarmCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        AlarmProperties alarmProperties = new AlarmProperties();
+        alarmProperties.getCoalesce().setWindowMs(WINDOW_MS);
+        alarmBroadcastService = mock(AlarmBroadcastService.class);
+        alarmCoalescer = new AlarmCoalescer(alarmBroadcastService, alarmProperties, new SyncTaskExecutor(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 구간의_첫_알람은_바로_보낸다() {
+        assertThat(alarmCoalescer.offer(event("1강"))).isFalse();
+
+        alarmCoalescer.flushClosedWindows();
+        verify(alarmBroadcastService, never()).broadcastToLecture(any());
+    }
+
+    @Test
+    void 첫_알람_이후_구간에_들어온_알람은_구간이_끝나면_묶어서_보낸다() throws InterruptedException {
+        assertThat(alarmCoalescer.offer(event("1강"))).isFalse();
+        assertThat(alarmCoalescer.offer(event("2강"))).isTrue();
+        assertThat(alarmCoalescer.offer(event("3강"))).isTrue();
+
+        alarmCoalescer.flushClosedWindows();
+        verify(alarmBroadcastService, never()).broadcastToLecture(any());
+
+        Thread.sleep(WINDOW_MS + 50);
+        alarmCoalescer.flushClosedWindows();
+
+        ArgumentCaptor<AlarmBroadcastEvent> captor = ArgumentCaptor.forClass(AlarmBroadcastEvent.class);
+        verify(alarmBroadcastService).broadcastToLecture(captor.capture());
+        assertThat(captor.getValue().getMessage()).isEqualTo("'자바 입문' 강의에 새 소식이 2건 도착했습니다");
+    }
+
+    @Test
+    void 더_들어온_알람_없이_구간이_끝나면_다음_알람은_다시_바로_보낸다() throws InterruptedException {
+        alarmCoalescer.offer(event("1강"));
+        Thread.sleep(WINDOW_MS + 50);
+        alarmCoalescer.flushClosedWindows();
+
+        assertThat(alarmCoalescer.offer(event("2강"))).isFalse();
+    }
+
+    private AlarmBroadcastEvent event(String message) {
+        return AlarmBroadcastEvent.from(1L, "📢 트레이너 알림 ", message, "/lectures/1", AlarmType.TRAINER_REPLY, "자바 입문");
+    }
+}
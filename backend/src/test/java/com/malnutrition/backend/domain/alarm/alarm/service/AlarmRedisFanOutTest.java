@@ -0,0 +1,158 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.alarm.alarm.config.AlarmProperties;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmDeliveryDto;
+import com.malnutrition.backend.domain.alarm.alarm.dto.AlarmResponseDto;
+import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.EmitterRepositoryImpl;
+import com.malnutrition.backend.domain.alarm.alarm.repository.emitterRepository.EventCacheRepositoryImpl;
+import com.malnutrition.backend.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 노드 두 개가 같은 Redis 채널을 구독할 때, 한 노드에서 발행한 알람이
+ * 사용자가 연결된 노드의 emitter 로 전달되고, 재연결이 다른 노드로 가도 재전송할 수 있도록 모든 노드에 버퍼링되는지 확인한다.
+ */
+class AlarmRedisFanOutTest extends RedisContainerSupport {
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)", Pattern.MULTILINE);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AlarmProperties alarmProperties = new AlarmProperties();
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void 다른_노드에서_발행한_알람이_연결된_노드로_전달된다() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        nodeA.emitterRepository.save(1L, "1_a", emitter);
+
+        nodeB.dispatcher.dispatch(AlarmDeliveryDto.of(1L, alarm(10L)));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.frames.size() == 1);
+        // 이벤트는 노드에서 한 번 인코딩한 바이트 하나로 쓴다.
+        assertThat(emitter.frames.get(0)).singleElement()
+                .satisfies(item -> assertThat(new String((byte[]) item.getData(), StandardCharsets.UTF_8))
+                        .startsWith("id:").contains("\"id\":10").endsWith("\n\n"));
+        // 연결이 없는 노드도 재연결에 대비해 버퍼링한다.
+        await().atMost(Duration.ofSeconds(5)).until(() -> nodeB.eventCache.findAllByUserId(1L).size() == 1);
+        assertThat(nodeA.eventCache.findAllByUserId(1L)).hasSize(1);
+    }
+
+    @Test
+    void 연결이_끊긴_뒤_다른_노드로_재연결하면_놓친_알람을_재전송할_수_있다() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        nodeA.emitterRepository.save(1L, "1_a", emitter);
+        nodeB.dispatcher.dispatch(AlarmDeliveryDto.of(1L, alarm(30L)));
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.frames.size() == 1);
+        long lastEventId = eventId(emitter.frames.get(0));
+
+        // 노드 A 와의 연결이 끊긴 사이에 온 알람
+        nodeA.emitterRepository.deleteById(1L, "1_a");
+        nodeA.dispatcher.dispatch(AlarmDeliveryDto.of(1L, alarm(31L)));
+
+        // 로드밸런서가 재연결을 노드 B 로 보낸 경우. Last-Event-ID 이후 이벤트를 B 의 버퍼에서 찾는다.
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> nodeB.eventCache.findAllAfterEventId(1L, lastEventId).size() == 1);
+        assertThat(nodeB.eventCache.findAllAfterEventId(1L, lastEventId))
+                .singleElement()
+                .satisfies(cachedEvent -> assertThat(cachedEvent.data().getId()).isEqualTo(31L));
+    }
+
+    @Test
+    void 버퍼는_노드별_전역_상한을_넘지_않는다() {
+        alarmProperties.getReplay().setMaxTotalEvents(2);
+
+        nodeB.dispatcher.dispatch(List.of(
+                AlarmDeliveryDto.of(1L, alarm(40L)),
+                AlarmDeliveryDto.of(2L, alarm(41L)),
+                AlarmDeliveryDto.of(3L, alarm(42L))));
+
+        long lastIssued = Long.parseLong(redisTemplate.opsForValue().get(alarmProperties.getCluster().getEventIdKey()));
+        await().atMost(Duration.ofSeconds(5)).until(() -> nodeA.eventCache.currentEventId() == lastIssued
+                && nodeB.eventCache.currentEventId() == lastIssued);
+        for (Node node : List.of(nodeA, nodeB)) {
+            assertThat(node.eventCache.findAllByUserId(1L)).hasSize(1);
+            assertThat(node.eventCache.findAllByUserId(2L)).hasSize(1);
+            assertThat(node.eventCache.findAllByUserId(3L)).isEmpty();
+        }
+    }
+
+    private static long eventId(Set<DataWithMediaType> frame) {
+        String data = new String((byte[]) frame.iterator().next().getData(), StandardCharsets.UTF_8);
+        Matcher matcher = EVENT_ID.matcher(data);
+        assertThat(matcher.find()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static AlarmResponseDto alarm(Long id) {
+        return AlarmResponseDto.builder()
+                .id(id)
+                .title("title")
+                .message("message")
+                .createdAt(LocalDateTime.now().withNano(0))
+                .build();
+    }
+
+    private class Node {
+        final EmitterRepositoryImpl emitterRepository = new EmitterRepositoryImpl();
+        final EventCacheRepositoryImpl eventCache = new EventCacheRepositoryImpl(alarmProperties, new SimpleMeterRegistry());
+        final RedisAlarmDispatcher dispatcher = new RedisAlarmDispatcher(redisTemplate, objectMapper, alarmProperties);
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+        Node() {
+            AlarmEmitterService emitterService = new AlarmEmitterService(
+                    emitterRepository, eventCache, objectMapper, alarmProperties, new SyncTaskExecutor(), new SimpleMeterRegistry());
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(new AlarmRedisSubscriber(objectMapper, emitterService),
+                    new ChannelTopic(alarmProperties.getCluster().getChannel()));
+            container.afterPropertiesSet();
+            container.start();
+        }
+
+        void stop() throws Exception {
+            container.destroy();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final List<Set<DataWithMediaType>> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            frames.add(items);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.malnutrition.backend.domain.alarm.alarm.service;
+
+import com.malnutrition.backend.domain.alarm.alarm.repository.alarmRepository.AlarmRepository;
+import com.malnutrition.backend.support.RedisContainerSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AlarmUnreadCountServiceTest extends RedisContainerSupport {
+    private AlarmRepository alarmRepository;
+    private AlarmUnreadCountService alarmUnreadCountService;
+
+    @BeforeEach
+    void setUp() {
+        alarmRepository = mock(AlarmRepository.class);
+        alarmUnreadCountService = new AlarmUnreadCountService(redisTemplate, alarmRepository);
+    }
+
+    @Test
+    void 처음_조회할_때만_DB_에서_센다() {
+        given(alarmRepository.countByListener_IdAndIsReadFalse(1L)).willReturn(3L);
+
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isEqualTo(3L);
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isEqualTo(3L);
+
+        verify(alarmRepository, times(1)).countByListener_IdAndIsReadFalse(1L);
+    }
+
+    @Test
+    void count_도중에_커밋된_알람이_있으면_캐시하지_않는다() {
+        // count 쿼리가 끝나기 전에 다른 요청의 알람이 커밋되고 카운트된 상황
+        willAnswer(invocation -> {
+            alarmUnreadCountService.increment(1L);
+            return 3L;
+        }).given(alarmRepository).countByListener_IdAndIsReadFalse(1L);
+
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isEqualTo(3L);
+        assertThat(redisTemplate.hasKey("alarm:unread:1")).isFalse();
+
+        given(alarmRepository.countByListener_IdAndIsReadFalse(1L)).willReturn(4L);
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isEqualTo(4L);
+        assertThat(redisTemplate.opsForValue().get("alarm:unread:1")).isEqualTo("4");
+    }
+
+    @Test
+    void 채운_뒤에는_보내고_읽을_때_DB_조회_없이_증감한다() {
+        given(alarmRepository.countByListener_IdAndIsReadFalse(1L)).willReturn(2L);
+        given(alarmRepository.countByListener_IdAndIsReadFalse(2L)).willReturn(5L);
+        alarmUnreadCountService.getUnreadCount(1L);
+        alarmUnreadCountService.getUnreadCount(2L);
+
+        alarmUnreadCountService.incrementAll(List.of(1L, 2L));
+        alarmUnreadCountService.decrement(2L);
+
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isEqualTo(3L);
+        assertThat(alarmUnreadCountService.getUnreadCount(2L)).isEqualTo(5L);
+        verify(alarmRepository, times(1)).countByListener_IdAndIsReadFalse(1L);
+        verify(alarmRepository, times(1)).countByListener_IdAndIsReadFalse(2L);
+    }
+
+    @Test
+    void 키가_없으면_증감하지_않고_다음_조회에서_센다() {
+        alarmUnreadCountService.incrementAll(List.of(1L, 2L));
+
+        assertThat(redisTemplate.hasKey("alarm:unread:1")).isFalse();
+        assertThat(redisTemplate.opsForValue().get("alarm:unread:gen:2")).isEqualTo("1");
+    }
+
+    @Test
+    void 전체_읽음은_그_사이_변경이_없으면_0_으로_맞춘다() {
+        given(alarmRepository.countByListener_IdAndIsReadFalse(1L)).willReturn(7L);
+        alarmUnreadCountService.getUnreadCount(1L);
+
+        alarmUnreadCountService.reset(1L, alarmUnreadCountService.getGeneration(1L));
+
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isZero();
+        verify(alarmRepository, times(1)).countByListener_IdAndIsReadFalse(1L);
+    }
+
+    @Test
+    void 전체_읽음_도중에_새_알람이_카운트되면_다음_조회에서_다시_센다() {
+        given(alarmRepository.countByListener_IdAndIsReadFalse(1L)).willReturn(7L);
+        alarmUnreadCountService.getUnreadCount(1L);
+        String generation = alarmUnreadCountService.getGeneration(1L);
+
+        alarmUnreadCountService.increment(1L);     // UPDATE 와 커밋 사이에 커밋된 알람
+        alarmUnreadCountService.reset(1L, generation);
+
+        assertThat(redisTemplate.hasKey("alarm:unread:1")).isFalse();
+        given(alarmRepository.countByListener_IdAndIsReadFalse(1L)).willReturn(1L);
+        assertThat(alarmUnreadCountService.getUnreadCount(1L)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,190 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.alarm.alarm.event.AlarmSendEvent;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.entitiy.ChatBotMessage;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotJobStatus;
+import com.malnutrition.backend.domain.chatbotmessage.repository.ChatBotMessageRepository;
+import com.malnutrition.backend.domain.user.user.repository.UserRepository;
+import com.malnutrition.backend.global.rq.Rq;
+import com.malnutrition.backend.support.FakeLlmServer;
+import com.malnutrition.backend.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 접수 → Redis 대기열 → 워커 → 가짜 LLM 서버(실제 HTTP) → 작업 결과까지 비동기 챗봇 작업 전체 흐름을 확인한다.
+ */
+class ChatBotJobWorkerTest extends RedisContainerSupport {
+    private static final Duration CIRCUIT_OPEN_DURATION = Duration.ofSeconds(5);
+    private static final String ANSWER = "{\"message\":\"스쿼트 3세트\"}";
+
+    private FakeLlmServer llm;
+    private ChatBotProperties properties;
+    private ChatBotCircuitBreaker circuitBreaker;
+    private ChatBotJobService chatBotJobService;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private ChatBotJobWorker chatBotJobWorker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        llm = FakeLlmServer.start();
+
+        properties = new ChatBotProperties();
+        properties.setApiKey("test");
+        properties.setApiChatUrl(llm.url());
+        properties.setCacheEnabled(false);
+        properties.setMaxConcurrent(2);
+        properties.setAcquireTimeoutMs(100L);
+        properties.setCircuitWindowSize(20);
+        properties.setCircuitMinimumCalls(2);
+        properties.setCircuitFailureRateThreshold(50);
+        properties.setCircuitSlowCallMs(20_000L);
+        properties.setCircuitSlowCallRateThreshold(80);
+        properties.setCircuitOpenDuration(CIRCUIT_OPEN_DURATION);
+        properties.setCircuitHalfOpenCalls(1);
+        properties.setJobWorkers(1);
+        properties.setJobMaxQueued(100);
+        properties.setJobTtl(Duration.ofHours(1));
+        properties.setJobMaxAttempts(3);
+        properties.setJobStaleAfter(Duration.ofMinutes(5));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ChatBotMessageRepository chatBotMessageRepository = mock(ChatBotMessageRepository.class);
+        given(chatBotMessageRepository.saveAndFlush(any(ChatBotMessage.class))).willAnswer(invocation -> invocation.getArgument(0));
+        UserRepository userRepository = mock(UserRepository.class);
+        ChatBotRateLimiter chatBotRateLimiter = mock(ChatBotRateLimiter.class);
+
+        circuitBreaker = new ChatBotCircuitBreaker(properties, meterRegistry);
+        ChatBotService chatBotService = new ChatBotService(
+                properties,
+                new RestTemplate(),
+                chatBotMessageRepository,
+                objectMapper,
+                mock(Rq.class),
+                userRepository,
+                mock(ChatBotContextService.class),
+                new ChatBotResponseCache(redisTemplate, properties, new ChatBotPromptNormalizer(properties), meterRegistry),
+                chatBotRateLimiter,
+                new ChatBotBulkhead(properties, circuitBreaker, meterRegistry));
+        chatBotJobService = spy(new ChatBotJobService(redisTemplate, properties, chatBotRateLimiter, objectMapper, meterRegistry));
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        chatBotJobWorker = new ChatBotJobWorker(chatBotJobService, chatBotService, properties, userRepository,
+                applicationEventPublisher, meterRegistry);
+        chatBotJobWorker.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatBotJobWorker.shutdown();
+        llm.close();
+    }
+
+    @Test
+    void 접수한_작업을_워커가_처리해_결과를_남기고_알린다() {
+        llm.respondWith(FakeLlmServer.completion(ANSWER));
+
+        String jobId = chatBotJobService.submit(1L, "하체 운동 추천해줘").getJobId();
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> chatBotJobService.getJob(1L, jobId).getStatus() == ChatBotJobStatus.DONE);
+        assertThat(chatBotJobService.getJob(1L, jobId).getMessage().getMessage()).isEqualTo("스쿼트 3세트");
+        assertThat(llm.requestCount()).isEqualTo(1);
+        assertThat(redisTemplate.opsForList().size("chatbot:jobs:processing")).isZero();
+        verify(applicationEventPublisher).publishEvent(any(AlarmSendEvent.class));
+    }
+
+    @Test
+    void circuit_이_열려_있으면_닫힐_때까지_미뤘다가_처리한다() {
+        llm.respondWith(FakeLlmServer.completion(ANSWER));
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        long submittedAt = System.currentTimeMillis();
+
+        String jobId = chatBotJobService.submit(1L, "상체 운동 추천해줘").getJobId();
+
+        // 워커는 한 번 거절당한 뒤 circuit 이 닫힐 때까지 남은 시간만큼 미뤄 둔다.
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> redisTemplate.opsForZSet().score("chatbot:jobs:delayed", jobId) != null);
+        Double retryAt = redisTemplate.opsForZSet().score("chatbot:jobs:delayed", jobId);
+        assertThat(retryAt.longValue() - submittedAt).isGreaterThan(CIRCUIT_OPEN_DURATION.toMillis() - 1_000L);
+        assertThat(chatBotJobService.getJob(1L, jobId).getStatus()).isEqualTo(ChatBotJobStatus.QUEUED);
+
+        // 열린 동안은 몇 번을 옮겨도 대기열에 들어가지 않아 시도 횟수가 늘지 않는다.
+        chatBotJobService.promoteDelayedJobs();
+        assertThat(redisTemplate.opsForList().size("chatbot:jobs")).isZero();
+
+        await().atMost(CIRCUIT_OPEN_DURATION.plusSeconds(10)).untilAsserted(() -> {
+            chatBotJobService.promoteDelayedJobs();
+            assertThat(chatBotJobService.getJob(1L, jobId).getStatus()).isEqualTo(ChatBotJobStatus.DONE);
+        });
+        assertThat(redisTemplate.<String, String>opsForHash().get("chatbot:job:" + jobId, "attempts")).isEqualTo("1");
+        assertThat(llm.requestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 시작_전에_멈춘_작업은_접수_시각으로_판단해_다시_넣는다() {
+        llm.respondWith(FakeLlmServer.completion(ANSWER));
+        String jobId = "stale-job";
+        // 꺼낸 직후 (RUNNING 으로 바꾸기 전) 노드가 죽어 startedAt 이 없는 작업
+        redisTemplate.opsForHash().putAll("chatbot:job:" + jobId, Map.of(
+                "userId", "1",
+                "message", "스트레칭 추천해줘",
+                "status", ChatBotJobStatus.QUEUED.name(),
+                "attempts", "0",
+                "createdAt", String.valueOf(System.currentTimeMillis() - Duration.ofMinutes(10).toMillis())));
+        redisTemplate.expire("chatbot:job:" + jobId, Duration.ofHours(1));
+        redisTemplate.opsForList().leftPush("chatbot:jobs:processing", jobId);
+
+        chatBotJobService.requeueStaleJobs();
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> chatBotJobService.getJob(1L, jobId).getStatus() == ChatBotJobStatus.DONE);
+        assertThat(redisTemplate.opsForList().range("chatbot:jobs:processing", 0, -1)).doesNotContain(jobId);
+    }
+
+    @Test
+    void Redis_오류가_나도_워커는_멈추지_않고_끊긴_작업은_나중에_다시_처리한다() {
+        llm.respondWith(FakeLlmServer.completion(ANSWER));
+        doThrow(new RedisConnectionFailureException("일시적인 Redis 오류"))
+                .doCallRealMethod()
+                .when(chatBotJobService).start(anyString());
+
+        String brokenJobId = chatBotJobService.submit(1L, "하체 운동 추천해줘").getJobId();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> redisTemplate.opsForList().range("chatbot:jobs:processing", 0, -1).contains(brokenJobId));
+
+        // 같은 워커 스레드가 다음 작업을 계속 처리한다.
+        String nextJobId = chatBotJobService.submit(1L, "상체 운동 추천해줘").getJobId();
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> chatBotJobService.getJob(1L, nextJobId).getStatus() == ChatBotJobStatus.DONE);
+
+        // 끊긴 작업은 ack 되지 않고 남아 있다가 stale-after 가 지나면 다시 처리된다.
+        assertThat(chatBotJobService.getJob(1L, brokenJobId).getStatus()).isEqualTo(ChatBotJobStatus.QUEUED);
+        properties.setJobStaleAfter(Duration.ZERO);
+        chatBotJobService.requeueStaleJobs();
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> chatBotJobService.getJob(1L, brokenJobId).getStatus() == ChatBotJobStatus.DONE);
+    }
+}
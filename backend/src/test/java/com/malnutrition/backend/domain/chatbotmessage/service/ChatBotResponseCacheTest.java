@@ -0,0 +1,121 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatBotAnswerDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.Message;
+import com.malnutrition.backend.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatBotResponseCacheTest extends RedisContainerSupport {
+    private ChatBotProperties chatBotProperties;
+    private ChatBotResponseCache chatBotResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        chatBotProperties = new ChatBotProperties();
+        chatBotProperties.setCacheEnabled(true);
+        chatBotProperties.setCacheTtl(Duration.ofHours(1));
+        chatBotProperties.setCacheKeyPrefix("chatbot:answer:");
+        chatBotProperties.setCacheStopWords(Set.of());
+        chatBotProperties.setConnectTimeoutMs(3_000);
+        chatBotProperties.setReadTimeoutMs(30_000);
+        chatBotResponseCache = new ChatBotResponseCache(redisTemplate, chatBotProperties,
+                new ChatBotPromptNormalizer(chatBotProperties), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 호출_중에는_재시도까지_포함한_최대_시간보다_길게_락을_잡는다() {
+        AtomicLong lockTtlMs = new AtomicLong();
+
+        ChatBotAnswerDto answer = chatBotResponseCache.getOrCompute("system", List.of(), "하체 운동 추천", () -> {
+            String lockKey = redisTemplate.keys("chatbot:answer:*:lock").iterator().next();
+            lockTtlMs.set(redisTemplate.getExpire(lockKey, TimeUnit.MILLISECONDS));
+            return "스쿼트";
+        });
+
+        long worstCaseMs = ChatBotService.MAX_RETRIES * (3_000L + 30_000L);
+        assertThat(lockTtlMs.get()).isGreaterThan(worstCaseMs);
+        assertThat(answer.message()).isEqualTo("스쿼트");
+        assertThat(redisTemplate.keys("chatbot:answer:*:lock")).isEmpty();
+    }
+
+    @Test
+    void 락이_만료돼_다른_노드가_잡은_락은_지우지_않는다() {
+        chatBotResponseCache.getOrCompute("system", List.of(), "상체 운동 추천", () -> {
+            String lockKey = redisTemplate.keys("chatbot:answer:*:lock").iterator().next();
+            // 내 락이 만료되고 다른 노드가 같은 키로 락을 잡은 상황
+            redisTemplate.opsForValue().set(lockKey, "other-node");
+            return "벤치프레스";
+        });
+
+        assertThat(redisTemplate.keys("chatbot:answer:*:lock")).hasSize(1);
+    }
+
+    @Test
+    void 이전_대화가_같을_때만_캐시된_답을_쓴다() {
+        List<Message> history = List.of(new Message("user", "무릎이 아파요"), new Message("assistant", "무리하지 마세요"));
+        List<Message> otherHistory = List.of(new Message("user", "허리가 아파요"), new Message("assistant", "무리하지 마세요"));
+
+        chatBotResponseCache.getOrCompute("system", history, "하체 운동 추천", () -> "레그 익스텐션");
+        ChatBotAnswerDto sameContext = chatBotResponseCache.getOrCompute("system", history, "하체 운동 추천", () -> "호출되면 안 됨");
+        ChatBotAnswerDto otherContext = chatBotResponseCache.getOrCompute("system", otherHistory, "하체 운동 추천", () -> "스쿼트");
+        ChatBotAnswerDto noContext = chatBotResponseCache.getOrCompute("system", List.of(), "하체 운동 추천", () -> "런지");
+
+        assertThat(sameContext.message()).isEqualTo("레그 익스텐션");
+        assertThat(otherContext.message()).isEqualTo("스쿼트");
+        assertThat(noContext.message()).isEqualTo("런지");
+        assertThat(chatBotResponseCache.lookup("system", List.of(), "하체 운동 추천")).isEqualTo("런지");
+    }
+
+    @Test
+    void 같은_질문의_스트림이_진행_중이면_upstream_을_다시_부르지_않고_토큰을_같이_받는다() throws Exception {
+        AtomicInteger loaderCalls = new AtomicInteger();
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        Supplier<Flux<String>> loader = () -> {
+            loaderCalls.incrementAndGet();
+            return upstream.asFlux();
+        };
+
+        CompletableFuture<List<String>> leader = chatBotResponseCache
+                .stream("system", List.of(), "등 운동 추천", loader, answer -> true)
+                .collectList().toFuture();
+        upstream.tryEmitNext("랫");
+        // 생성 도중에 들어온 요청도 앞의 토큰부터 받는다.
+        CompletableFuture<List<String>> follower = chatBotResponseCache
+                .stream("system", List.of(), "등 운동 추천", loader, answer -> true)
+                .collectList().toFuture();
+        upstream.tryEmitNext(" 풀다운");
+        upstream.tryEmitComplete();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).containsExactly("랫", " 풀다운");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).containsExactly("랫", " 풀다운");
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(chatBotResponseCache.lookup("system", List.of(), "등 운동 추천")).isEqualTo("랫 풀다운");
+        assertThat(redisTemplate.keys("chatbot:answer:*:lock")).isEmpty();
+    }
+
+    @Test
+    void 캐시하지_않기로_한_스트림_답은_저장하지_않는다() {
+        List<String> tokens = chatBotResponseCache
+                .stream("system", List.of(), "어깨 운동 추천", () -> Flux.just("숄더", " 프레스"), answer -> false)
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertThat(tokens).containsExactly("숄더", " 프레스");
+        assertThat(chatBotResponseCache.lookup("system", List.of(), "어깨 운동 추천")).isNull();
+    }
+}
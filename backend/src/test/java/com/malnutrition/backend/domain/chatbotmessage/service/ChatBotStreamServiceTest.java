@@ -0,0 +1,219 @@
+package com.malnutrition.backend.domain.chatbotmessage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotConfig;
+import com.malnutrition.backend.domain.chatbotmessage.config.ChatBotProperties;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatCompletionRequestDto;
+import com.malnutrition.backend.domain.chatbotmessage.dto.ChatMessageResponseDto;
+import com.malnutrition.backend.domain.chatbotmessage.enums.ChatBotSenderType;
+import com.malnutrition.backend.support.FakeLlmServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 로컬 가짜 LLM 서버에 실제 WebClient 로 스트리밍 요청을 보내 ChatBotStreamService 의 동작을 확인한다.
+ */
+class ChatBotStreamServiceTest {
+    private static final long FIRST_TOKEN_TIMEOUT_MS = 500L;
+    private static final long IDLE_TIMEOUT_MS = 500L;
+
+    private FakeLlmServer llm;
+    private ChatBotService chatBotService;
+    private ChatBotCircuitBreaker circuitBreaker;
+    private ChatBotBulkhead bulkhead;
+    private ChatBotStreamService chatBotStreamService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        llm = FakeLlmServer.start();
+
+        ChatBotProperties properties = new ChatBotProperties();
+        properties.setApiKey("test");
+        properties.setApiChatUrl(llm.url());
+        properties.setConnectTimeoutMs(1_000);
+        properties.setFirstTokenTimeoutMs(FIRST_TOKEN_TIMEOUT_MS);
+        properties.setIdleTimeoutMs(IDLE_TIMEOUT_MS);
+        properties.setTotalTimeoutMs(10_000L);
+        properties.setMaxConcurrent(2);
+        properties.setAcquireTimeoutMs(100L);
+        properties.setCircuitWindowSize(20);
+        properties.setCircuitMinimumCalls(10);
+        properties.setCircuitFailureRateThreshold(50);
+        properties.setCircuitSlowCallMs(20_000L);
+        properties.setCircuitSlowCallRateThreshold(80);
+        properties.setCircuitOpenDuration(Duration.ofSeconds(30));
+        properties.setCircuitHalfOpenCalls(3);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        chatBotService = mock(ChatBotService.class);
+        given(chatBotService.buildCompletionRequest(anyString(), any(), anyString(), any()))
+                .willReturn(ChatCompletionRequestDto.builder().model("test").messages(List.of()).stream(true).build());
+        given(chatBotService.saveChatMessage(any(Long.class), anyString(), eq(ChatBotSenderType.BOT)))
+                .willAnswer(invocation -> new ChatMessageResponseDto(100L, invocation.getArgument(1), ChatBotSenderType.BOT, LocalDateTime.now()));
+
+        circuitBreaker = new ChatBotCircuitBreaker(properties, meterRegistry);
+        bulkhead = new ChatBotBulkhead(properties, circuitBreaker, meterRegistry);
+        chatBotStreamService = new ChatBotStreamService(
+                new ChatBotConfig().chatBotWebClient(properties),
+                properties,
+                chatBotService,
+                // 캐시를 끈 실제 캐시. (stream 은 loader 를 그대로 돌려준다)
+                new ChatBotResponseCache(mock(StringRedisTemplate.class), properties, new ChatBotPromptNormalizer(properties), meterRegistry),
+                mock(ChatBotContextService.class),
+                mock(ChatBotRateLimiter.class),
+                bulkhead,
+                new ObjectMapper(),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        llm.close();
+    }
+
+    @Test
+    void 토큰을_받는_대로_보내고_끝나면_한_번만_저장한다() {
+        llm.respondWith(FakeLlmServer.streaming(List.of("하체", " 운동", "을 추천", "합니다"), 30));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        chatBotStreamService.stream(1L, "하체 운동 추천해줘", emitter);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.names().contains("done"));
+        assertThat(emitter.names()).containsExactly("token", "token", "token", "token", "done");
+        assertThat(emitter.tokens()).containsExactly("하체", " 운동", "을 추천", "합니다");
+        verify(chatBotService, times(1)).saveChatMessage(1L, "하체 운동을 추천합니다", ChatBotSenderType.BOT);
+        assertThat(emitter.completed).isTrue();
+        assertAllPermitsReleased();
+    }
+
+    @Test
+    void 첫_토큰이_늦으면_저장하지_않고_error_를_보낸다() throws InterruptedException {
+        llm.respondWith(FakeLlmServer.stallAfter(List.of()));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        chatBotStreamService.stream(1L, "질문", emitter);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.names().contains("error"));
+        assertThat(emitter.names()).containsExactly("error");
+        verify(chatBotService, never()).saveChatMessage(any(Long.class), anyString(), any());
+        assertThat(llm.awaitClientClosed(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    void 토큰_사이_간격이_길면_저장하지_않고_error_를_보낸다() throws InterruptedException {
+        llm.respondWith(FakeLlmServer.stallAfter(List.of("첫", "토큰")));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        long startedAt = System.nanoTime();
+        chatBotStreamService.stream(1L, "질문", emitter);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.names().contains("error"));
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(IDLE_TIMEOUT_MS));
+        assertThat(emitter.names()).containsExactly("token", "token", "error");
+        verify(chatBotService, never()).saveChatMessage(any(Long.class), anyString(), any());
+        assertThat(llm.awaitClientClosed(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    void 토큰_전송이_실패하면_upstream_연결을_끊는다() throws InterruptedException {
+        llm.respondWith(FakeLlmServer.streaming(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"), 100));
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failAfterTokens = 2;
+
+        chatBotStreamService.stream(1L, "질문", emitter);
+
+        assertThat(llm.awaitClientClosed(Duration.ofSeconds(5))).isTrue();
+        assertThat(emitter.tokens()).containsExactly("1", "2");
+        verify(chatBotService, never()).saveChatMessage(any(Long.class), anyString(), any());
+    }
+
+    @Test
+    void 클라이언트가_연결을_닫으면_upstream_연결을_끊는다() throws InterruptedException {
+        llm.respondWith(FakeLlmServer.stallAfter(List.of("첫")));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        chatBotStreamService.stream(1L, "질문", emitter);
+        await().atMost(Duration.ofSeconds(5)).until(() -> emitter.tokens().size() == 1);
+        // 서블릿 컨테이너가 연결 종료를 알리면 onCompletion 콜백이 불린다.
+        emitter.completionCallback.run();
+
+        assertThat(llm.awaitClientClosed(Duration.ofSeconds(5))).isTrue();
+        verify(chatBotService, never()).saveChatMessage(any(Long.class), anyString(), any());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(this::assertAllPermitsReleased);
+    }
+
+    // maxConcurrent(2) 자리를 모두 다시 잡을 수 있으면 스트림이 자리를 돌려준 것이다.
+    private void assertAllPermitsReleased() {
+        ChatBotBulkhead.Permit first = bulkhead.acquire();
+        ChatBotBulkhead.Permit second = bulkhead.acquire();
+        first.release();
+        second.release();
+    }
+
+    private record Event(String name, Object data) {
+    }
+
+    // 컨트롤러를 거치지 않으므로 보낸 이벤트와 등록된 콜백을 직접 기록한다.
+    private static class RecordingEmitter extends SseEmitter {
+        private static final Pattern EVENT_NAME = Pattern.compile("event:(\\w+)");
+
+        final List<Event> events = new CopyOnWriteArrayList<>();
+        volatile int failAfterTokens = Integer.MAX_VALUE;
+        volatile boolean completed;
+        volatile Runnable completionCallback = () -> {};
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            List<DataWithMediaType> parts = List.copyOf(builder.build());
+            Matcher matcher = EVENT_NAME.matcher(parts.get(0).getData().toString());
+            String name = matcher.find() ? matcher.group(1) : null;
+            if ("token".equals(name) && tokens().size() >= failAfterTokens) throw new IOException("client gone");
+            events.add(new Event(name, parts.get(1).getData()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        List<String> names() {
+            return events.stream().map(Event::name).toList();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> tokens() {
+            return events.stream().filter(event -> "token".equals(event.name()))
+                    .map(event -> ((Map<String, String>) event.data()).get("text"))
+                    .toList();
+        }
+    }
+}
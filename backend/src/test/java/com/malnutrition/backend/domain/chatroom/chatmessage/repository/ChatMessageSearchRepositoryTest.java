@@ -0,0 +1,125 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.repository;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.dto.ChatSearchRow;
+import com.malnutrition.backend.support.BenchmarkReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 운영 절차용 FULLTEXT 스크립트를 실제 MySQL 에 적용하고, 검색 쿼리가 그 인덱스를 타는지와 지연 시간을 잰다.
+ * 지연 시간은 @Tag("benchmark") 로 기본 test 에서 빼고, ./gradlew benchmark 에서 p95 50ms 목표를 확인한다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ChatMessageSearchRepositoryTest {
+    private static final int ROOMS = 200;
+    private static final int MESSAGES = 200_000;
+    private static final long TARGET_P95_MS = 50L;
+    private static final String[] WORDS = {"식단", "단백질", "운동", "상담", "아침", "점심", "저녁", "간식", "체중", "칼로리", "수분", "수면"};
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static ChatMessageSearchRepository chatMessageSearchRepository;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true", MYSQL.getUsername(), MYSQL.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        chatMessageSearchRepository = new ChatMessageSearchRepository(new NamedParameterJdbcTemplate(dataSource));
+
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, nickname VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE chat_messages (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, chatroom_id BIGINT, sender_id BIGINT, message VARCHAR(255), " +
+                "user_type VARCHAR(20), created_date DATETIME(6), INDEX idx_chat_messages_room_id (chatroom_id, id))");
+        jdbcTemplate.update("INSERT INTO users (id, nickname) VALUES (1, '트레이너'), (2, '회원')");
+
+        List<Object[]> rows = new ArrayList<>(MESSAGES);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < MESSAGES; i++) {
+            String message = WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " 기록 " + i;
+            rows.add(new Object[]{(long) (i % ROOMS) + 1, (long) (i % 2) + 1, message, "TALK", now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO chat_messages (chatroom_id, sender_id, message, user_type, created_date) VALUES (?, ?, ?, ?, ?)", rows);
+
+        String script = StreamUtils.copyToString(new ClassPathResource("db/ops/chat_messages_fulltext_index.sql").getInputStream(), StandardCharsets.UTF_8);
+        Arrays.stream(script.split(";"))
+                .map(statement -> statement.lines().filter(line -> !line.startsWith("--")).reduce("", (a, b) -> a + "\n" + b).trim())
+                .filter(statement -> !statement.isEmpty())
+                .forEach(jdbcTemplate::execute);
+    }
+
+    @Test
+    void 검색_쿼리는_FULLTEXT_인덱스를_사용한다() {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT m.id FROM chat_messages m JOIN users u ON u.id = m.sender_id " +
+                "WHERE MATCH(m.message) AGAINST('+\"단백질\"' IN BOOLEAN MODE) AND m.chatroom_id IN (1, 2, 3) " +
+                "AND m.user_type = 'TALK' AND m.id < 9223372036854775807 ORDER BY m.id DESC LIMIT 21");
+
+        assertThat(plan).anySatisfy(row -> assertThat(row.get("key")).isEqualTo("ft_chat_messages_message"));
+    }
+
+    @Test
+    void 참여한_방에서만_찾는다() {
+        List<ChatSearchRow> rows = chatMessageSearchRepository.search("+\"단백질\"", List.of(1L, 2L), Long.MAX_VALUE, 20);
+
+        assertThat(rows).isNotEmpty()
+                .allSatisfy(row -> {
+                    assertThat(row.roomId()).isIn(1L, 2L);
+                    assertThat(row.message()).contains("단백질");
+                });
+    }
+
+    // 결과는 build/reports/benchmark/chat-search.txt 에 남는다.
+    @Test
+    @Tag("benchmark")
+    void 검색_지연_시간은_p95_50ms_이내다() {
+        List<Long> fewRooms = List.of(1L, 2L, 3L, 4L, 5L);
+        List<Long> manyRooms = LongStream.rangeClosed(1, 50).boxed().toList();
+        for (int i = 0; i < 20; i++) {
+            chatMessageSearchRepository.search("+\"단백질\"", fewRooms, Long.MAX_VALUE, 21);
+        }
+
+        measure("방 5개, 흔한 단어", "+\"단백질\"", fewRooms);
+        measure("방 50개, 흔한 단어", "+\"단백질\"", manyRooms);
+        measure("방 50개, 두 단어", "+\"운동\" +\"수면\"", manyRooms);
+        measure("방 50개, 드문 단어", "+\"199999\"", manyRooms);
+    }
+
+    private void measure(String label, String query, List<Long> roomIds) {
+        int runs = 50;
+        long[] elapsed = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long startedAt = System.nanoTime();
+            chatMessageSearchRepository.search(query, roomIds, Long.MAX_VALUE, 21);
+            elapsed[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(elapsed);
+        long p95Ms = TimeUnit.NANOSECONDS.toMillis(elapsed[(int) (runs * 0.95)]);
+        BenchmarkReport.record("chat-search", String.format("[%s] messages=%d p50=%dms p95=%dms max=%dms", label, MESSAGES,
+                TimeUnit.NANOSECONDS.toMillis(elapsed[runs / 2]), p95Ms, TimeUnit.NANOSECONDS.toMillis(elapsed[runs - 1])));
+        assertThat(p95Ms).as("검색 p95 [%s]", label).isLessThanOrEqualTo(TARGET_P95_MS);
+    }
+}
@@ -0,0 +1,137 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.support.BenchmarkReport;
+import com.malnutrition.backend.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 노드 두 개가 같은 Redis 에 붙었을 때 한 노드에서 보낸 채팅이 방 구독자가 있는 노드의 브로커로만 전달되는지 확인한다.
+ */
+class ChatRelayFanOutTest extends RedisContainerSupport {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ChatProperties chatProperties = new ChatProperties();
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void 구독_직후에_다른_노드에서_보낸_메시지도_JSON_으로_전달된다() {
+        nodeA.subscribe("s1", "sub-1", "/subscribe/chat/room/1");
+        nodeB.broadcaster.broadcast(1L, "/subscribe/chat/room/1", Map.of("message", "안녕하세요"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> nodeA.sent.size() == 1);
+        Message<?> message = nodeA.sent.get(0);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        assertThat(accessor.getDestination()).isEqualTo("/subscribe/chat/room/1");
+        assertThat(accessor.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"안녕하세요\"}");
+        // 방 구독자가 없는 노드는 브로커로 넘기지 않는다.
+        assertThat(nodeB.sent).isEmpty();
+    }
+
+    /**
+     * 방 1,000개에 구독자가 10명씩 (노드 A, C 에 5명씩) 있을 때 노드 B 에서 보낸 메시지가 두 노드의 브로커까지 전달되는 처리량.
+     * 같은 노드의 구독자 수와 관계없이 노드마다 한 번만 브로커로 넘어가야 한다.
+     * 결과는 build/reports/benchmark/chat-relay.txt 에 남는다. (./gradlew benchmark)
+     */
+    @Test
+    @Tag("benchmark")
+    void 방_1000개_구독자_10명씩일_때_다른_노드로_전달하는_처리량() throws Exception {
+        int rooms = 1_000;
+        int subscribersPerRoom = 10;
+        int messagesPerRoom = 20;
+        Node nodeC = new Node();
+        try {
+            for (long roomId = 1; roomId <= rooms; roomId++) {
+                for (int subscriber = 0; subscriber < subscribersPerRoom; subscriber++) {
+                    Node node = subscriber % 2 == 0 ? nodeA : nodeC;
+                    node.subscribe("s" + roomId + "-" + subscriber, "sub-" + roomId, "/subscribe/chat/room/" + roomId);
+                }
+            }
+
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < messagesPerRoom; i++) {
+                for (long roomId = 1; roomId <= rooms; roomId++) {
+                    nodeB.broadcaster.broadcast(roomId, "/subscribe/chat/room/" + roomId, Map.of("seq", i));
+                }
+            }
+            int total = rooms * messagesPerRoom;
+            await().atMost(Duration.ofSeconds(60)).until(() -> nodeA.sent.size() == total && nodeC.sent.size() == total);
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            BenchmarkReport.record("chat-relay", String.format("rooms=%d subscribers/room=%d messages=%d elapsed=%dms throughput=%.0f msg/s broker-deliveries=%d",
+                    rooms, subscribersPerRoom, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    total / (elapsedNanos / 1_000_000_000.0), nodeA.sent.size() + nodeC.sent.size()));
+            assertThat(nodeB.sent).isEmpty();
+        } finally {
+            nodeC.stop();
+        }
+    }
+
+    private class Node {
+        final List<Message<?>> sent = Collections.synchronizedList(new ArrayList<>());
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        final RedisChatBroadcaster broadcaster = new RedisChatBroadcaster(redisTemplate, objectMapper, chatProperties, new SimpleMeterRegistry());
+        final ChatRelaySubscriber subscriber;
+
+        Node() {
+            SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+            subscriber = new ChatRelaySubscriber(container, messagingTemplate, objectMapper, chatProperties);
+            subscriber.subscribe();
+            container.setConnectionFactory(connectionFactory);
+            container.afterPropertiesSet();
+            container.start();
+        }
+
+        void subscribe(String sessionId, String subscriptionId, String destination) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            subscriber.onSubscribe(new SessionSubscribeEvent(this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+        }
+
+        void stop() throws Exception {
+            broadcaster.shutdown();
+            container.destroy();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.malnutrition.backend.domain.chatroom.chatmessage.service;
+
+import com.malnutrition.backend.domain.chatroom.chatmessage.config.ChatProperties;
+import com.malnutrition.backend.domain.chatroom.chatmessage.repository.ChatMessageRepository;
+import com.malnutrition.backend.support.RedisContainerSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ChatSequenceServiceTest extends RedisContainerSupport {
+    private final ChatProperties chatProperties = new ChatProperties();
+    private ChatMessageRepository chatMessageRepository;
+    private ChatSequenceService chatSequenceService;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository = mock(ChatMessageRepository.class);
+        chatSequenceService = new ChatSequenceService(redisTemplate, chatMessageRepository, chatProperties);
+    }
+
+    @Test
+    void 아직_저장된_메시지가_없는_방의_키가_유실돼도_발급한_순번과_겹치지_않는다() {
+        given(chatMessageRepository.findMaxSeq(1L)).willReturn(Optional.empty());
+        chatSequenceService.initialize(1L);
+        assertThat(chatSequenceService.nextSeq(1L)).isEqualTo(1L);
+        long issued = chatSequenceService.nextSeq(1L);
+
+        // write-behind 큐에 있는 동안 Redis 키가 사라진 상황
+        redisTemplate.delete(chatProperties.getDelivery().getSeqKeyPrefix() + 1L);
+
+        assertThat(chatSequenceService.nextSeq(1L)).isGreaterThan(issued);
+    }
+
+    @Test
+    void 키가_유실되면_저장된_최대_순번에서_간격을_두고_다시_시작한다() {
+        given(chatMessageRepository.findMaxSeq(1L)).willReturn(Optional.of(42L));
+
+        assertThat(chatSequenceService.nextSeq(1L)).isEqualTo(42L + chatProperties.getDelivery().getSeqSeedGap() + 1);
+        assertThat(chatSequenceService.nextSeq(1L)).isEqualTo(42L + chatProperties.getDelivery().getSeqSeedGap() + 2);
+    }
+}
@@ -0,0 +1,29 @@
+package com.malnutrition.backend.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @Tag("benchmark") 테스트의 측정값 기록.
+ * 표준 출력 대신 build/reports/benchmark/{name}.txt 에 한 줄씩 남긴다. (./gradlew benchmark 로만 실행된다)
+ */
+public final class BenchmarkReport {
+    private static final Path REPORT_DIR = Path.of(System.getProperty("benchmark.reportDir", "build/reports/benchmark"));
+
+    private BenchmarkReport() {
+    }
+
+    public static synchronized void record(String name, String line) {
+        try {
+            Files.createDirectories(REPORT_DIR);
+            Files.writeString(REPORT_DIR.resolve(name + ".txt"), line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.malnutrition.backend.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI chat completions 흉내를 내는 로컬 HTTP 서버 (JDK HttpServer).
+ * 응답 방식은 테스트마다 respondWith 로 바꾼다. 스트리밍 응답 중 클라이언트가 연결을 끊으면 clientClosed 로 알 수 있다.
+ */
+public class FakeLlmServer implements AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(HttpExchange exchange, FakeLlmServer server) throws IOException, InterruptedException;
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch clientClosed = new CountDownLatch(1);
+    private volatile Handler handler = status(500);
+
+    private FakeLlmServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", exchange -> {
+            requests.incrementAndGet();
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                handler.handle(exchange, this);
+            } catch (IOException e) {
+                clientClosed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+    }
+
+    public static FakeLlmServer start() throws IOException {
+        return new FakeLlmServer();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions";
+    }
+
+    public void respondWith(Handler handler) {
+        this.handler = handler;
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    public boolean awaitClientClosed(Duration timeout) throws InterruptedException {
+        return clientClosed.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // stream=true 응답. 토큰마다 delayMs 쉬고 보낸 뒤 [DONE] 으로 끝낸다.
+    public static Handler streaming(List<String> tokens, long delayMs) {
+        return (exchange, server) -> {
+            OutputStream body = openEventStream(exchange);
+            for (String token : tokens) {
+                Thread.sleep(delayMs);
+                writeEvent(body, chunk(token));
+            }
+            writeEvent(body, "[DONE]");
+        };
+    }
+
+    // 토큰을 보낸 뒤 연결은 유지한 채 더 보내지 않는다. 주석 줄만 보내다가 클라이언트가 끊으면 끝난다.
+    public static Handler stallAfter(List<String> tokens) {
+        return (exchange, server) -> {
+            OutputStream body = openEventStream(exchange);
+            for (String token : tokens) {
+                writeEvent(body, chunk(token));
+            }
+            while (true) {
+                Thread.sleep(50);
+                body.write(": keep-alive\n\n".getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        };
+    }
+
+    // stream=false 응답. content 는 assistant 메시지 본문 그대로 (ChatBotService 는 {"message": ...} JSON 을 기대한다)
+    public static Handler completion(String content) {
+        return (exchange, server) -> {
+            byte[] body = OBJECT_MAPPER.writeValueAsBytes(Map.of(
+                    "id", "chatcmpl-test",
+                    "choices", List.of(Map.of("index", 0, "message", Map.of("role", "assistant", "content", content)))));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        };
+    }
+
+    public static Handler status(int code) {
+        return (exchange, server) -> exchange.sendResponseHeaders(code, -1);
+    }
+
+    private static OutputStream openEventStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        return exchange.getResponseBody();
+    }
+
+    private static void writeEvent(OutputStream body, String data) throws IOException {
+        body.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static String chunk(String token) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(Map.of(
+                "id", "chatcmpl-test",
+                "choices", List.of(Map.of("index", 0, "delta", Map.of("content", token)))));
+    }
+}
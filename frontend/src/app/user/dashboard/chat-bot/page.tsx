@@ -14,6 +14,7 @@ interface ChatUserMessageDto {
 }
 
 interface ChatMessageResponseDto {
+  id?: number;
   message: string;
   sender: "USER" | "BOT";
   createdAt: string;
@@ -25,11 +26,18 @@ interface ApiResponse<T> {
   message: string;
 }
 
+// 한 번에 불러오는 메시지 수 (서버 기본값과 같게)
+const PAGE_SIZE = 50;
+
 export default function ChatBotPage() {
   const [messages, setMessages] = useState<ChatMessageResponseDto[]>([]);
   const [inputMessage, setInputMessage] = useState("");
   const [isLoading, setIsLoading] = useState(false);
+  const [hasMore, setHasMore] = useState(false);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const messagesEndRef = useRef<HTMLDivElement>(null);
+  // 이전 메시지를 앞에 붙일 때는 최하단으로 스크롤하지 않는다.
+  const skipScrollRef = useRef(false);
 
   // 스크롤을 최하단으로 이동
   const scrollToBottom = () => {
@@ -38,19 +46,25 @@ export default function ChatBotPage() {
 
   // 메시지가 업데이트될 때마다 스크롤 이동
   useEffect(() => {
+    if (skipScrollRef.current) {
+      skipScrollRef.current = false;
+      return;
+    }
     scrollToBottom();
   }, [messages]);
 
-  // 페이지 로드 시 기존 메시지 불러오기
+  // 페이지 로드 시 최근 메시지 불러오기
   useEffect(() => {
-    fetchAllMessages();
+    fetchMessages();
   }, []);
 
-  // 모든 메시지 가져오기
-  const fetchAllMessages = async () => {
+  // 최근 메시지 PAGE_SIZE 개 가져오기. cursorId 를 주면 그 이전 메시지를 가져와 앞에 붙인다.
+  const fetchMessages = async (cursorId?: number) => {
+    const params = new URLSearchParams({ size: String(PAGE_SIZE) });
+    if (cursorId !== undefined) params.set("cursorId", String(cursorId));
     try {
       const response = await fetch(
-        `${process.env.NEXT_PUBLIC_API_BASE_URL}/api/v1/chatBotMessages`,
+        `${process.env.NEXT_PUBLIC_API_BASE_URL}/api/v1/chatBotMessages?${params}`,
         {
           method: "GET",
           headers: {
@@ -62,13 +76,28 @@ export default function ChatBotPage() {
       const result: ApiResponse<ChatMessageResponseDto[]> =
         await response.json();
       if (result.success) {
-        setMessages(result.data);
+        setHasMore(result.data.length === PAGE_SIZE);
+        if (cursorId === undefined) {
+          setMessages(result.data);
+        } else {
+          skipScrollRef.current = true;
+          setMessages((prev) => [...result.data, ...prev]);
+        }
       }
     } catch (error) {
       console.error("메시지 불러오기 실패:", error);
     }
   };
 
+  // 이전 메시지 더보기. 가장 오래된 메시지 id 를 커서로 쓴다.
+  const loadOlderMessages = async () => {
+    const oldestId = messages.find((message) => message.id !== undefined)?.id;
+    if (oldestId === undefined || isLoadingMore) return;
+    setIsLoadingMore(true);
+    await fetchMessages(oldestId);
+    setIsLoadingMore(false);
+  };
+
   // 사용자 메시지 전송
   const sendUserMessage = async (message: string) => {
     try {
@@ -206,6 +235,18 @@ export default function ChatBotPage() {
           }}
         >
           <div className="space-y-4">
+            {/* 이전 메시지 더보기 */}
+            {hasMore && (
+              <div className="flex justify-center">
+                <button
+                  onClick={loadOlderMessages}
+                  disabled={isLoadingMore}
+                  className="cursor-pointer px-3 py-1 text-xs text-gray-600 bg-white rounded-full border border-gray-200 hover:bg-gray-100 disabled:cursor-not-allowed disabled:text-gray-400"
+                >
+                  {isLoadingMore ? "불러오는 중..." : "이전 메시지 더보기"}
+                </button>
+              </div>
+            )}
             {messages.length === 0 ? (
               <div className="text-center text-gray-500 mt-20">
                 <Bot className="w-12 h-12 text-gray-400 mx-auto mb-4" />
@@ -219,7 +260,7 @@ export default function ChatBotPage() {
             ) : (
               messages.map((message, index) => (
                 <div
-                  key={index}
+                  key={message.id ?? `local-${index}`}
                   className={`flex items-start space-x-3 ${
                     message.sender === "USER"
                       ? "flex-row-reverse space-x-reverse"